@@ -1,22 +1,108 @@
 package dungeon;
 
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class encapsulates all the random generation logic required for the random logic throughout
  * the gameplay. There are methods to pick random items from a list of any objects. There is also
  * a provision to provide a stream of numbers that is predefined as random numbers to mock the
  * behaviour of the model as per the requirement.
+ *
+ * <p>A generator constructed with a seed is backed by a {@link SplittableRandom}, it always returns
+ * the same sequence for the same seed and hands out independent generators through
+ * {@link #split()} and {@link #getStream(RandomStream)}. A seeded generator is not thread safe, a
+ * generator should be split for every thread instead. An unseeded generator draws from the random
+ * generator of the current thread.
  */
 public class RandomGenerator {
 
+    private static final long STREAM_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final SplittableRandom random;
+
+    private final long streamSeed;
+
+    private final Map<RandomStream, RandomGenerator> streams;
+
     private List<Integer> randomParameters;
 
     private int counter;
 
+    /**
+     * Constructs an unseeded random generator.
+     */
+    public RandomGenerator() {
+        this.random = null;
+        this.streamSeed = 0;
+        this.streams = null;
+    }
+
+    /**
+     * Constructs a random generator that generates the same sequence of random numbers, as well as
+     * the same split and stream generators, for the same seed.
+     *
+     * @param seed the seed of the generator.
+     */
+    public RandomGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private RandomGenerator(SplittableRandom random) {
+        this.random = random;
+        this.streamSeed = random.nextLong();
+        this.streams = new EnumMap<>(RandomStream.class);
+    }
+
+    /**
+     * Returns a new generator whose random numbers are independent of this generator. Splitting a
+     * seeded generator advances it, so generators split in the same order are the same for the
+     * same seed. An unseeded generator, or one with predefined random numbers, returns itself so
+     * that the predefined numbers are shared.
+     *
+     * @return a generator independent of this generator.
+     */
+    public RandomGenerator split() {
+        if (random == null || randomParameters != null) {
+            return this;
+        }
+        return new RandomGenerator(random.split());
+    }
+
+    /**
+     * Returns the generator of the given subsystem. For a seeded generator the stream only depends
+     * on the seed and the subsystem, irrespective of the order in which the streams are requested
+     * or the numbers drawn from this generator. An unseeded generator, or one with predefined random
+     * numbers, returns itself.
+     *
+     * @param stream the subsystem that draws from the generator.
+     * @return the generator of the subsystem.
+     */
+    public synchronized RandomGenerator getStream(RandomStream stream) {
+        if (stream == null) {
+            throw new IllegalArgumentException("Random stream cannot be null.");
+        }
+        if (random == null || randomParameters != null) {
+            return this;
+        }
+        return streams.computeIfAbsent(stream, key -> new RandomGenerator(
+                new SplittableRandom(streamSeed + STREAM_GAMMA * (key.ordinal() + 1))));
+    }
+
+    /**
+     * Returns whether the generator was constructed with a seed.
+     *
+     * @return true if the generator is seeded.
+     */
+    public boolean isSeeded() {
+        return random != null;
+    }
+
     /**
      * This is used for generating a sequence of false random numbers that are specified, this is used
      * only for testing or demonstration.
@@ -36,17 +122,64 @@ public class RandomGenerator {
      * @return list of n items.
      */
     public <T> List<T> pickNRandom(List<T> items, int n) {
-        List<T> randomNList = new ArrayList<>();
-        Set<Integer> randomIndexes = new LinkedHashSet<>();
-        while (randomIndexes.size() < n) {
-            randomIndexes.add(getRandomNumberBetween(0, items.size() - 1));
+        int[] randomIndexes = pickNRandomIndexes(items.size(), n);
+        List<T> randomNList = new ArrayList<>(randomIndexes.length);
+        for (int index : randomIndexes) {
+            randomNList.add(items.get(index));
         }
-        randomIndexes.forEach(integer -> {
-            randomNList.add(items.get(integer));
-        });
         return randomNList;
     }
 
+    /**
+     * Returns n distinct random indexes between 0 (inclusive) and size (exclusive) in a random
+     * order. The indexes are drawn with Floyd's algorithm followed by a shuffle of the n picked
+     * indexes, which takes 2n - 1 draws irrespective of how close n is to the size. When there are
+     * predefined random numbers left, the indexes are drawn one at a time and the repeated ones are
+     * discarded instead, so that the predefined numbers are consumed the same way as they always
+     * were.
+     *
+     * @param size the number of items to pick from.
+     * @param n    number of indexes required to be given randomly.
+     * @return array of n distinct indexes.
+     * @throws IllegalArgumentException if n is negative or more than the size.
+     */
+    public int[] pickNRandomIndexes(int size, int n) {
+        if (n < 0 || n > size) {
+            throw new IllegalArgumentException("Cannot pick " + n + " distinct items out of "
+                    + size + " items.");
+        }
+
+        int[] randomIndexes = new int[n];
+        IndexSet picked = new IndexSet(n);
+        if (hasRandomParameters()) {
+            int count = 0;
+            while (count < n) {
+                int index = getRandomNumberBetween(0, size - 1);
+                if (picked.add(index)) {
+                    randomIndexes[count++] = index;
+                }
+            }
+            return randomIndexes;
+        }
+
+        for (int j = size - n, count = 0; j < size; j++) {
+            int index = getRandomNumberBetween(0, j);
+            if (!picked.add(index)) {
+                picked.add(j);
+                index = j;
+            }
+            randomIndexes[count++] = index;
+        }
+
+        for (int i = n - 1; i > 0; i--) {
+            int j = getRandomNumberBetween(0, i);
+            int index = randomIndexes[i];
+            randomIndexes[i] = randomIndexes[j];
+            randomIndexes[j] = index;
+        }
+        return randomIndexes;
+    }
+
     /**
      * Generates a random number between the min and max, both the boundaries are inclusive. For
      * testing, this method will take up a value from the randomParameters list if it is not empty.
@@ -61,8 +194,44 @@ public class RandomGenerator {
             int falseRandomNumberForTesting = randomParameters.get(counter);
             counter++;
             return falseRandomNumberForTesting;
+        } else if (max <= min) {
+            return min;
+        } else if (random != null) {
+            return (int) random.nextLong(min, (long) max + 1);
         } else {
-            return (int) Math.floor(Math.random() * (max - min + 1) + min);
+            return (int) ThreadLocalRandom.current().nextLong(min, (long) max + 1);
+        }
+    }
+
+    private boolean hasRandomParameters() {
+        return randomParameters != null && counter < randomParameters.size();
+    }
+
+    /**
+     * An open addressing set of non-negative indexes that is sized for the number of indexes to be
+     * picked rather than for the number of items.
+     */
+    private static final class IndexSet {
+
+        private final int[] slots;
+
+        private IndexSet(int expectedSize) {
+            slots = new int[Integer.highestOneBit(Math.max(1, expectedSize) * 2) * 2];
+            Arrays.fill(slots, -1);
+        }
+
+        private boolean add(int index) {
+            int mask = slots.length - 1;
+            int hash = index * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (slots[slot] != -1) {
+                if (slots[slot] == index) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index;
+            return true;
         }
     }
 
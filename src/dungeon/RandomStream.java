@@ -0,0 +1,10 @@
+package dungeon;
+
+/**
+ * The subsystems of the dungeon that draw their random numbers from a stream of their own. When the
+ * random generator is seeded, every stream is derived from the seed alone, so changing the number
+ * of draws made by one subsystem does not change the values seen by the others.
+ */
+public enum RandomStream {
+    LAYOUT, TREASURE, MONSTERS, BERBALANG_COMBAT, PUNCHING_GLOVES
+}
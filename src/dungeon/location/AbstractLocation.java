@@ -0,0 +1,99 @@
+package dungeon.location;
+
+import java.util.Set;
+
+/**
+ * Holds the behaviour that every kind of location derives from its openings and its treasures,
+ * that is its type along with its textual and symbolic representation.
+ */
+abstract class AbstractLocation implements Location {
+
+    @Override
+    public LocationType getType() {
+        return getType(getOpeningMask());
+    }
+
+    @Override
+    public Set<MovementDirection> getOpenings() {
+        return OpeningSets.of(getOpeningMask());
+    }
+
+    /**
+     * Returns the mask of the openings of the location, every opening sets the bit given by
+     * {@link MovementDirection#getMask()}.
+     *
+     * @return the mask of the openings.
+     */
+    protected abstract int getOpeningMask();
+
+    /**
+     * Returns the type of a location with the given mask of openings.
+     *
+     * @param openingMask the mask of the openings.
+     * @return the type of the location.
+     * @throws IllegalStateException if there are no openings in the mask.
+     */
+    static LocationType getType(int openingMask) {
+        int numberOfOpenings = Integer.bitCount(openingMask);
+        if (numberOfOpenings == 0) {
+            throw new IllegalStateException("There should at least be one opening to every location");
+        } else if (numberOfOpenings == 2) {
+            return LocationType.TUNNEL;
+        } else {
+            return LocationType.CAVE;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append("Possible moves are ")
+                .append(this.getOpenings()).append("\n");
+
+        if (this.getType() == LocationType.TUNNEL
+                && this.getTreasures().isEmpty()) {
+            builder.append("The location is a Tunnel and there is no treasure in it.");
+        } else if (this.getType() == LocationType.CAVE
+                && this.getTreasures().isEmpty()) {
+            builder.append("The location is a Cave with no treasure in it.");
+        } else {
+            builder.append("The location is a Cave with the following treasure in it: \n")
+                    .append(this.getTreasures());
+        }
+
+        return builder.toString();
+    }
+
+    @Override
+    public String getDirectionalSymbol() {
+        Set<MovementDirection> openings = getOpenings();
+        StringBuilder builder = new StringBuilder();
+        if (openings.contains(MovementDirection.WEST)) {
+            builder.append("=");
+        } else {
+            builder.append(" ");
+        }
+
+        if (openings.contains(MovementDirection.NORTH)
+                && !openings.contains(MovementDirection.SOUTH)) {
+            builder.append("╩");
+        } else if (openings.contains(MovementDirection.SOUTH)
+                && !openings.contains(MovementDirection.NORTH)) {
+            builder.append("╦");
+        } else if (openings.contains(MovementDirection.NORTH)
+                && openings.contains(MovementDirection.SOUTH)) {
+            builder.append("╬");
+        } else {
+            builder.append("=");
+        }
+
+        if (openings.contains(MovementDirection.EAST)) {
+            builder.append("=");
+        } else {
+            builder.append(" ");
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,398 @@
+package dungeon.location;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import dungeon.location.paths.LocationAddressTable;
+import dungeon.obstacles.Monster;
+import dungeon.obstacles.Obstacle;
+import dungeon.obstacles.ObstacleType;
+
+/**
+ * The DungeonGrid holds the state of every location of a dungeon in a few primitive arrays that are
+ * indexed by the cell id (row * numberOfColumns + column) of the location, instead of an object
+ * with its own sets for every location. A location takes a byte for the mask of its openings, a
+ * byte for the treasures, the arrow and the obstacles that are present in it, a byte that remembers
+ * the same contents for a reset of the game and an int that points to its slot in the obstacle
+ * table. Only the locations that hold an obstacle have a slot, which keeps the obstacle objects.
+ *
+ * <p>The opening mask uses {@link MovementDirection#getMask()}, the treasures and the arrow use
+ * the bit (1 &lt;&lt; ordinal) of their {@link Collectible} and the obstacles use the bits above
+ * them. The {@link Location} of a cell is a lightweight view over the grid that is created when it
+ * is asked for, every change made through the view is made to the grid.
+ *
+ * <p>Every change to a location moves the grid to a new version and marks the cell as changed, so
+ * a {@link MapSnapshot} of the grid is only taken again for the locations that changed since the
+ * last snapshot.
+ */
+public class DungeonGrid implements LocationGrid {
+
+    private static final int OBSTACLES_PER_SLOT = 3;
+
+    private static final int OBSTACLE_SHIFT = 4;
+
+    private static final int TREASURE_MASK = (1 << Collectible.DIAMONDS.ordinal())
+            | (1 << Collectible.RUBIES.ordinal()) | (1 << Collectible.SAPPHIRES.ordinal());
+
+    private static final int ARROW_MASK = 1 << Collectible.ARROW.ordinal();
+
+    private static final ObstacleType[] SLOT_TYPES
+            = {ObstacleType.OTYUGH, ObstacleType.PIT, ObstacleType.THIEF};
+
+    private static final int[] OBSTACLE_MASKS = new int[1 << OBSTACLES_PER_SLOT];
+
+    static {
+        for (int slots = 0; slots < OBSTACLE_MASKS.length; slots++) {
+            for (int position = 0; position < OBSTACLES_PER_SLOT; position++) {
+                if ((slots & 1 << position) != 0) {
+                    OBSTACLE_MASKS[slots] |= 1 << SLOT_TYPES[position].ordinal();
+                }
+            }
+        }
+    }
+
+    private final int numberOfRows;
+
+    private final int numberOfColumns;
+
+    private final LocationAddressTable addressTable;
+
+    private final byte[] openings;
+
+    private final byte[] contents;
+
+    private final byte[] initialContents;
+
+    private final int[] obstacleSlots;
+
+    private Obstacle[] obstacleTable;
+
+    private int numberOfSlots;
+
+    private final BitSet changedCells;
+
+    private long version;
+
+    private MapSnapshot snapshot;
+
+    /**
+     * Constructs a grid where none of the locations has an opening or any contents.
+     *
+     * @param numberOfRows    the number of rows of the grid.
+     * @param numberOfColumns the number of columns of the grid.
+     */
+    public DungeonGrid(int numberOfRows, int numberOfColumns) {
+        if (numberOfRows <= 0 || numberOfColumns <= 0) {
+            throw new IllegalArgumentException("Cannot create a grid with zero or negative number "
+                    + "of rows or columns.");
+        }
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+        this.addressTable = new LocationAddressTable(numberOfRows, numberOfColumns);
+        this.openings = new byte[numberOfRows * numberOfColumns];
+        this.contents = new byte[openings.length];
+        this.initialContents = new byte[openings.length];
+        this.obstacleSlots = new int[openings.length];
+        this.obstacleTable = new Obstacle[OBSTACLES_PER_SLOT * 4];
+        this.changedCells = new BitSet(openings.length);
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    /**
+     * Returns the table that maps the cell ids of the grid to the addresses of its locations.
+     *
+     * @return the table of addresses.
+     */
+    public LocationAddressTable getAddressTable() {
+        return addressTable;
+    }
+
+    /**
+     * Returns the number of locations in the grid.
+     *
+     * @return number of cells.
+     */
+    public int getNumberOfCells() {
+        return openings.length;
+    }
+
+    /**
+     * Returns the cell id of the location at the given row and column.
+     *
+     * @param rowNumber    the row number of the location.
+     * @param columnNumber the column number of the location.
+     * @return the cell id.
+     */
+    public int getCellId(int rowNumber, int columnNumber) {
+        return addressTable.getCellId(rowNumber, columnNumber);
+    }
+
+    @Override
+    public Location getLocation(int rowNumber, int columnNumber) {
+        return new GridLocation(this, getCellId(rowNumber, columnNumber));
+    }
+
+    /**
+     * Returns a view of the location with the given cell id.
+     *
+     * @param cellId the cell id of the location.
+     * @return the location.
+     */
+    public Location getLocation(int cellId) {
+        return new GridLocation(this, cellId);
+    }
+
+    @Override
+    public int getOpenings(int cellId) {
+        return openings[cellId];
+    }
+
+    /**
+     * Adds the openings in the mask to the location.
+     *
+     * @param cellId the cell id of the location.
+     * @param mask   the mask of the openings to be added.
+     */
+    public void addOpenings(int cellId, int mask) {
+        if ((openings[cellId] | mask) != openings[cellId]) {
+            openings[cellId] |= mask;
+            markChanged(cellId);
+        }
+    }
+
+    /**
+     * Returns whether the location is a cave, that is it has 1, 3 or 4 openings.
+     *
+     * @param cellId the cell id of the location.
+     * @return true if the location is a cave.
+     */
+    public boolean isCave(int cellId) {
+        int numberOfOpenings = Integer.bitCount(openings[cellId]);
+        if (numberOfOpenings == 0) {
+            throw new IllegalStateException("There should at least be one opening to every location");
+        }
+        return numberOfOpenings != 2;
+    }
+
+    /**
+     * Returns the mask of the treasures in the location.
+     *
+     * @param cellId the cell id of the location.
+     * @return the mask of the treasures.
+     */
+    public int getTreasures(int cellId) {
+        return contents[cellId] & TREASURE_MASK;
+    }
+
+    /**
+     * Adds the treasures in the mask to the location.
+     *
+     * @param cellId the cell id of the location.
+     * @param mask   the mask of the treasures to be added.
+     */
+    public void addTreasures(int cellId, int mask) {
+        if ((mask & ~TREASURE_MASK) != 0) {
+            throw new IllegalArgumentException("Arrows cannot be added as treasure");
+        }
+        setContents(cellId, contents[cellId] | mask);
+    }
+
+    /**
+     * Removes the treasures in the mask from the location.
+     *
+     * @param cellId the cell id of the location.
+     * @param mask   the mask of the treasures to be removed.
+     */
+    public void removeTreasures(int cellId, int mask) {
+        setContents(cellId, contents[cellId] & ~(mask & TREASURE_MASK));
+    }
+
+    /**
+     * Returns whether the location has an arrow.
+     *
+     * @param cellId the cell id of the location.
+     * @return true if there is an arrow in the location.
+     */
+    public boolean hasArrow(int cellId) {
+        return (contents[cellId] & ARROW_MASK) != 0;
+    }
+
+    /**
+     * Adds an arrow to the location.
+     *
+     * @param cellId the cell id of the location.
+     */
+    public void addArrow(int cellId) {
+        setContents(cellId, contents[cellId] | ARROW_MASK);
+    }
+
+    /**
+     * Removes the arrow from the location.
+     *
+     * @param cellId the cell id of the location.
+     */
+    public void removeArrow(int cellId) {
+        setContents(cellId, contents[cellId] & ~ARROW_MASK);
+    }
+
+    /**
+     * Returns the obstacle of the given type in the location, the type should be an Otyugh, a pit or
+     * a thief.
+     *
+     * @param cellId       the cell id of the location.
+     * @param obstacleType the type of the obstacle.
+     * @return the obstacle or null if there is no such obstacle in the location.
+     */
+    public Obstacle getObstacle(int cellId, ObstacleType obstacleType) {
+        int position = getSlotPosition(obstacleType);
+        if ((contents[cellId] & 1 << OBSTACLE_SHIFT + position) == 0) {
+            return null;
+        }
+        return obstacleTable[(obstacleSlots[cellId] - 1) * OBSTACLES_PER_SLOT + position];
+    }
+
+    /**
+     * Returns the mask of the obstacles in the location, every obstacle sets the bit
+     * (1 &lt;&lt; ordinal) of its {@link ObstacleType}.
+     *
+     * @param cellId the cell id of the location.
+     * @return the mask of the obstacles.
+     */
+    public int getObstacleMask(int cellId) {
+        return OBSTACLE_MASKS[contents[cellId] >> OBSTACLE_SHIFT & OBSTACLE_MASKS.length - 1];
+    }
+
+    /**
+     * Adds the obstacle to the location, the obstacle should be an Otyugh, a pit or a thief.
+     *
+     * @param cellId   the cell id of the location.
+     * @param obstacle the obstacle to be added.
+     * @throws IllegalStateException if there already is an obstacle of the same type.
+     */
+    public void addObstacle(int cellId, Obstacle obstacle) {
+        if (obstacle == null) {
+            throw new IllegalArgumentException("Null obstacles cannot be added");
+        }
+        int position = getSlotPosition(obstacle.getObstacleType());
+        if (getObstacle(cellId, obstacle.getObstacleType()) != null) {
+            throw new IllegalStateException("This location already has an obstacle of type "
+                    + obstacle.getObstacleType());
+        }
+
+        if (obstacleSlots[cellId] == 0) {
+            if ((numberOfSlots + 1) * OBSTACLES_PER_SLOT > obstacleTable.length) {
+                obstacleTable = Arrays.copyOf(obstacleTable, obstacleTable.length * 2);
+            }
+            obstacleSlots[cellId] = ++numberOfSlots;
+        }
+        obstacleTable[(obstacleSlots[cellId] - 1) * OBSTACLES_PER_SLOT + position] = obstacle;
+        setContents(cellId, contents[cellId] | 1 << OBSTACLE_SHIFT + position);
+    }
+
+    /**
+     * Removes the obstacle of the given type from the location, a removed obstacle comes back when
+     * the initial state of the grid is restored.
+     *
+     * @param cellId       the cell id of the location.
+     * @param obstacleType the type of the obstacle.
+     */
+    public void removeObstacle(int cellId, ObstacleType obstacleType) {
+        int position = getSlotPosition(obstacleType);
+        setContents(cellId, contents[cellId] & ~(1 << OBSTACLE_SHIFT + position));
+    }
+
+    /**
+     * Remembers the treasures, arrows and obstacles of every location as the state that the grid is
+     * restored to.
+     */
+    public void saveInitialState() {
+        System.arraycopy(contents, 0, initialContents, 0, contents.length);
+    }
+
+    /**
+     * Restores the treasures, arrows and obstacles of every location to the state that was saved and
+     * restores the health of the Otyughs.
+     */
+    public void restoreInitialState() {
+        for (int cellId = 0; cellId < contents.length; cellId++) {
+            setContents(cellId, initialContents[cellId]);
+        }
+        for (int slot = 0; slot < numberOfSlots; slot++) {
+            Obstacle otyugh = obstacleTable[slot * OBSTACLES_PER_SLOT];
+            if (otyugh instanceof Monster) {
+                ((Monster) otyugh).reset();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes taken by the arrays of the grid, which is 7 bytes for every
+     * location along with the obstacle table. Only the grid is counted, the dungeon that it belongs
+     * to keeps its paths, its searches and its addresses apart from it.
+     *
+     * @return the approximate memory used by the grid in bytes.
+     */
+    public long getMemoryFootprint() {
+        return (long) openings.length * (Byte.BYTES * 3 + Integer.BYTES)
+                + (long) obstacleTable.length * Integer.BYTES;
+    }
+
+    /**
+     * Returns the version of the grid, the version goes up with every change to a location.
+     *
+     * @return the version of the grid.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the snapshot of the locations of the grid at its current version. The same snapshot
+     * is returned until a location changes, the next snapshot is then built from the previous one
+     * with only the changed locations read again from the grid.
+     *
+     * @return the snapshot of the grid.
+     */
+    public MapSnapshot getSnapshot() {
+        if (snapshot == null) {
+            snapshot = MapSnapshot.of(this, version);
+            changedCells.clear();
+        } else if (snapshot.getVersion() != version) {
+            snapshot = snapshot.update(this, changedCells, version);
+            changedCells.clear();
+        }
+        return snapshot;
+    }
+
+    private void setContents(int cellId, int value) {
+        if (contents[cellId] != (byte) value) {
+            contents[cellId] = (byte) value;
+            markChanged(cellId);
+        }
+    }
+
+    private void markChanged(int cellId) {
+        changedCells.set(cellId);
+        version++;
+    }
+
+    private int getSlotPosition(ObstacleType obstacleType) {
+        if (obstacleType == ObstacleType.OTYUGH) {
+            return 0;
+        } else if (obstacleType == ObstacleType.PIT) {
+            return 1;
+        } else if (obstacleType == ObstacleType.THIEF) {
+            return 2;
+        }
+        throw new IllegalArgumentException("A location can only hold an Otyugh, a pit or a thief.");
+    }
+}
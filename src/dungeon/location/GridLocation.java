@@ -0,0 +1,182 @@
+package dungeon.location;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import dungeon.location.paths.LocationAddress;
+import dungeon.obstacles.Monster;
+import dungeon.obstacles.Obstacle;
+import dungeon.obstacles.ObstacleType;
+import dungeon.obstacles.Pit;
+import dungeon.obstacles.Thief;
+
+/**
+ * A view of a single location of a {@link DungeonGrid}, it only holds the grid and the cell id of
+ * the location and reads and writes the state of the location from the arrays of the grid.
+ */
+class GridLocation extends AbstractLocation {
+
+    private static final ObstacleType[] SLOT_TYPES
+            = {ObstacleType.OTYUGH, ObstacleType.PIT, ObstacleType.THIEF};
+
+    private final DungeonGrid grid;
+
+    private final int cellId;
+
+    GridLocation(DungeonGrid grid, int cellId) {
+        this.grid = grid;
+        this.cellId = cellId;
+    }
+
+    @Override
+    protected int getOpeningMask() {
+        return grid.getOpenings(cellId);
+    }
+
+    @Override
+    public Set<Obstacle> getAllObstacles() {
+        Set<Obstacle> obstacles = new LinkedHashSet<>();
+        for (ObstacleType obstacleType : SLOT_TYPES) {
+            Obstacle obstacle = grid.getObstacle(cellId, obstacleType);
+            if (obstacle != null) {
+                obstacles.add(obstacle);
+            }
+        }
+        return Collections.unmodifiableSet(obstacles);
+    }
+
+    @Override
+    public void addTreasure(Set<Collectible> collectibles) {
+        if (collectibles.contains(Collectible.ARROW)) {
+            throw new IllegalArgumentException("Arrows cannot be added as treasure");
+        }
+        if (getType() == LocationType.TUNNEL) {
+            throw new IllegalStateException("Only Caves can hold treasures,"
+                    + " tunnels cannot have treasures.");
+        } else if (collectibles.isEmpty()) {
+            throw new IllegalStateException("Treasure List cannot be null or empty.");
+        }
+
+        int mask = 0;
+        for (Collectible collectible : collectibles) {
+            mask |= 1 << collectible.ordinal();
+        }
+        grid.addTreasures(cellId, mask);
+    }
+
+    @Override
+    public void addOpenings(MovementDirection movementDirection) {
+        grid.addOpenings(cellId, movementDirection.getMask());
+    }
+
+    @Override
+    public Set<Collectible> getTreasures() {
+        Set<Collectible> treasures = new LinkedHashSet<>();
+        int mask = grid.getTreasures(cellId);
+        for (Collectible collectible : Collectible.values()) {
+            if ((mask & 1 << collectible.ordinal()) != 0) {
+                treasures.add(collectible);
+            }
+        }
+        return treasures;
+    }
+
+    @Override
+    public void markTreasureCollected(Collectible collectible) {
+        grid.removeTreasures(cellId, 1 << collectible.ordinal());
+    }
+
+    @Override
+    public void markArrowCollected() {
+        if (!grid.hasArrow(cellId)) {
+            throw new IllegalStateException("This location does not have an arrow");
+        }
+        grid.removeArrow(cellId);
+    }
+
+    @Override
+    public void addArrow() {
+        grid.addArrow(cellId);
+    }
+
+    @Override
+    public void addMonster(Monster monster) {
+        if (getType() == LocationType.TUNNEL) {
+            throw new IllegalStateException("Monsters can only be in Caves and not in Tunnels");
+        }
+        grid.addObstacle(cellId, monster);
+    }
+
+    @Override
+    public void addPit(Pit pit) {
+        if (getType() == LocationType.TUNNEL) {
+            throw new IllegalStateException("Monsters can only be in Caves and not in Tunnels");
+        }
+        grid.addObstacle(cellId, pit);
+    }
+
+    @Override
+    public void addThief(Thief thief) {
+        grid.addObstacle(cellId, thief);
+    }
+
+    @Override
+    public Monster getOtyugh() {
+        return (Monster) grid.getObstacle(cellId, ObstacleType.OTYUGH);
+    }
+
+    @Override
+    public Thief getThief() {
+        return (Thief) grid.getObstacle(cellId, ObstacleType.THIEF);
+    }
+
+    @Override
+    public void makeThiefEscapeDungeon() {
+        grid.removeObstacle(cellId, ObstacleType.THIEF);
+    }
+
+    @Override
+    public Pit getPit() {
+        return (Pit) grid.getObstacle(cellId, ObstacleType.PIT);
+    }
+
+    @Override
+    public LocationAddress getAddress() {
+        return grid.getAddressTable().getAddress(cellId);
+    }
+
+    @Override
+    public boolean isHasArrow() {
+        return grid.hasArrow(cellId);
+    }
+
+    @Override
+    public void addObstacles(Set<Obstacle> obstacles) {
+        if (obstacles == null) {
+            throw new IllegalArgumentException("Null obstacles cannot be added");
+        }
+        for (Obstacle obstacle : obstacles) {
+            if (grid.getObstacle(cellId, obstacle.getObstacleType()) != obstacle) {
+                grid.addObstacle(cellId, obstacle);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GridLocation that = (GridLocation) o;
+        return grid == that.grid && cellId == that.cellId;
+    }
+
+    @Override
+    public int hashCode() {
+        return cellId;
+    }
+}
@@ -24,7 +24,7 @@ public interface Location {
     LocationType getType();
 
     /**
-     * Returns all the obstacles present in the given location as a defensive copy.
+     * Returns all the obstacles present in the given location as an unmodifiable set.
      *
      * @return set of obstacles.
      */
@@ -0,0 +1,40 @@
+package dungeon.location;
+
+/**
+ * A grid of locations that are looked up by their row and column number, which lets the locations
+ * of a maze be navigated without requiring every location to be held as an object.
+ */
+public interface LocationGrid {
+
+    /**
+     * Returns the number of rows of the grid.
+     *
+     * @return number of rows.
+     */
+    int getNumberOfRows();
+
+    /**
+     * Returns the number of columns of the grid.
+     *
+     * @return number of columns.
+     */
+    int getNumberOfColumns();
+
+    /**
+     * Returns the location at the given row and column of the grid.
+     *
+     * @param rowNumber    the row number of the location.
+     * @param columnNumber the column number of the location.
+     * @return the location at the given position.
+     */
+    Location getLocation(int rowNumber, int columnNumber);
+
+    /**
+     * Returns the mask of the openings of the location with the given cell id, every opening sets
+     * the bit given by {@link MovementDirection#getMask()}.
+     *
+     * @param cellId the cell id (row * numberOfColumns + column) of the location.
+     * @return the mask of the openings.
+     */
+    int getOpenings(int cellId);
+}
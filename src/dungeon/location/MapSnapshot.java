@@ -0,0 +1,119 @@
+package dungeon.location;
+
+import java.util.BitSet;
+
+/**
+ * An immutable picture of every location of a {@link DungeonGrid} at a version of the grid. A
+ * snapshot is shared by all of its readers, and the snapshot of the next version is built from the
+ * previous one by copying only the locations that changed in between: the rows without a changed
+ * location are shared between the two snapshots and only the rows that hold a changed location are
+ * copied, so taking a snapshot after a move of the player costs a handful of locations instead of
+ * a copy of the whole dungeon.
+ *
+ * <p>The locations of a snapshot cannot be modified, every method of a {@link Location} that would
+ * change it throws an {@link UnsupportedOperationException}. The obstacles in the locations are
+ * the same objects as the obstacles of the dungeon.
+ */
+public final class MapSnapshot implements LocationGrid {
+
+    private final long version;
+
+    private final int numberOfColumns;
+
+    private final Location[][] rows;
+
+    private MapSnapshot(long version, int numberOfColumns, Location[][] rows) {
+        this.version = version;
+        this.numberOfColumns = numberOfColumns;
+        this.rows = rows;
+    }
+
+    /**
+     * Takes a snapshot of every location of the grid.
+     *
+     * @param grid    the grid of the dungeon.
+     * @param version the version of the grid.
+     * @return the snapshot of the grid.
+     */
+    static MapSnapshot of(DungeonGrid grid, long version) {
+        int numberOfColumns = grid.getNumberOfColumns();
+        Location[][] rows = new Location[grid.getNumberOfRows()][numberOfColumns];
+        for (int cellId = 0; cellId < grid.getNumberOfCells(); cellId++) {
+            rows[cellId / numberOfColumns][cellId % numberOfColumns]
+                    = new SnapshotLocation(grid, cellId);
+        }
+        return new MapSnapshot(version, numberOfColumns, rows);
+    }
+
+    /**
+     * Takes the snapshot of the next version of the grid from this snapshot, only the locations of
+     * the changed cells are read from the grid.
+     *
+     * @param grid         the grid of the dungeon.
+     * @param changedCells the cell ids of the locations that changed after this snapshot.
+     * @param version      the version of the grid.
+     * @return the snapshot of the grid.
+     */
+    MapSnapshot update(DungeonGrid grid, BitSet changedCells, long version) {
+        Location[][] nextRows = rows.clone();
+        for (int cellId = changedCells.nextSetBit(0); cellId >= 0;
+             cellId = changedCells.nextSetBit(cellId + 1)) {
+            int row = cellId / numberOfColumns;
+            if (nextRows[row] == rows[row]) {
+                nextRows[row] = rows[row].clone();
+            }
+            nextRows[row][cellId % numberOfColumns] = new SnapshotLocation(grid, cellId);
+        }
+        return new MapSnapshot(version, numberOfColumns, nextRows);
+    }
+
+    /**
+     * Returns the version of the grid that the snapshot was taken at, a snapshot with a higher
+     * version was taken later.
+     *
+     * @return the version of the snapshot.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return rows.length;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    @Override
+    public Location getLocation(int rowNumber, int columnNumber) {
+        if (rowNumber < 0 || rowNumber >= rows.length || columnNumber < 0
+                || columnNumber >= numberOfColumns) {
+            throw new IllegalArgumentException("The location (" + rowNumber + ", " + columnNumber
+                    + ") is outside the grid.");
+        }
+        return rows[rowNumber][columnNumber];
+    }
+
+    @Override
+    public int getOpenings(int cellId) {
+        return ((AbstractLocation) rows[cellId / numberOfColumns][cellId % numberOfColumns])
+                .getOpeningMask();
+    }
+
+    /**
+     * Returns the locations of the snapshot as a new array of rows, the locations themselves are
+     * shared with the snapshot.
+     *
+     * @return the locations of the snapshot.
+     */
+    public Location[][] toArray() {
+        Location[][] copy = new Location[rows.length][];
+        for (int row = 0; row < rows.length; row++) {
+            copy[row] = rows[row].clone();
+        }
+        return copy;
+    }
+}
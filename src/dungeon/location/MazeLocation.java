@@ -1,17 +1,18 @@
 package dungeon.location;
 
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
 
 import dungeon.location.paths.LocationAddress;
 import dungeon.obstacles.Monster;
 import dungeon.obstacles.Obstacle;
 import dungeon.obstacles.ObstacleType;
-import dungeon.obstacles.Otyugh;
 import dungeon.obstacles.Pit;
 import dungeon.obstacles.Thief;
 
@@ -20,17 +21,21 @@ import dungeon.obstacles.Thief;
  * either a cave or a tunnel depending on the number of openings. The MazeLocation can hold one or
  * one treasures in it if it is a Cave, a tunnel cannot hold a treasure.
  */
-public class MazeLocation implements Location {
+public class MazeLocation extends AbstractLocation {
 
     private final Set<Collectible> collectibleList;
 
-    private final Set<MovementDirection> openings;
-
     private final int rowNumber;
 
     private final int columnNumber;
 
-    private final Set<Obstacle> obstacles;
+    private final Map<ObstacleType, Obstacle> obstacles;
+
+    private final Set<Obstacle> obstacleView;
+
+    private int openingMask;
+
+    private LocationType type;
 
     private boolean hasArrow;
 
@@ -49,8 +54,8 @@ public class MazeLocation implements Location {
         this.rowNumber = rowNumber;
         this.columnNumber = columnNumber;
         this.collectibleList = new LinkedHashSet<>();
-        this.openings = new LinkedHashSet<>();
-        this.obstacles = new LinkedHashSet<>();
+        this.obstacles = new EnumMap<>(ObstacleType.class);
+        this.obstacleView = new ObstacleView();
     }
 
     /**
@@ -64,25 +69,19 @@ public class MazeLocation implements Location {
         this.rowNumber = other.getAddress().getRowNumber();
         this.columnNumber = other.getAddress().getColumnNumber();
         this.collectibleList = other.getTreasures();
-        this.openings = other.getOpenings();
-        this.hasArrow = other.isHasArrow();
-        this.obstacles = other.getAllObstacles();
-    }
-
-    @Override
-    public LocationType getType() {
-        if (openings.size() == 0) {
-            throw new IllegalStateException("There should at least be one opening to every location");
-        } else if (openings.size() == 2) {
-            return LocationType.TUNNEL;
-        } else {
-            return LocationType.CAVE;
+        for (MovementDirection opening : other.getOpenings()) {
+            this.openingMask |= opening.getMask();
         }
+        this.type = openingMask == 0 ? null : getType(openingMask);
+        this.hasArrow = other.isHasArrow();
+        this.obstacles = new EnumMap<>(ObstacleType.class);
+        this.obstacleView = new ObstacleView();
+        addObstacles(other.getAllObstacles());
     }
 
     @Override
     public Set<Obstacle> getAllObstacles() {
-        return new LinkedHashSet<>(obstacles);
+        return obstacleView;
     }
 
     @Override
@@ -103,12 +102,21 @@ public class MazeLocation implements Location {
 
     @Override
     public void addOpenings(MovementDirection movementDirection) {
-        openings.add(movementDirection);
+        openingMask |= movementDirection.getMask();
+        type = getType(openingMask);
     }
 
     @Override
-    public Set<MovementDirection> getOpenings() {
-        return new TreeSet<>(openings);
+    protected int getOpeningMask() {
+        return openingMask;
+    }
+
+    @Override
+    public LocationType getType() {
+        if (type == null) {
+            return getType(openingMask);
+        }
+        return type;
     }
 
     @Override
@@ -129,58 +137,6 @@ public class MazeLocation implements Location {
         this.hasArrow = false;
     }
 
-    @Override
-    public String toString() {
-        StringBuilder builder = new StringBuilder();
-
-        builder.append("Possible moves are ")
-                .append(this.getOpenings()).append("\n");
-
-        if (this.getType() == LocationType.TUNNEL
-                && this.getTreasures().isEmpty()) {
-            builder.append("The location is a Tunnel and there is no treasure in it.");
-        } else if (this.getType() == LocationType.CAVE
-                && this.getTreasures().isEmpty()) {
-            builder.append("The location is a Cave with no treasure in it.");
-        } else {
-            builder.append("The location is a Cave with the following treasure in it: \n")
-                    .append(this.getTreasures());
-        }
-
-        return builder.toString();
-    }
-
-    @Override
-    public String getDirectionalSymbol() {
-        StringBuilder builder = new StringBuilder();
-        if (openings.contains(MovementDirection.WEST)) {
-            builder.append("=");
-        } else {
-            builder.append(" ");
-        }
-
-        if (openings.contains(MovementDirection.NORTH)
-                && !openings.contains(MovementDirection.SOUTH)) {
-            builder.append("╩");
-        } else if (openings.contains(MovementDirection.SOUTH)
-                && !openings.contains(MovementDirection.NORTH)) {
-            builder.append("╦");
-        } else if (openings.contains(MovementDirection.NORTH)
-                && openings.contains(MovementDirection.SOUTH)) {
-            builder.append("╬");
-        } else {
-            builder.append("=");
-        }
-
-        if (openings.contains(MovementDirection.EAST)) {
-            builder.append("=");
-        } else {
-            builder.append(" ");
-        }
-
-        return builder.toString();
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -192,7 +148,7 @@ public class MazeLocation implements Location {
         MazeLocation that = (MazeLocation) o;
         return rowNumber == that.rowNumber && columnNumber == that.columnNumber
                 && Objects.equals(collectibleList, that.collectibleList)
-                && Objects.equals(openings, that.openings);
+                && openingMask == that.openingMask;
     }
 
     @Override
@@ -206,9 +162,8 @@ public class MazeLocation implements Location {
             throw new IllegalStateException("Monsters can only be in Caves and not in Tunnels");
         }
 
-        if (obstacles.stream().noneMatch(obstacle -> obstacle.getObstacleType()
-                .equals(ObstacleType.OTYUGH))) {
-            this.obstacles.add(monster);
+        if (!obstacles.containsKey(ObstacleType.OTYUGH)) {
+            this.obstacles.put(monster.getObstacleType(), monster);
         } else {
             throw new IllegalStateException("This cave already has an Otyugh,"
                     + " only one Otyugh can reside in a cave");
@@ -221,9 +176,8 @@ public class MazeLocation implements Location {
         if (getType() == LocationType.TUNNEL) {
             throw new IllegalStateException("Monsters can only be in Caves and not in Tunnels");
         }
-        if (obstacles.stream().noneMatch(obstacle -> obstacle.getObstacleType()
-                .equals(ObstacleType.PIT))) {
-            this.obstacles.add(pit);
+        if (!obstacles.containsKey(ObstacleType.PIT)) {
+            this.obstacles.put(ObstacleType.PIT, pit);
         } else {
             throw new IllegalStateException("This cave already has a pit,"
                     + " there is not enough space for more pits.");
@@ -232,9 +186,8 @@ public class MazeLocation implements Location {
 
     @Override
     public void addThief(Thief thief) {
-        if (obstacles.stream().noneMatch(obstacle -> obstacle.getObstacleType()
-                .equals(ObstacleType.THIEF))) {
-            this.obstacles.add(thief);
+        if (!obstacles.containsKey(ObstacleType.THIEF)) {
+            this.obstacles.put(ObstacleType.THIEF, thief);
         } else {
             throw new IllegalStateException("This location already has a thief,"
                     + " there is not enough space for more thief.");
@@ -243,36 +196,17 @@ public class MazeLocation implements Location {
 
     @Override
     public Monster getOtyugh() {
-        List<Obstacle> monsters = obstacles.stream().filter(obstacle -> obstacle.getObstacleType()
-                .equals(ObstacleType.OTYUGH)).collect(Collectors.toList());
-        if (monsters.isEmpty()) {
-            return null;
-        } else {
-            return (Otyugh) monsters.get(0);
-        }
+        return (Monster) obstacles.get(ObstacleType.OTYUGH);
     }
 
-
     @Override
     public Thief getThief() {
-        List<Obstacle> thieves = obstacles.stream().filter(obstacle -> obstacle.getObstacleType()
-                .equals(ObstacleType.THIEF)).collect(Collectors.toList());
-        if (thieves.isEmpty()) {
-            return null;
-        } else {
-            return (Thief) thieves.get(0);
-        }
+        return (Thief) obstacles.get(ObstacleType.THIEF);
     }
 
     @Override
     public Pit getPit() {
-        List<Obstacle> pits = obstacles.stream().filter(obstacle -> obstacle.getObstacleType()
-                .equals(ObstacleType.PIT)).collect(Collectors.toList());
-        if (pits.isEmpty()) {
-            return null;
-        } else {
-            return (Pit) pits.get(0);
-        }
+        return (Pit) obstacles.get(ObstacleType.PIT);
     }
 
     @Override
@@ -282,7 +216,7 @@ public class MazeLocation implements Location {
 
     @Override
     public int hashCode() {
-        return Objects.hash(collectibleList, openings, rowNumber, columnNumber);
+        return Objects.hash(collectibleList, getOpenings(), rowNumber, columnNumber);
     }
 
     @Override
@@ -295,11 +229,29 @@ public class MazeLocation implements Location {
         if (obstacles == null) {
             throw new IllegalArgumentException("Null obstacles cannot be added");
         }
-        this.obstacles.addAll(obstacles);
+        for (Obstacle obstacle : obstacles) {
+            this.obstacles.putIfAbsent(obstacle.getObstacleType(), obstacle);
+        }
     }
 
     @Override
     public void makeThiefEscapeDungeon() {
-        obstacles.removeIf(obstacle -> obstacle.getObstacleType() == ObstacleType.THIEF);
+        obstacles.remove(ObstacleType.THIEF);
+    }
+
+    /**
+     * An unmodifiable view of the obstacles in the slots of the location.
+     */
+    private final class ObstacleView extends AbstractSet<Obstacle> {
+
+        @Override
+        public Iterator<Obstacle> iterator() {
+            return Collections.unmodifiableCollection(obstacles.values()).iterator();
+        }
+
+        @Override
+        public int size() {
+            return obstacles.size();
+        }
     }
 }
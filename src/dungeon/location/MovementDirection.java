@@ -13,6 +13,17 @@ public enum MovementDirection {
     EAST,
     WEST;
 
+    /**
+     * Provides the bit that represents an opening in this direction inside an openings mask. The
+     * bits follow the order of declaration, so iterating over the bits of a mask from the lowest to
+     * the highest lists the directions in the same order as a sorted set of directions.
+     *
+     * @return the bit of this direction.
+     */
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
     /**
      * Provides the direction that is opposite to this direction.
      *
@@ -0,0 +1,45 @@
+package dungeon.location;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Holds an unmodifiable set of openings for each of the sixteen masks of openings that a location
+ * can have, so that the openings of a location can be handed out without creating a new set. The
+ * bit of every opening in the mask is given by {@link MovementDirection#getMask()} and the sets
+ * iterate over the openings in the order of the directions.
+ */
+final class OpeningSets {
+
+    private static final Set<MovementDirection>[] SETS = createSets();
+
+    private OpeningSets() {
+    }
+
+    /**
+     * Returns the unmodifiable set of the openings in the mask.
+     *
+     * @param mask the mask of the openings.
+     * @return the set of openings.
+     */
+    static Set<MovementDirection> of(int mask) {
+        return SETS[mask];
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Set<MovementDirection>[] createSets() {
+        MovementDirection[] directions = MovementDirection.values();
+        Set<MovementDirection>[] sets = new Set[1 << directions.length];
+        for (int mask = 0; mask < sets.length; mask++) {
+            EnumSet<MovementDirection> openings = EnumSet.noneOf(MovementDirection.class);
+            for (MovementDirection direction : directions) {
+                if ((mask & direction.getMask()) != 0) {
+                    openings.add(direction);
+                }
+            }
+            sets[mask] = Collections.unmodifiableSet(openings);
+        }
+        return sets;
+    }
+}
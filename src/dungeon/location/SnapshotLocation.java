@@ -0,0 +1,174 @@
+package dungeon.location;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import dungeon.location.paths.LocationAddress;
+import dungeon.obstacles.Monster;
+import dungeon.obstacles.Obstacle;
+import dungeon.obstacles.ObstacleType;
+import dungeon.obstacles.Pit;
+import dungeon.obstacles.Thief;
+
+/**
+ * A location of a {@link MapSnapshot}, it holds the state that a location of a {@link DungeonGrid}
+ * had when the snapshot was taken and cannot be modified, so it can be shared by every reader of
+ * the snapshot. The obstacles are the same objects as the obstacles of the dungeon.
+ */
+final class SnapshotLocation extends AbstractLocation {
+
+    private final LocationAddress address;
+
+    private final int openingMask;
+
+    private final int treasureMask;
+
+    private final boolean hasArrow;
+
+    private final Monster otyugh;
+
+    private final Pit pit;
+
+    private final Thief thief;
+
+    private final Set<Obstacle> obstacles;
+
+    SnapshotLocation(DungeonGrid grid, int cellId) {
+        this.address = grid.getAddressTable().getAddress(cellId);
+        this.openingMask = grid.getOpenings(cellId);
+        this.treasureMask = grid.getTreasures(cellId);
+        this.hasArrow = grid.hasArrow(cellId);
+        this.otyugh = (Monster) grid.getObstacle(cellId, ObstacleType.OTYUGH);
+        this.pit = (Pit) grid.getObstacle(cellId, ObstacleType.PIT);
+        this.thief = (Thief) grid.getObstacle(cellId, ObstacleType.THIEF);
+
+        Set<Obstacle> obstacles = new LinkedHashSet<>();
+        for (Obstacle obstacle : new Obstacle[]{otyugh, pit, thief}) {
+            if (obstacle != null) {
+                obstacles.add(obstacle);
+            }
+        }
+        this.obstacles = obstacles.isEmpty()
+                ? Collections.emptySet() : Collections.unmodifiableSet(obstacles);
+    }
+
+    @Override
+    protected int getOpeningMask() {
+        return openingMask;
+    }
+
+    @Override
+    public Set<Obstacle> getAllObstacles() {
+        return obstacles;
+    }
+
+    @Override
+    public Set<Collectible> getTreasures() {
+        Set<Collectible> treasures = new LinkedHashSet<>();
+        for (Collectible collectible : Collectible.values()) {
+            if ((treasureMask & 1 << collectible.ordinal()) != 0) {
+                treasures.add(collectible);
+            }
+        }
+        return treasures;
+    }
+
+    @Override
+    public Monster getOtyugh() {
+        return otyugh;
+    }
+
+    @Override
+    public Thief getThief() {
+        return thief;
+    }
+
+    @Override
+    public Pit getPit() {
+        return pit;
+    }
+
+    @Override
+    public LocationAddress getAddress() {
+        return address;
+    }
+
+    @Override
+    public boolean isHasArrow() {
+        return hasArrow;
+    }
+
+    @Override
+    public void addTreasure(Set<Collectible> collectibles) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void addOpenings(MovementDirection movementDirection) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void markTreasureCollected(Collectible collectible) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void markArrowCollected() {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void addArrow() {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void addMonster(Monster monster) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void addPit(Pit pit) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void addThief(Thief thief) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void makeThiefEscapeDungeon() {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void addObstacles(Set<Obstacle> obstacles) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SnapshotLocation that = (SnapshotLocation) o;
+        return address.equals(that.address) && openingMask == that.openingMask
+                && treasureMask == that.treasureMask;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * address.hashCode() + openingMask) + treasureMask;
+    }
+
+    private static UnsupportedOperationException unmodifiable() {
+        return new UnsupportedOperationException("The locations of a map snapshot cannot be "
+                + "modified.");
+    }
+}
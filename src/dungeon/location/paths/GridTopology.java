@@ -0,0 +1,124 @@
+package dungeon.location.paths;
+
+import dungeon.location.MovementDirection;
+
+/**
+ * The GridTopology knows which location is next to every location of a dungeon in each of the four
+ * directions. The neighbours are worked out once when the topology is created, for a wrapping or a
+ * non-wrapping grid, and are kept in a single array at index (cellId * 4 + direction ordinal), so
+ * moving the player, a monster or an arrow by one location is a single lookup. A neighbour that
+ * would be outside of a non-wrapping grid is stored as -1.
+ *
+ * <p>The topology is shared by everything that moves through the same dungeon along with the
+ * {@link LocationAddressTable} of the dungeon.
+ */
+public class GridTopology {
+
+    private static final MovementDirection[] DIRECTIONS = MovementDirection.values();
+
+    private final LocationAddressTable addressTable;
+
+    private final boolean wrapping;
+
+    private final int[] neighbours;
+
+    /**
+     * Constructs the topology of a grid with the size of the given table of addresses.
+     *
+     * @param addressTable the addresses of the locations of the grid.
+     * @param wrapping     whether the edges of the grid wrap around.
+     */
+    public GridTopology(LocationAddressTable addressTable, boolean wrapping) {
+        if (addressTable == null) {
+            throw new IllegalArgumentException("The topology needs the addresses of the grid.");
+        }
+        this.addressTable = addressTable;
+        this.wrapping = wrapping;
+
+        int numberOfRows = addressTable.getNumberOfRows();
+        int numberOfColumns = addressTable.getNumberOfColumns();
+        this.neighbours = new int[numberOfRows * numberOfColumns * DIRECTIONS.length];
+        for (int row = 0; row < numberOfRows; row++) {
+            for (int column = 0; column < numberOfColumns; column++) {
+                int index = (row * numberOfColumns + column) * DIRECTIONS.length;
+                neighbours[index + MovementDirection.NORTH.ordinal()]
+                        = getCellId(row - 1, column, numberOfRows, numberOfColumns);
+                neighbours[index + MovementDirection.SOUTH.ordinal()]
+                        = getCellId(row + 1, column, numberOfRows, numberOfColumns);
+                neighbours[index + MovementDirection.EAST.ordinal()]
+                        = getCellId(row, column + 1, numberOfRows, numberOfColumns);
+                neighbours[index + MovementDirection.WEST.ordinal()]
+                        = getCellId(row, column - 1, numberOfRows, numberOfColumns);
+            }
+        }
+    }
+
+    /**
+     * Constructs the topology of a grid with the given number of rows and columns along with its own
+     * table of addresses.
+     *
+     * @param numberOfRows    the number of rows of the grid.
+     * @param numberOfColumns the number of columns of the grid.
+     * @param wrapping        whether the edges of the grid wrap around.
+     */
+    public GridTopology(int numberOfRows, int numberOfColumns, boolean wrapping) {
+        this(new LocationAddressTable(numberOfRows, numberOfColumns), wrapping);
+    }
+
+    /**
+     * Returns the table of the addresses of the locations of the grid.
+     *
+     * @return the table of addresses.
+     */
+    public LocationAddressTable getAddressTable() {
+        return addressTable;
+    }
+
+    /**
+     * Returns the number of rows of the grid.
+     *
+     * @return number of rows.
+     */
+    public int getNumberOfRows() {
+        return addressTable.getNumberOfRows();
+    }
+
+    /**
+     * Returns the number of columns of the grid.
+     *
+     * @return number of columns.
+     */
+    public int getNumberOfColumns() {
+        return addressTable.getNumberOfColumns();
+    }
+
+    /**
+     * Returns whether the edges of the grid wrap around.
+     *
+     * @return true if the grid is wrapping.
+     */
+    public boolean isWrapping() {
+        return wrapping;
+    }
+
+    /**
+     * Returns the cell id of the location that is next to the given location in the direction.
+     *
+     * @param cellId    the cell id of the location.
+     * @param direction the direction of the neighbouring location.
+     * @return the cell id of the neighbour, or -1 if the neighbour would be outside the grid.
+     */
+    public int getNeighbour(int cellId, MovementDirection direction) {
+        return neighbours[cellId * DIRECTIONS.length + direction.ordinal()];
+    }
+
+    private int getCellId(int row, int column, int numberOfRows, int numberOfColumns) {
+        if (wrapping) {
+            row = (row + numberOfRows) % numberOfRows;
+            column = (column + numberOfColumns) % numberOfColumns;
+        } else if (row < 0 || row >= numberOfRows || column < 0 || column >= numberOfColumns) {
+            return -1;
+        }
+        return row * numberOfColumns + column;
+    }
+}
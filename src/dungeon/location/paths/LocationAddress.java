@@ -1,7 +1,5 @@
 package dungeon.location.paths;
 
-import java.util.Objects;
-
 /**
  * The row number and the column number of a location collectively represents the position of the
  * Location in the maze. This class represents the position of the location in the maze.
@@ -72,7 +70,7 @@ public class LocationAddress {
 
     @Override
     public int hashCode() {
-        return Objects.hash(rowNumber, columnNumber);
+        return 31 * (31 + rowNumber) + columnNumber;
     }
 
     @Override
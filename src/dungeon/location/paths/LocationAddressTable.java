@@ -0,0 +1,101 @@
+package dungeon.location.paths;
+
+/**
+ * The LocationAddressTable maps the cell id (row * numberOfColumns + column) of every location of a
+ * dungeon to its {@link LocationAddress} and back. The player, the monsters and the arrows keep
+ * their position as a cell id and move with a {@link GridTopology}, an address is only handed out
+ * at the boundary of the model and is served from this table, so the same address object is
+ * returned for a location every time it is asked for.
+ *
+ * <p>The addresses are created the first time they are asked for, a location that is never
+ * visited never has an address object.
+ */
+public class LocationAddressTable {
+
+    private final int numberOfRows;
+
+    private final int numberOfColumns;
+
+    private final LocationAddress[] addresses;
+
+    /**
+     * Constructs the table of addresses for a grid of the given size.
+     *
+     * @param numberOfRows    the number of rows of the grid.
+     * @param numberOfColumns the number of columns of the grid.
+     */
+    public LocationAddressTable(int numberOfRows, int numberOfColumns) {
+        if (numberOfRows <= 0 || numberOfColumns <= 0) {
+            throw new IllegalArgumentException("Cannot create a table with zero or negative number "
+                    + "of rows or columns.");
+        }
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+        this.addresses = new LocationAddress[numberOfRows * numberOfColumns];
+    }
+
+    /**
+     * Returns the number of rows of the grid.
+     *
+     * @return number of rows.
+     */
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * Returns the number of columns of the grid.
+     *
+     * @return number of columns.
+     */
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    /**
+     * Returns the cell id of the location at the given row and column.
+     *
+     * @param rowNumber    the row number of the location.
+     * @param columnNumber the column number of the location.
+     * @return the cell id.
+     * @throws IllegalArgumentException if the location is outside the grid.
+     */
+    public int getCellId(int rowNumber, int columnNumber) {
+        if (rowNumber < 0 || rowNumber >= numberOfRows || columnNumber < 0
+                || columnNumber >= numberOfColumns) {
+            throw new IllegalArgumentException("The location (" + rowNumber + ", " + columnNumber
+                    + ") is outside the grid.");
+        }
+        return rowNumber * numberOfColumns + columnNumber;
+    }
+
+    /**
+     * Returns the cell id of the location with the given address.
+     *
+     * @param address the address of the location.
+     * @return the cell id.
+     * @throws IllegalArgumentException if the address is null or outside the grid.
+     */
+    public int getCellId(LocationAddress address) {
+        if (address == null) {
+            throw new IllegalArgumentException("Location address cannot be null.");
+        }
+        return getCellId(address.getRowNumber(), address.getColumnNumber());
+    }
+
+    /**
+     * Returns the address of the location with the given cell id, the same object is returned for
+     * the same cell id.
+     *
+     * @param cellId the cell id of the location.
+     * @return the address of the location.
+     */
+    public LocationAddress getAddress(int cellId) {
+        LocationAddress address = addresses[cellId];
+        if (address == null) {
+            address = new LocationAddress(cellId / numberOfColumns, cellId % numberOfColumns);
+            addresses[cellId] = address;
+        }
+        return address;
+    }
+}
@@ -1,11 +1,13 @@
 package dungeon.location.paths;
 
-import java.util.Objects;
-
 /**
  * The path class represents the connection between two locations. There exists one and only one
  * direct connection between 2 locations. All the paths are bidirectional and considered equal from
- * A to B and B to A.
+ * A to B and B to A, and so are their hash codes.
+ *
+ * <p>A path that is created by the dungeon also carries its packed path id (cell id * 2 + axis), the
+ * single id of the path in its grid irrespective of the order of its locations, which lets the
+ * path be looked up without comparing its locations.
  */
 public class Path {
 
@@ -13,6 +15,8 @@ public class Path {
 
     private final LocationAddress locationTwo;
 
+    private final int pathId;
+
     /**
      * Constructs an object of the Path class with taking the 2 locations that it connects as the
      * parameter. The paths are bidirectional and the equality of the paths is checked when both the
@@ -22,6 +26,18 @@ public class Path {
      * @param locationTwo The other location in the path that needs to be connected.
      */
     public Path(LocationAddress locationOne, LocationAddress locationTwo) {
+        this(locationOne, locationTwo, -1);
+    }
+
+    /**
+     * Constructs a path between the 2 locations along with the packed id of the path in the grid
+     * of the dungeon.
+     *
+     * @param locationOne One of the location in the path.
+     * @param locationTwo The other location in the path that needs to be connected.
+     * @param pathId      The packed id of the path, or -1 if it is not known.
+     */
+    public Path(LocationAddress locationOne, LocationAddress locationTwo, int pathId) {
         if (locationOne == null || locationTwo == null) {
             throw new IllegalArgumentException("Both the locations are required to be not null");
         } else if (locationOne.equals(locationTwo)) {
@@ -30,6 +46,7 @@ public class Path {
 
         this.locationOne = locationOne;
         this.locationTwo = locationTwo;
+        this.pathId = pathId;
     }
 
     /**
@@ -50,6 +67,16 @@ public class Path {
         return locationTwo;
     }
 
+    /**
+     * Get the packed id (cell id * 2 + axis) of the path in the grid of the dungeon, the same id is
+     * given to the path from either of its locations.
+     *
+     * @return the packed path id, or -1 if it is not known.
+     */
+    public int getPathId() {
+        return pathId;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -66,7 +93,9 @@ public class Path {
 
     @Override
     public int hashCode() {
-        return Objects.hash(locationOne, locationTwo);
+        int hashOne = locationOne.hashCode();
+        int hashTwo = locationTwo.hashCode();
+        return 31 * Math.min(hashOne, hashTwo) + Math.max(hashOne, hashTwo);
     }
 
     @Override
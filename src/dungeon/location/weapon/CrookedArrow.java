@@ -2,12 +2,12 @@ package dungeon.location.weapon;
 
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.Set;
 
 import dungeon.location.Location;
-import dungeon.location.LocationType;
+import dungeon.location.LocationGrid;
 import dungeon.location.MovementDirection;
 import dungeon.location.paths.LocationAddress;
+import dungeon.location.paths.GridTopology;
 
 /**
  * This class represents a CrookedArrow that can bend through the tunnels and endlessly navigate
@@ -18,13 +18,16 @@ import dungeon.location.paths.LocationAddress;
  */
 public class CrookedArrow implements Arrow {
 
-    private final LocationAddress startLocation;
+    private static final MovementDirection[] DIRECTIONS = MovementDirection.values();
+
+    private final GridTopology topology;
+    private final int startCell;
     private final boolean wrapping;
     private final int numberOfColumns;
     private final int numberOfRows;
-    private final Location[][] map;
+    private final LocationGrid map;
     private final int damage;
-    private LocationAddress currentLocation;
+    private int currentCell;
     private int cavesVisitedByTheArrow;
 
     /**
@@ -37,20 +40,41 @@ public class CrookedArrow implements Arrow {
      * @param map           The maze in which the arrow is to be moved.
      */
     public CrookedArrow(LocationAddress firingAddress, boolean isWrap, Location[][] map) {
+        this(firingAddress, map == null ? null : new ArrayLocationGrid(map),
+                map == null ? null : new GridTopology(map.length, map[0].length, isWrap));
+    }
+
+    /**
+     * Constructs a Crooked Arrow that is fired from the firing address and travels through the
+     * locations of the given grid, moving from one location to the next with the topology of the
+     * grid.
+     *
+     * @param firingAddress The location address from which the address was shot.
+     * @param grid          The grid of locations of the maze in which the arrow is to be moved.
+     * @param topology      The neighbours and the addresses of the locations of the grid.
+     */
+    public CrookedArrow(LocationAddress firingAddress, LocationGrid grid, GridTopology topology) {
         if (firingAddress == null) {
             throw new IllegalArgumentException("Arrow requires a firing location.");
         }
 
-        if (map == null) {
+        if (grid == null) {
             throw new IllegalArgumentException("Arrow needs to know the maze to travel through it.");
         }
 
-        this.startLocation = firingAddress;
-        this.currentLocation = firingAddress;
-        this.wrapping = isWrap;
-        this.numberOfRows = map.length;
-        this.numberOfColumns = map[0].length;
-        this.map = map;
+        if (topology == null || topology.getNumberOfRows() != grid.getNumberOfRows()
+                || topology.getNumberOfColumns() != grid.getNumberOfColumns()) {
+            throw new IllegalArgumentException("Arrow needs the topology of the maze it travels "
+                    + "through.");
+        }
+
+        this.topology = topology;
+        this.startCell = topology.getAddressTable().getCellId(firingAddress);
+        this.currentCell = startCell;
+        this.wrapping = topology.isWrapping();
+        this.numberOfRows = grid.getNumberOfRows();
+        this.numberOfColumns = grid.getNumberOfColumns();
+        this.map = grid;
         this.cavesVisitedByTheArrow = 0;
         this.damage = 50;
     }
@@ -68,27 +92,22 @@ public class CrookedArrow implements Arrow {
             throw new IllegalArgumentException("Distance cannot be zero or negative.");
         }
 
-        Location arrowCurrentLocation = map[getCurrentLocation().getRowNumber()]
-                [getCurrentLocation().getColumnNumber()];
-
-        while ((arrowCurrentLocation.getType().equals(LocationType.CAVE)
-                && arrowCurrentLocation.getOpenings().contains(direction)
+        int openings = map.getOpenings(currentCell);
+        while ((isCave(openings) && (openings & direction.getMask()) != 0
                 && cavesVisitedByTheArrow != distance)
-                || (arrowCurrentLocation.getType().equals(LocationType.TUNNEL))) {
+                || !isCave(openings)) {
 
             moveOnePlace(direction);
-            arrowCurrentLocation = map[currentLocation.getRowNumber()][currentLocation.getColumnNumber()];
+            openings = map.getOpenings(currentCell);
 
-            if (arrowCurrentLocation.getType().equals(LocationType.CAVE)
-                    && !arrowCurrentLocation.getAddress().equals(startLocation)) {
+            if (isCave(openings) && currentCell != startCell) {
                 cavesVisitedByTheArrow++;
                 if (cavesVisitedByTheArrow == distance) {
                     break;
                 }
-            } else if (arrowCurrentLocation.getType().equals(LocationType.TUNNEL)) {
-                Set<MovementDirection> tunnelOpenings = arrowCurrentLocation.getOpenings();
-                tunnelOpenings.remove(direction.getOpposite());
-                direction = tunnelOpenings.iterator().next();
+            } else if (!isCave(openings)) {
+                int tunnelOpenings = openings & ~direction.getOpposite().getMask();
+                direction = DIRECTIONS[Integer.numberOfTrailingZeros(tunnelOpenings)];
             }
 
         }
@@ -106,7 +125,7 @@ public class CrookedArrow implements Arrow {
 
     @Override
     public LocationAddress getCurrentLocation() {
-        return currentLocation;
+        return topology.getAddressTable().getAddress(currentCell);
     }
 
     private void moveOnePlace(MovementDirection movementDirection) {
@@ -114,64 +133,20 @@ public class CrookedArrow implements Arrow {
             throw new IllegalArgumentException("Direction cannot be null, provide a valid direction");
         }
 
-        switch (movementDirection) {
-            case WEST: {
-                if (wrapping && currentLocation.getColumnNumber() == 0) {
-                    currentLocation = new LocationAddress(currentLocation.getRowNumber(),
-                            numberOfColumns - 1);
-                } else {
-                    currentLocation
-                            = new LocationAddress(
-                            currentLocation.getRowNumber(),
-                            currentLocation.getColumnNumber() - 1);
-                }
-            }
-            break;
-
-            case EAST: {
-                if (wrapping && currentLocation.getColumnNumber() == numberOfColumns - 1) {
-                    currentLocation = new LocationAddress(currentLocation.getRowNumber(), 0);
-                } else {
-                    currentLocation
-                            = new LocationAddress(
-                            currentLocation.getRowNumber(),
-                            currentLocation.getColumnNumber() + 1);
-                }
-
-            }
-            break;
-
-            case SOUTH: {
-                if (wrapping && currentLocation.getRowNumber() == numberOfRows - 1) {
-                    currentLocation = new LocationAddress(0,
-                            currentLocation.getColumnNumber());
-                } else {
-                    currentLocation
-                            = new LocationAddress(currentLocation.getRowNumber() + 1,
-                            currentLocation.getColumnNumber());
-                }
-            }
-            break;
-
-            case NORTH: {
-                if (wrapping && currentLocation.getRowNumber() == 0) {
-                    currentLocation = new LocationAddress(numberOfRows - 1,
-                            currentLocation.getColumnNumber());
-                } else {
-                    currentLocation
-                            = new LocationAddress(currentLocation.getRowNumber() - 1,
-                            currentLocation.getColumnNumber());
-                }
-            }
-            break;
+        int neighbour = topology.getNeighbour(currentCell, movementDirection);
+        if (neighbour == -1) {
+            throw new IllegalStateException("The arrow cannot travel " + movementDirection
+                    + " out of the maze.");
+        }
+        currentCell = neighbour;
+    }
 
-            default: {
-                currentLocation
-                        = new LocationAddress(currentLocation.getRowNumber(),
-                        currentLocation.getColumnNumber());
-            }
-            break;
+    private boolean isCave(int openings) {
+        int numberOfOpenings = Integer.bitCount(openings);
+        if (numberOfOpenings == 0) {
+            throw new IllegalStateException("There should at least be one opening to every location");
         }
+        return numberOfOpenings != 2;
     }
 
     @Override
@@ -186,21 +161,71 @@ public class CrookedArrow implements Arrow {
         return wrapping == that.wrapping && numberOfColumns == that.numberOfColumns
                 && numberOfRows == that.numberOfRows && damage == that.damage
                 && cavesVisitedByTheArrow == that.cavesVisitedByTheArrow
-                && Objects.equals(startLocation, that.startLocation)
-                && Arrays.deepEquals(map, that.map)
-                && Objects.equals(currentLocation, that.currentLocation);
+                && startCell == that.startCell && currentCell == that.currentCell
+                && Objects.equals(map, that.map);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(startLocation, wrapping, numberOfColumns, numberOfRows, damage,
-                currentLocation, cavesVisitedByTheArrow);
-        result = 31 * result + Arrays.deepHashCode(map);
-        return result;
+        return Objects.hash(startCell, wrapping, numberOfColumns, numberOfRows, damage,
+                currentCell, cavesVisitedByTheArrow, map);
     }
 
     @Override
     public WeaponType getWeaponType() {
         return WeaponType.ARROW;
     }
+
+    /**
+     * Adapts a two dimensional array of locations to a grid of locations.
+     */
+    private static final class ArrayLocationGrid implements LocationGrid {
+
+        private final Location[][] locations;
+
+        private ArrayLocationGrid(Location[][] locations) {
+            this.locations = locations;
+        }
+
+        @Override
+        public int getNumberOfRows() {
+            return locations.length;
+        }
+
+        @Override
+        public int getNumberOfColumns() {
+            return locations[0].length;
+        }
+
+        @Override
+        public Location getLocation(int rowNumber, int columnNumber) {
+            return locations[rowNumber][columnNumber];
+        }
+
+        @Override
+        public int getOpenings(int cellId) {
+            int mask = 0;
+            for (MovementDirection direction : locations[cellId / locations[0].length]
+                    [cellId % locations[0].length].getOpenings()) {
+                mask |= direction.getMask();
+            }
+            return mask;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            return Arrays.deepEquals(locations, ((ArrayLocationGrid) o).locations);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(locations);
+        }
+    }
 }
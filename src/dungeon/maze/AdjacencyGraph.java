@@ -0,0 +1,133 @@
+package dungeon.maze;
+
+import dungeon.maze.generator.EdgeEnumerator;
+
+/**
+ * The AdjacencyGraph holds the locations that are connected to every location of the dungeon in the
+ * compressed sparse row form: the neighbours of all the locations are kept one after the other in a
+ * single array of targets, and the neighbours of a location are the targets between its offset and
+ * the offset of the next location. The graph is built once from the connected paths of the dungeon
+ * and never changes, so it is shared by every game played in the dungeon and lets the distances be
+ * worked out without hashing or boxing a single location.
+ *
+ * <p>The neighbours of a location are listed in the order of the connected paths that they were
+ * built from, the same order in which they used to be added to the adjacency list of the location.
+ * A typical traversal over the neighbours of a location looks like:
+ *
+ * <pre>
+ * for (int edge = graph.getFirstEdge(cellId); edge &lt; graph.getEndEdge(cellId); edge++) {
+ *     int neighbour = graph.getTarget(edge);
+ * }
+ * </pre>
+ */
+public final class AdjacencyGraph {
+
+    private final int[] offsets;
+
+    private final int[] targets;
+
+    /**
+     * Constructs the graph of the given connected paths.
+     *
+     * @param edgeEnumerator the enumerator of the paths of the grid.
+     * @param connectedPaths the packed ids of the connected paths.
+     */
+    public AdjacencyGraph(EdgeEnumerator edgeEnumerator, int[] connectedPaths) {
+        if (edgeEnumerator == null || connectedPaths == null) {
+            throw new IllegalArgumentException("The graph requires the connected paths of a grid.");
+        }
+
+        int numberOfCells = edgeEnumerator.getNumberOfCells();
+        this.offsets = new int[numberOfCells + 1];
+        this.targets = new int[connectedPaths.length * 2];
+        for (int pathId : connectedPaths) {
+            offsets[edgeEnumerator.getLocationOne(pathId) + 1]++;
+            offsets[edgeEnumerator.getLocationTwo(pathId) + 1]++;
+        }
+        for (int cellId = 0; cellId < numberOfCells; cellId++) {
+            offsets[cellId + 1] += offsets[cellId];
+        }
+
+        int[] filled = new int[numberOfCells];
+        for (int pathId : connectedPaths) {
+            int one = edgeEnumerator.getLocationOne(pathId);
+            int two = edgeEnumerator.getLocationTwo(pathId);
+            targets[offsets[one] + filled[one]++] = two;
+            targets[offsets[two] + filled[two]++] = one;
+        }
+    }
+
+    /**
+     * Returns the number of locations in the graph.
+     *
+     * @return number of cells.
+     */
+    public int getNumberOfCells() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of connected paths in the graph, every path connects two locations.
+     *
+     * @return number of paths.
+     */
+    public int getNumberOfPaths() {
+        return targets.length / 2;
+    }
+
+    /**
+     * Returns the index of the first neighbour of the location in the array of targets.
+     *
+     * @param cellId the cell id of the location.
+     * @return the first edge of the location.
+     */
+    public int getFirstEdge(int cellId) {
+        return offsets[cellId];
+    }
+
+    /**
+     * Returns the index just after the last neighbour of the location in the array of targets.
+     *
+     * @param cellId the cell id of the location.
+     * @return the end of the edges of the location.
+     */
+    public int getEndEdge(int cellId) {
+        return offsets[cellId + 1];
+    }
+
+    /**
+     * Returns the location that the edge leads to.
+     *
+     * @param edge the index of the edge.
+     * @return the cell id of the neighbour.
+     */
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the number of locations connected to the location.
+     *
+     * @param cellId the cell id of the location.
+     * @return the number of neighbours.
+     */
+    public int getDegree(int cellId) {
+        return offsets[cellId + 1] - offsets[cellId];
+    }
+
+    /**
+     * Returns whether the two locations are connected by a path.
+     *
+     * @param cellId      the cell id of a location.
+     * @param otherCellId the cell id of the other location.
+     * @return true if there is a path between the locations.
+     */
+    public boolean isAdjacent(int cellId, int otherCellId) {
+        for (int edge = offsets[cellId]; edge < offsets[cellId + 1]; edge++) {
+            if (targets[edge] == otherCellId) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
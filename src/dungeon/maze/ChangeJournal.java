@@ -0,0 +1,108 @@
+package dungeon.maze;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import dungeon.location.paths.LocationAddressTable;
+
+/**
+ * The ChangeJournal keeps the latest changes made to the locations of a dungeon in a ring buffer of
+ * a fixed capacity, a change takes a byte for its type and an int for the cell id of its location
+ * and the version of a change is given by its position in the journal. Recording a change never
+ * allocates, the change objects are only created when the changes since a version are asked for.
+ * Once the journal is full, the oldest change is overwritten by every new change.
+ */
+final class ChangeJournal {
+
+    private static final ChangeType[] CHANGE_TYPES = ChangeType.values();
+
+    private final LocationAddressTable addressTable;
+
+    private final byte[] changeTypes;
+
+    private final int[] cellIds;
+
+    private long version;
+
+    ChangeJournal(LocationAddressTable addressTable, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The journal should hold at least one change.");
+        }
+        this.addressTable = addressTable;
+        this.changeTypes = new byte[capacity];
+        this.cellIds = new int[capacity];
+    }
+
+    /**
+     * Records a change to the location and moves the journal to the next version.
+     *
+     * @param changeType the kind of the change.
+     * @param cellId     the cell id of the location that changed.
+     */
+    void record(ChangeType changeType, int cellId) {
+        int slot = (int) (version % changeTypes.length);
+        changeTypes[slot] = (byte) changeType.ordinal();
+        cellIds[slot] = cellId;
+        version++;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the changes made after the given version, in the order they were made.
+     *
+     * @param sinceVersion the version after which the changes are required.
+     * @return the changes made after the version.
+     * @throws IllegalArgumentException if the version is negative or has not been reached yet.
+     * @throws IllegalStateException    if some of the changes have already been overwritten.
+     */
+    List<MazeChange> getChangesSince(long sinceVersion) {
+        if (sinceVersion < 0 || sinceVersion > version) {
+            throw new IllegalArgumentException("The maze has not been at version " + sinceVersion
+                    + ", the current version is " + version);
+        } else if (version - sinceVersion > changeTypes.length) {
+            throw new IllegalStateException("The changes since version " + sinceVersion
+                    + " are no longer in the journal, the whole maze has to be read again.");
+        } else if (sinceVersion == version) {
+            return Collections.emptyList();
+        }
+
+        List<MazeChange> changes = new ArrayList<>((int) (version - sinceVersion));
+        for (long changeVersion = sinceVersion; changeVersion < version; changeVersion++) {
+            int slot = (int) (changeVersion % changeTypes.length);
+            changes.add(new MazeChange(changeVersion + 1, CHANGE_TYPES[changeTypes[slot]],
+                    addressTable.getAddress(cellIds[slot])));
+        }
+        return Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Returns whether a change of one of the given kinds was made after the given version, without
+     * creating the change objects. When some of the changes have already been overwritten, it cannot
+     * be told what they were, so they are taken to be of one of the kinds.
+     *
+     * @param sinceVersion the version after which the changes are looked at.
+     * @param kinds        the kinds of changes looked for.
+     * @return true if such a change may have been made after the version.
+     */
+    boolean hasChangedSince(long sinceVersion, EnumSet<ChangeType> kinds) {
+        if (sinceVersion < 0 || sinceVersion > version) {
+            throw new IllegalArgumentException("The maze has not been at version " + sinceVersion
+                    + ", the current version is " + version);
+        } else if (version - sinceVersion > changeTypes.length) {
+            return true;
+        }
+
+        for (long changeVersion = sinceVersion; changeVersion < version; changeVersion++) {
+            int slot = (int) (changeVersion % changeTypes.length);
+            if (kinds.contains(CHANGE_TYPES[changeTypes[slot]])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,14 @@
+package dungeon.maze;
+
+/**
+ * This enum represents the kinds of changes that a move of the game makes to a single location of
+ * the dungeon, every change is recorded in the change journal of the maze along with the location
+ * that it was made to. A view that has drawn the dungeon at some version of the maze only has to
+ * redraw the locations of the changes made after that version. The moves of the player and the
+ * Berbalang are recorded at the location moved to. A GAME_RESET change means that the game was
+ * restarted and every location has to be read again.
+ */
+public enum ChangeType {
+    PLAYER_MOVED, TREASURE_TAKEN, ARROW_TAKEN, OTYUGH_DAMAGED, THIEF_FLED, BERBALANG_MOVED,
+    BERBALANG_DAMAGED, GAME_RESET
+}
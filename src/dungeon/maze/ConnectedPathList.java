@@ -0,0 +1,50 @@
+package dungeon.maze;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import dungeon.location.paths.LocationAddressTable;
+import dungeon.location.paths.Path;
+import dungeon.maze.generator.EdgeEnumerator;
+import dungeon.maze.generator.EdgeSet;
+
+/**
+ * An unmodifiable list of the connected paths of a dungeon that only keeps the packed ids of the
+ * paths, the Path of an index is created from the interned addresses of the dungeon when it is
+ * asked for. Whether the list contains a path is answered from the {@link EdgeSet} of the paths,
+ * in constant time and in either order of the locations of the path, instead of comparing the
+ * path with every path in the list.
+ */
+final class ConnectedPathList extends AbstractList<Path> implements RandomAccess {
+
+    private final int[] pathIds;
+
+    private final EdgeEnumerator edgeEnumerator;
+
+    private final LocationAddressTable addressTable;
+
+    private final EdgeSet edgeSet;
+
+    ConnectedPathList(int[] pathIds, EdgeEnumerator edgeEnumerator,
+                      LocationAddressTable addressTable) {
+        this.pathIds = pathIds;
+        this.edgeEnumerator = edgeEnumerator;
+        this.addressTable = addressTable;
+        this.edgeSet = new EdgeSet(edgeEnumerator, pathIds);
+    }
+
+    @Override
+    public Path get(int index) {
+        return edgeEnumerator.toPath(pathIds[index], addressTable);
+    }
+
+    @Override
+    public int size() {
+        return pathIds.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Path && edgeSet.contains((Path) o);
+    }
+}
@@ -0,0 +1,185 @@
+package dungeon.maze;
+
+/**
+ * The DistanceOracle answers the distance between any two locations of a dungeon without searching
+ * the dungeon. The connected paths of a dungeon form a spanning tree along with as many extra paths
+ * as the degree of interconnectivity, so the oracle takes a breadth first spanning tree of the
+ * paths and keeps the extra paths that are not part of it.
+ *
+ * <p>A shortest route between two locations either stays on the tree, in which case its length is
+ * worked out from the depths of the locations and of their lowest common ancestor, or it takes an
+ * extra path and so passes through one of its ends. The oracle keeps the distances from the ends
+ * of the extra paths to every location, and the distance between two locations is the shortest of
+ * the tree route and the routes through every end. The lowest common ancestor is found in constant
+ * time from the minimum depth on a stretch of an Euler tour of the tree, which is looked up in a
+ * sparse table, so a query takes O(k) time for k extra paths.
+ *
+ * <p>Building the oracle takes O(k * V + V log V) time and memory for V locations, it is worth it
+ * for many queries on a dungeon with a small degree of interconnectivity.
+ */
+public final class DistanceOracle {
+
+    private final int[] depths;
+
+    private final int[] firstVisits;
+
+    private final int[][] sparseTable;
+
+    private final int[][] hubDistances;
+
+    /**
+     * Builds the oracle for the given graph, every location of the graph should be connected.
+     *
+     * @param graph the graph of the connected locations of the dungeon.
+     * @throws IllegalArgumentException if some of the locations cannot be reached.
+     */
+    public DistanceOracle(AdjacencyGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("The oracle requires a graph.");
+        }
+        int numberOfCells = graph.getNumberOfCells();
+        GraphSearch graphSearch = new GraphSearch(graph);
+        graphSearch.search(0);
+
+        this.depths = new int[numberOfCells];
+        int[] parents = new int[numberOfCells];
+        for (int cellId = 0; cellId < numberOfCells; cellId++) {
+            depths[cellId] = graphSearch.getDistance(cellId);
+            if (depths[cellId] < 0) {
+                throw new IllegalArgumentException("Every location should be connected to the "
+                        + "others.");
+            }
+            parents[cellId] = graphSearch.getParent(cellId);
+        }
+
+        int[] eulerTour = buildEulerTour(graph, parents);
+        this.firstVisits = new int[numberOfCells];
+        for (int index = eulerTour.length - 1; index >= 0; index--) {
+            firstVisits[eulerTour[index]] = index;
+        }
+        this.sparseTable = buildSparseTable(eulerTour);
+
+        int[] hubs = findHubs(graph, parents);
+        this.hubDistances = new int[hubs.length][];
+        for (int hub = 0; hub < hubs.length; hub++) {
+            hubDistances[hub] = graphSearch.getDistanceField(hubs[hub], new int[numberOfCells]);
+        }
+    }
+
+    /**
+     * Returns the number of paths on a shortest route between the two locations.
+     *
+     * @param cellId      the cell id of a location.
+     * @param otherCellId the cell id of the other location.
+     * @return the distance between the locations.
+     */
+    public int getDistance(int cellId, int otherCellId) {
+        if (cellId < 0 || cellId >= depths.length || otherCellId < 0
+                || otherCellId >= depths.length) {
+            throw new IllegalArgumentException("The locations " + cellId + " and " + otherCellId
+                    + " should be in the graph.");
+        }
+        int distance = depths[cellId] + depths[otherCellId]
+                - 2 * depths[getLowestCommonAncestor(cellId, otherCellId)];
+        for (int[] hubDistance : hubDistances) {
+            distance = Math.min(distance, hubDistance[cellId] + hubDistance[otherCellId]);
+        }
+        return distance;
+    }
+
+    /**
+     * Returns the number of ends of the extra paths that the oracle keeps the distances from.
+     *
+     * @return number of hubs.
+     */
+    public int getNumberOfHubs() {
+        return hubDistances.length;
+    }
+
+    private int getLowestCommonAncestor(int cellId, int otherCellId) {
+        int from = Math.min(firstVisits[cellId], firstVisits[otherCellId]);
+        int to = Math.max(firstVisits[cellId], firstVisits[otherCellId]);
+        int level = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+        return shallower(sparseTable[level][from], sparseTable[level][to - (1 << level) + 1]);
+    }
+
+    private int shallower(int cellId, int otherCellId) {
+        return depths[cellId] <= depths[otherCellId] ? cellId : otherCellId;
+    }
+
+    private int[][] buildSparseTable(int[] eulerTour) {
+        int levels = 32 - Integer.numberOfLeadingZeros(eulerTour.length);
+        int[][] table = new int[levels][];
+        table[0] = eulerTour;
+        for (int level = 1; level < levels; level++) {
+            int half = 1 << level - 1;
+            int[] previous = table[level - 1];
+            int[] current = new int[eulerTour.length - (1 << level) + 1];
+            for (int index = 0; index < current.length; index++) {
+                current[index] = shallower(previous[index], previous[index + half]);
+            }
+            table[level] = current;
+        }
+        return table;
+    }
+
+    private static int[] buildEulerTour(AdjacencyGraph graph, int[] parents) {
+        int numberOfCells = parents.length;
+        int[] eulerTour = new int[2 * numberOfCells - 1];
+        int[] stack = new int[numberOfCells];
+        int[] nextEdges = new int[numberOfCells];
+        int size = 0;
+        int length = 0;
+
+        stack[size++] = 0;
+        nextEdges[0] = graph.getFirstEdge(0);
+        eulerTour[length++] = 0;
+        while (size > 0) {
+            int current = stack[size - 1];
+            int child = -1;
+            while (nextEdges[current] < graph.getEndEdge(current) && child < 0) {
+                int neighbour = graph.getTarget(nextEdges[current]++);
+                if (parents[neighbour] == current && neighbour != 0) {
+                    child = neighbour;
+                }
+            }
+            if (child >= 0) {
+                stack[size++] = child;
+                nextEdges[child] = graph.getFirstEdge(child);
+                eulerTour[length++] = child;
+            } else {
+                size--;
+                if (size > 0) {
+                    eulerTour[length++] = stack[size - 1];
+                }
+            }
+        }
+        return eulerTour;
+    }
+
+    private static int[] findHubs(AdjacencyGraph graph, int[] parents) {
+        boolean[] isHub = new boolean[parents.length];
+        int numberOfHubs = 0;
+        for (int cellId = 0; cellId < parents.length; cellId++) {
+            for (int edge = graph.getFirstEdge(cellId); edge < graph.getEndEdge(cellId); edge++) {
+                int neighbour = graph.getTarget(edge);
+                if (cellId < neighbour && parents[neighbour] != cellId
+                        && parents[cellId] != neighbour) {
+                    numberOfHubs += isHub[cellId] ? 0 : 1;
+                    numberOfHubs += isHub[neighbour] ? 0 : 1;
+                    isHub[cellId] = true;
+                    isHub[neighbour] = true;
+                }
+            }
+        }
+
+        int[] hubs = new int[numberOfHubs];
+        int index = 0;
+        for (int cellId = 0; cellId < parents.length; cellId++) {
+            if (isHub[cellId]) {
+                hubs[index++] = cellId;
+            }
+        }
+        return hubs;
+    }
+}
@@ -5,10 +5,10 @@ import java.util.Locale;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Scanner;
-import java.util.Set;
+import java.util.StringJoiner;
 
 import dungeon.location.Collectible;
-import dungeon.location.Location;
+import dungeon.location.LocationType;
 import dungeon.location.MovementDirection;
 
 /**
@@ -51,8 +51,7 @@ public class DungeonConsoleController implements DungeonController {
                     .append("You can quit anytime by entering 'Q'").append("\n\n");
 
             while (dungeonMazeModel.getState().equals(GameState.PLAYING)) {
-                Location playerCurrentLocation = dungeonMazeModel.getPlayerCurrentLocation();
-                checkCurrentLocationStatus(dungeonMazeModel, playerCurrentLocation);
+                checkCurrentLocationStatus(dungeonMazeModel);
 
                 String input = scan.next();
 
@@ -83,13 +82,12 @@ public class DungeonConsoleController implements DungeonController {
                         out.append("Invalid Input, try again.").append("\n");
                 }
 
-                if (dungeonMazeModel.getPlayerCurrentLocation().getOtyugh() != null
-                        && !dungeonMazeModel.getPlayerCurrentLocation().getOtyugh().isAlive()) {
+                int otyughHealth = dungeonMazeModel.getOtyughHealth(dungeonMazeModel.getPlayerRow(),
+                        dungeonMazeModel.getPlayerColumn());
+                if (otyughHealth == 0) {
                     out.append("\n").append("You look around and find yourself standing on a dead Otyugh!")
                             .append("\n");
-                } else if (dungeonMazeModel.getPlayerCurrentLocation().getOtyugh() != null
-                        && dungeonMazeModel.getPlayerCurrentLocation().getOtyugh().isAlive()
-                        && dungeonMazeModel.getPlayerCurrentLocation().getOtyugh().getHealth() < 100) {
+                } else if (otyughHealth > 0 && otyughHealth < 100) {
                     out.append("\n").append("There is an injured Otyugh in the cave, you can still escape!")
                             .append("\n");
                     out.append("Move quickly!");
@@ -120,29 +118,35 @@ public class DungeonConsoleController implements DungeonController {
         }
     }
 
-    private void checkCurrentLocationStatus(Maze dungeonMazeModel, Location playerCurrentLocation)
-            throws IOException {
+    private void checkCurrentLocationStatus(Maze dungeonMazeModel) throws IOException {
+        int playerRow = dungeonMazeModel.getPlayerRow();
+        int playerColumn = dungeonMazeModel.getPlayerColumn();
+        int openings = dungeonMazeModel.getOpeningsMask(playerRow, playerColumn);
+        int treasures = dungeonMazeModel.getTreasureMask(playerRow, playerColumn);
+        LocationType type = Integer.bitCount(openings) == 2
+                ? LocationType.TUNNEL : LocationType.CAVE;
+
         if (dungeonMazeModel.detectSmell() == 1) {
             out.append("You smell something bad").append("\n");
         } else if (dungeonMazeModel.detectSmell() >= 2) {
             out.append("You smell something terrible nearby").append("\n");
         }
         out.append("You are in a ")
-                .append(playerCurrentLocation.getType().toString().toLowerCase(Locale.ROOT))
+                .append(type.toString().toLowerCase(Locale.ROOT))
                 .append("\n");
 
-        if (!playerCurrentLocation.getTreasures().isEmpty()) {
+        if (treasures != 0) {
             out.append("You find ")
-                    .append(convertSetToReadableString(playerCurrentLocation.getTreasures()))
+                    .append(convertMaskToReadableString(treasures, Collectible.values()))
                     .append("\n");
         }
 
-        if (playerCurrentLocation.isHasArrow()) {
+        if (dungeonMazeModel.hasArrow(playerRow, playerColumn)) {
             out.append("You find an arrow here").append("\n");
         }
 
         out.append("Doors lead to the ")
-                .append(convertSetToReadableString(playerCurrentLocation.getOpenings()));
+                .append(convertMaskToReadableString(openings, MovementDirection.values()));
 
         out.append("\n");
 
@@ -156,8 +160,7 @@ public class DungeonConsoleController implements DungeonController {
 
             if (pickupOption.equalsIgnoreCase("diamonds")
                     || pickupOption.equalsIgnoreCase("d")) {
-                if (dungeonMazeModel.getPlayerCurrentLocation()
-                        .getTreasures().contains(Collectible.DIAMONDS)) {
+                if (hasTreasure(dungeonMazeModel, Collectible.DIAMONDS)) {
                     dungeonMazeModel.pickup(Collectible.DIAMONDS);
                     out.append("You picked up diamonds").append("\n");
                 } else {
@@ -165,8 +168,7 @@ public class DungeonConsoleController implements DungeonController {
                 }
             } else if (pickupOption.equalsIgnoreCase("rubies")
                     || pickupOption.equalsIgnoreCase("r")) {
-                if (dungeonMazeModel.getPlayerCurrentLocation()
-                        .getTreasures().contains(Collectible.RUBIES)) {
+                if (hasTreasure(dungeonMazeModel, Collectible.RUBIES)) {
                     dungeonMazeModel.pickup(Collectible.RUBIES);
                     out.append("You picked up rubies").append("\n");
                 } else {
@@ -174,8 +176,7 @@ public class DungeonConsoleController implements DungeonController {
                 }
             } else if (pickupOption.equalsIgnoreCase("sapphires")
                     || pickupOption.equalsIgnoreCase("s")) {
-                if (dungeonMazeModel.getPlayerCurrentLocation()
-                        .getTreasures().contains(Collectible.SAPPHIRES)) {
+                if (hasTreasure(dungeonMazeModel, Collectible.SAPPHIRES)) {
                     dungeonMazeModel.pickup(Collectible.SAPPHIRES);
                     out.append("You picked up sapphires").append("\n");
                 } else {
@@ -183,7 +184,8 @@ public class DungeonConsoleController implements DungeonController {
                 }
             } else if (pickupOption.equalsIgnoreCase("arrow")
                     || pickupOption.equalsIgnoreCase("a")) {
-                if (dungeonMazeModel.getPlayerCurrentLocation().isHasArrow()) {
+                if (dungeonMazeModel.hasArrow(dungeonMazeModel.getPlayerRow(),
+                        dungeonMazeModel.getPlayerColumn())) {
                     dungeonMazeModel.pickup(Collectible.ARROW);
                     out.append("You picked up an arrow").append("\n");
                     out.append("You now have ").append(String.valueOf(dungeonMazeModel.getNumberOfArrows()))
@@ -305,9 +307,19 @@ public class DungeonConsoleController implements DungeonController {
         }
     }
 
-    private <T> String convertSetToReadableString(Set<T> set) {
-        return set.toString().replace("[", "")
-                .replaceAll("]", "").toLowerCase(Locale.ROOT);
+    private boolean hasTreasure(Maze dungeonMazeModel, Collectible collectible) {
+        return (dungeonMazeModel.getTreasureMask(dungeonMazeModel.getPlayerRow(),
+                dungeonMazeModel.getPlayerColumn()) & 1 << collectible.ordinal()) != 0;
+    }
+
+    private String convertMaskToReadableString(int mask, Enum<?>[] values) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Enum<?> value : values) {
+            if ((mask & 1 << value.ordinal()) != 0) {
+                joiner.add(value.toString().toLowerCase(Locale.ROOT));
+            }
+        }
+        return joiner.toString();
     }
 
 }
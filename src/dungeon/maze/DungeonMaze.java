@@ -2,33 +2,36 @@ package dungeon.maze;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.LinkedList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import dungeon.RandomGenerator;
+import dungeon.RandomStream;
 import dungeon.location.Collectible;
+import dungeon.location.DungeonGrid;
 import dungeon.location.Location;
-import dungeon.location.LocationType;
+import dungeon.location.MapSnapshot;
 import dungeon.location.MazeLocation;
 import dungeon.location.MovementDirection;
+import dungeon.location.paths.GridTopology;
 import dungeon.location.paths.LocationAddress;
+import dungeon.location.paths.LocationAddressTable;
 import dungeon.location.paths.Path;
 import dungeon.location.weapon.Arrow;
 import dungeon.location.weapon.PunchingGloves;
 import dungeon.location.weapon.CrookedArrow;
 import dungeon.location.weapon.ShootResult;
+import dungeon.maze.generator.EdgeEnumerator;
+import dungeon.maze.generator.KruskalMazeGenerator;
+import dungeon.maze.generator.MazeGenerator;
+import dungeon.maze.generator.MazeLayout;
 import dungeon.obstacles.Berbalang;
 import dungeon.obstacles.Monster;
-import dungeon.obstacles.Obstacle;
 import dungeon.obstacles.ObstacleType;
 import dungeon.obstacles.Otyugh;
 import dungeon.obstacles.Pit;
@@ -46,10 +49,18 @@ public class DungeonMaze implements Maze {
 
     private static final int MINIMUM_DISTANCE_BETWEEN_START_END = 5;
     private static final int BEGINNING_ARROW_COUNT = 3;
+    private static final int JOURNAL_CAPACITY = 1024;
+    private static final int MAXIMUM_ORACLE_EXTRA_PATHS = 16;
+    private static final int ROUTE_HINT_STRETCH = 2;
+    private static final MovementDirection[] DIRECTIONS = MovementDirection.values();
+    private static final EnumSet<ChangeType> ROUTE_CHANGES = EnumSet.of(ChangeType.TREASURE_TAKEN,
+            ChangeType.OTYUGH_DAMAGED, ChangeType.THIEF_FLED, ChangeType.GAME_RESET);
     private final boolean wrapping;
     private final int degreeOfInterconnectivity;
     private final LocationAddress startLocation;
-    private final Location[][] copyMap;
+    private final DungeonGrid grid;
+    private final LocationAddressTable addressTable;
+    private final GridTopology topology;
     private final int treasurePercentage;
     private final int numberOfThieves;
     private final int numberOfPits;
@@ -58,19 +69,26 @@ public class DungeonMaze implements Maze {
     private final int numberOfColumns;
     private final Player player;
     private final int numberOfMonsters;
-    private final Map<LocationAddress, Set<LocationAddress>> adjacency;
-    private final Map<LocationAddress, Set<Collectible>> locationTreasureMap;
-    private final Map<LocationAddress, Set<Obstacle>> locationObstacleMap;
-    private final List<LocationAddress> arrowLocations;
     private final boolean hasMovingMonster;
-    private final List<Path> connectedPaths;
-    private Set<LocationAddress> visitedLocations;
-    private Location[][] map;
-    private List<LocationAddress> indexOfCaves;
-    private List<LocationAddress> indexOfLocations;
+    private final List<Berbalang> berbalangs;
+    private final int[] berbalangCells;
+    private final int[] fallenBerbalangs;
+    private final Map<Long, RouteHint> routeHints;
+    private final BitSet visitedLocations;
+    private final ChangeJournal journal;
+    private final int[] berbalangNeighbours;
+    private int[] caveCells;
+    private AdjacencyGraph adjacency;
+    private GraphSearch graphSearch;
+    private DistanceOracle distanceOracle;
+    private RoutePlanner routePlanner;
+    private long routeHintVersion;
+    private int routeHintVisits;
+    private int routeBudgetCell;
+    private int routeBudget;
+    private List<Path> connectedPaths;
     private LocationAddress endLocation;
     private GameState gameState;
-    private Berbalang berbalang;
     private boolean canMove;
 
     /**
@@ -115,12 +133,79 @@ public class DungeonMaze implements Maze {
                        boolean setWrapping, int treasurePercentage, int difficulty,
                        int numberOfThieves, int numberOfPits, boolean movingMonster,
                        RandomGenerator randomGenerator) {
+        this(numberOfRows, numberOfColumns, degreeOfInterconnectivity, setWrapping,
+                treasurePercentage, difficulty, numberOfThieves, numberOfPits, movingMonster,
+                randomGenerator, new KruskalMazeGenerator()
+        );
+    }
 
-        validateParameters(numberOfRows, numberOfColumns, degreeOfInterconnectivity,
-                treasurePercentage, difficulty, numberOfThieves, numberOfPits);
+    /**
+     * Constructs a Dungeon Maze with the provided number of rows and columns along with the specified
+     * degree of interconnectivity, the paths of the maze are laid out by the given maze generator.
+     *
+     * @param numberOfRows              number of rows in the maze.
+     * @param numberOfColumns           number of columns in the maze.
+     * @param degreeOfInterconnectivity degree of connectivity of the maze.
+     * @param setWrapping               whether the maze is wrapping or not.
+     * @param treasurePercentage        the minimum percentage of caves that need to have treasures.
+     * @param difficulty                the number of monsters in the maze.
+     * @param numberOfThieves           the number of thieves to be inserted in the dungeon.
+     * @param numberOfPits              the number of pits to be inserted in the dungeon.
+     * @param movingMonster             whether the dungeon would have a berbalang or not.
+     * @param randomGenerator           encapsulates the methods to generate and pick random values.
+     * @param mazeGenerator             the algorithm that lays out the paths of the maze.
+     */
+    public DungeonMaze(int numberOfRows, int numberOfColumns, int degreeOfInterconnectivity,
+                       boolean setWrapping, int treasurePercentage, int difficulty,
+                       int numberOfThieves, int numberOfPits, boolean movingMonster,
+                       RandomGenerator randomGenerator, MazeGenerator mazeGenerator) {
+        this(numberOfRows, numberOfColumns, degreeOfInterconnectivity, setWrapping,
+                treasurePercentage, difficulty, numberOfThieves, numberOfPits, movingMonster ? 1 : 0,
+                randomGenerator, mazeGenerator
+        );
+    }
 
-        this.map = new Location[numberOfRows][numberOfColumns];
-        this.copyMap = new Location[numberOfRows][numberOfColumns];
+    /**
+     * Constructs a Dungeon Maze with the provided number of rows and columns along with the specified
+     * degree of interconnectivity, the paths of the maze are laid out by the given maze generator. The
+     * dungeon has a horde of the given number of Berbalangs, they all chase the player and take
+     * their turns one after the other in the order in which they were placed.
+     *
+     * @param numberOfRows              number of rows in the maze.
+     * @param numberOfColumns           number of columns in the maze.
+     * @param degreeOfInterconnectivity degree of connectivity of the maze.
+     * @param setWrapping               whether the maze is wrapping or not.
+     * @param treasurePercentage        the minimum percentage of caves that need to have treasures.
+     * @param difficulty                the number of monsters in the maze.
+     * @param numberOfThieves           the number of thieves to be inserted in the dungeon.
+     * @param numberOfPits              the number of pits to be inserted in the dungeon.
+     * @param numberOfBerbalangs        the number of Berbalangs to be inserted in the dungeon.
+     * @param randomGenerator           encapsulates the methods to generate and pick random values.
+     * @param mazeGenerator             the algorithm that lays out the paths of the maze.
+     */
+    public DungeonMaze(int numberOfRows, int numberOfColumns, int degreeOfInterconnectivity,
+                       boolean setWrapping, int treasurePercentage, int difficulty,
+                       int numberOfThieves, int numberOfPits, int numberOfBerbalangs,
+                       RandomGenerator randomGenerator, MazeGenerator mazeGenerator) {
+
+        if (randomGenerator == null || mazeGenerator == null) {
+            throw new IllegalArgumentException("Random Generator and Maze Generator are required "
+                    + "to build the dungeon.");
+        }
+
+        validateParameters(numberOfRows, numberOfColumns, degreeOfInterconnectivity, setWrapping,
+                treasurePercentage, difficulty, numberOfThieves, numberOfPits, numberOfBerbalangs);
+
+        this.grid = new DungeonGrid(numberOfRows, numberOfColumns);
+        this.addressTable = grid.getAddressTable();
+        this.topology = new GridTopology(addressTable, setWrapping);
+        this.journal = new ChangeJournal(addressTable, JOURNAL_CAPACITY);
+        this.berbalangNeighbours = new int[DIRECTIONS.length * numberOfBerbalangs];
+        this.berbalangs = new ArrayList<>(numberOfBerbalangs);
+        this.berbalangCells = new int[numberOfRows * numberOfColumns];
+        this.fallenBerbalangs = new int[numberOfRows * numberOfColumns];
+        this.routeHints = new HashMap<>();
+        this.routeBudgetCell = -1;
         this.randomGenerator = randomGenerator;
         this.wrapping = setWrapping;
         this.degreeOfInterconnectivity = degreeOfInterconnectivity;
@@ -130,138 +215,84 @@ public class DungeonMaze implements Maze {
         this.numberOfMonsters = difficulty;
         this.numberOfThieves = numberOfThieves;
         this.numberOfPits = numberOfPits;
-        this.visitedLocations = new LinkedHashSet<>();
-        this.adjacency = new LinkedHashMap<>();
-        this.connectedPaths = new ArrayList<>();
-        this.hasMovingMonster = movingMonster;
+        this.visitedLocations = new BitSet(numberOfRows * numberOfColumns);
+        this.hasMovingMonster = numberOfBerbalangs > 0;
         this.canMove = true;
-        this.locationTreasureMap = new LinkedHashMap<>();
-        this.locationObstacleMap = new LinkedHashMap<>();
-        this.arrowLocations = new ArrayList<>();
 
-        generateMap(setWrapping, numberOfRows, numberOfColumns, degreeOfInterconnectivity);
+        generateMap(mazeGenerator, setWrapping, numberOfRows, numberOfColumns,
+                degreeOfInterconnectivity);
 
-        this.startLocation = indexOfCaves.get(randomGenerator.getRandomNumberBetween(0,
-                indexOfCaves.size() - 1));
-        this.visitedLocations.add(startLocation);
-        createAdjacencyList();
+        PlacementPlanner placementPlanner = new PlacementPlanner(numberOfRows * numberOfColumns,
+                caveCells);
+        RandomGenerator treasureRandom = randomGenerator.getStream(RandomStream.TREASURE);
+        placementPlanner.placeTreasure(treasurePercentage, treasureRandom);
+        placementPlanner.placeArrows(treasurePercentage, treasureRandom);
+
+        this.startLocation = addressTable.getAddress(caveCells[randomGenerator
+                .getStream(RandomStream.LAYOUT).getRandomNumberBetween(0, caveCells.length - 1)]);
+        this.visitedLocations.set(getCellId(startLocation));
         generateEndLocation();
-        addMonsterToDungeon();
-        addPitToDungeon();
-        addThiefToDungeon();
-
-        for (Location[] locations : map) {
-            for (Location location : locations) {
-                locationTreasureMap.put(location.getAddress(), location.getTreasures());
-                if (location.isHasArrow()) {
-                    arrowLocations.add(location.getAddress());
-                }
-                locationObstacleMap.put(location.getAddress(), location.getAllObstacles());
-            }
-        }
+        placementPlanner.reserve(getCellId(startLocation));
+        placementPlanner.reserve(getCellId(endLocation));
+
+        RandomGenerator monsterRandom = randomGenerator.getStream(RandomStream.MONSTERS);
+        placementPlanner.placeOtyughs(numberOfMonsters - 1, monsterRandom);
+        placementPlanner.add(getCellId(endLocation), PlacementPlanner.OTYUGH);
+        placementPlanner.placePits(numberOfPits, monsterRandom);
+        placementPlanner.placeThieves(numberOfThieves, monsterRandom);
+        applyPlacements(placementPlanner);
 
-        if (movingMonster) {
-            LocationAddress berbalangStartLocation = randomGenerator.pickNRandom(indexOfLocations, 1)
-                    .get(0);
-            this.berbalang = new Berbalang(100, randomGenerator, berbalangStartLocation, numberOfRows,
-                    numberOfColumns, wrapping);
+        if (hasMovingMonster) {
+            int[] berbalangStartCells = randomGenerator.getStream(RandomStream.MONSTERS)
+                    .pickNRandomIndexes(numberOfRows * numberOfColumns, numberOfBerbalangs);
+            for (int berbalangStartCell : berbalangStartCells) {
+                berbalangs.add(new Berbalang(100,
+                        randomGenerator.getStream(RandomStream.BERBALANG_COMBAT),
+                        addressTable.getAddress(berbalangStartCell), topology));
+            }
         }
-        player = new MazePlayer(startLocation, numberOfRows, numberOfColumns, wrapping,
-                BEGINNING_ARROW_COUNT, new PunchingGloves(randomGenerator));
+        placeBerbalangs();
+        player = new MazePlayer(startLocation, topology, BEGINNING_ARROW_COUNT,
+                new PunchingGloves(randomGenerator.getStream(RandomStream.PUNCHING_GLOVES)));
 
         gameState = GameState.PLAYING;
     }
 
 
-    private void addPitToDungeon() {
-        if (numberOfPits != 0) {
-            List<LocationAddress> potentialCavesWithPits = new ArrayList<>(indexOfCaves);
-            potentialCavesWithPits.remove(startLocation);
-            potentialCavesWithPits.remove(endLocation);
-
-            potentialCavesWithPits = potentialCavesWithPits.stream().filter(locationAddress ->
-                            getLocationFromAddress(locationAddress).getOtyugh() == null)
-                    .collect(Collectors.toList());
-
-            potentialCavesWithPits = randomGenerator.pickNRandom(potentialCavesWithPits,
-                    Math.min(numberOfThieves, potentialCavesWithPits.size()));
-
-
-            potentialCavesWithPits.forEach(locationAddress -> getLocationFromAddress(locationAddress)
-                    .addPit(new Pit(locationAddress)));
-
-        }
-    }
-
-    private void addThiefToDungeon() {
-        if (numberOfThieves != 0) {
-            List<LocationAddress> potentialLocationWithThief = new ArrayList<>(indexOfLocations);
-            potentialLocationWithThief.remove(startLocation);
-            potentialLocationWithThief.remove(endLocation);
-
-            potentialLocationWithThief = potentialLocationWithThief.stream().filter(locationAddress ->
-                            getLocationFromAddress(locationAddress).getOtyugh() == null
-                                    && getLocationFromAddress(locationAddress).getPit() == null)
-                    .collect(Collectors.toList());
-
-            potentialLocationWithThief = randomGenerator.pickNRandom(potentialLocationWithThief,
-                    Math.min(numberOfThieves, potentialLocationWithThief.size()));
-
-
-            potentialLocationWithThief.forEach(locationAddress -> getLocationFromAddress(locationAddress)
-                    .addThief(new Thief(locationAddress)));
-
-        }
-    }
-
     @Override
     public Location[][] getMazeMap() {
-        Location[][] defensiveCopyMap = new Location[numberOfRows][numberOfColumns];
-
-        for (int i = 0; i < map.length; i++) {
-            for (int j = 0; j < map[i].length; j++) {
-                defensiveCopyMap[i][j] = new MazeLocation(map[i][j]);
-            }
-        }
+        return grid.getSnapshot().toArray();
+    }
 
-        return defensiveCopyMap;
+    @Override
+    public MapSnapshot getMapSnapshot() {
+        return grid.getSnapshot();
     }
 
     @Override
     public void resetGame() {
 
-        for (Location[] locations : copyMap) {
-            for (Location location : locations) {
-                if (locationObstacleMap.get(location.getAddress()) != null
-                        && !locationObstacleMap.get(location.getAddress()).isEmpty()) {
-                    locationObstacleMap.get(location.getAddress()).forEach(obstacle -> {
-                        if (obstacle.getObstacleType() == ObstacleType.OTYUGH) {
-                            ((Monster) obstacle).reset();
-                        }
-                    });
-                    location.addObstacles(locationObstacleMap.get(location.getAddress()));
-                }
-                if (locationTreasureMap.get(location.getAddress()) != null
-                        && !locationTreasureMap.get(location.getAddress()).isEmpty()) {
-                    location.addTreasure(locationTreasureMap.get(location.getAddress()));
-                }
-                if (arrowLocations.contains(location.getAddress())) {
-                    location.addArrow();
-                }
-            }
-        }
-
-        map = copyMap;
-        adjacency.clear();
-        createAdjacencyList();
+        grid.restoreInitialState();
         player.reset();
-        visitedLocations = new LinkedHashSet<>();
-        visitedLocations.add(startLocation);
+        visitedLocations.clear();
+        visitedLocations.set(getCellId(startLocation));
         gameState = GameState.PLAYING;
         canMove = true;
-        if (hasMovingMonster) {
+        for (Berbalang berbalang : berbalangs) {
             berbalang.reset();
         }
+        placeBerbalangs();
+        journal.record(ChangeType.GAME_RESET, getCellId(startLocation));
+    }
+
+    @Override
+    public long getVersion() {
+        return journal.getVersion();
+    }
+
+    @Override
+    public List<MazeChange> getChangesSince(long version) {
+        return journal.getChangesSince(version);
     }
 
     @Override
@@ -316,7 +347,19 @@ public class DungeonMaze implements Maze {
 
     @Override
     public LocationAddress getBerbalangLocation() {
-        return berbalang.getLocation();
+        Berbalang berbalang = getFocusedBerbalang();
+        return berbalang == null ? null : berbalang.getLocation();
+    }
+
+    @Override
+    public int getNumberOfBerbalangs() {
+        return berbalangs.size();
+    }
+
+    @Override
+    public int getBerbalangHealth(int rowNumber, int columnNumber) {
+        int index = berbalangCells[grid.getCellId(rowNumber, columnNumber)];
+        return index < 0 ? -1 : berbalangs.get(index).getHealth();
     }
 
     @Override
@@ -341,17 +384,16 @@ public class DungeonMaze implements Maze {
 
     @Override
     public ObstacleType jumpPlayer(MovementDirection movementDirection) {
-        Location playerCurrentLocation = getLocationFromAddress(player.getCurrentLocation());
-        if (!playerCurrentLocation.getOpenings().contains(movementDirection)) {
+        if (!hasOpening(player.getCurrentCellId(), movementDirection)) {
             throw new IllegalArgumentException("Player cannot jump " + movementDirection
                     + ", there is no opening available");
         }
         player.move(movementDirection);
-        Location playerUpdatedLocation = getLocationFromAddress(player.getCurrentLocation());
-        if (!playerUpdatedLocation.getOpenings().contains(movementDirection)) {
+        if (!hasOpening(player.getCurrentCellId(), movementDirection)) {
             player.move(movementDirection.getOpposite());
         }
-        visitedLocations.add(player.getCurrentLocation());
+        visitedLocations.set(player.getCurrentCellId());
+        journal.record(ChangeType.PLAYER_MOVED, player.getCurrentCellId());
         return movePlayer(movementDirection);
     }
 
@@ -366,38 +408,40 @@ public class DungeonMaze implements Maze {
             throw new IllegalArgumentException("Cannot move the player away from this!");
         }
 
-        Location playerCurrentLocation = getLocationFromAddress(player.getCurrentLocation());
-        if (!playerCurrentLocation.getOpenings().contains(movementDirection)) {
+        int currentCell = player.getCurrentCellId();
+        if (!hasOpening(currentCell, movementDirection)) {
             throw new IllegalArgumentException("Player cannot move " + movementDirection.toString()
                     .toLowerCase(Locale.ROOT) + ", there is no opening available");
-        } else if (player.getCurrentLocation().equals(endLocation)
-                && !playerCurrentLocation.getOtyugh().isAlive()) {
+        } else if (currentCell == getCellId(endLocation) && !getOtyugh(currentCell).isAlive()) {
             throw new IllegalStateException("The game is over, the player already escaped the dungeon.");
         }
 
-        if (playerCurrentLocation.getThief() != null) {
-            playerCurrentLocation.makeThiefEscapeDungeon();
+        if (grid.getObstacle(currentCell, ObstacleType.THIEF) != null) {
+            grid.removeObstacle(currentCell, ObstacleType.THIEF);
+            journal.record(ChangeType.THIEF_FLED, currentCell);
         }
 
-        if (hasMovingMonster && berbalang.isAlive()) {
-            moveBerbalang();
+        if (hasMovingMonster) {
+            moveBerbalangs();
         }
         player.move(movementDirection);
 
-        Location playerUpdatedLocation = getLocationFromAddress(player.getCurrentLocation());
-        visitedLocations.add(playerUpdatedLocation.getAddress());
-        if (hasMovingMonster && berbalang.getLocation().equals(playerUpdatedLocation.getAddress())
-                && berbalang.isAlive()) {
+        int updatedCell = player.getCurrentCellId();
+        visitedLocations.set(player.getCurrentCellId());
+        journal.record(ChangeType.PLAYER_MOVED, updatedCell);
+        Berbalang berbalang = getBerbalang(updatedCell);
+        if (berbalang != null && berbalang.isAlive()) {
             canMove = false;
         } else {
-            if (playerUpdatedLocation.getOtyugh() != null) {
-                Monster monster = playerUpdatedLocation.getOtyugh();
+            Monster monster = getOtyugh(updatedCell);
+            if (monster != null) {
                 if (monster.isAlive() && monster.getHealth() == 100) {
                     player.takeDamage(monster.attack());
                     gameState = GameState.LOSE;
                     return ObstacleType.OTYUGH;
                 } else if (monster.isAlive() && monster.getHealth() == 50) {
-                    boolean escape = randomGenerator.getRandomNumberBetween(0, 1) == 1;
+                    boolean escape = randomGenerator.getStream(RandomStream.MONSTERS)
+                            .getRandomNumberBetween(0, 1) == 1;
                     if (!escape) {
                         player.takeDamage(monster.attack());
                         gameState = GameState.LOSE;
@@ -405,18 +449,18 @@ public class DungeonMaze implements Maze {
                         gameState = GameState.PLAYING;
                     }
                     return ObstacleType.INJURED_OTYUGH;
-                } else if (playerCurrentLocation.getAddress().equals(endLocation)) {
+                } else if (currentCell == getCellId(endLocation)) {
                     gameState = GameState.WIN;
                     return ObstacleType.DEAD_OTYUGH;
                 }
             }
 
-            if (playerUpdatedLocation.getPit() != null) {
+            if (grid.getObstacle(updatedCell, ObstacleType.PIT) != null) {
                 gameState = GameState.LOSE;
                 return ObstacleType.PIT;
             }
 
-            if (playerUpdatedLocation.getThief() != null) {
+            if (grid.getObstacle(updatedCell, ObstacleType.THIEF) != null) {
                 player.emptyTreasure();
                 return ObstacleType.THIEF;
             }
@@ -433,14 +477,17 @@ public class DungeonMaze implements Maze {
     @Override
     public void hitBerbalang() {
         if (hasMovingMonster) {
-            if (!player.getCurrentLocation().equals(berbalang.getLocation())) {
+            Berbalang berbalang = getBerbalang(player.getCurrentCellId());
+            if (berbalang == null) {
                 throw new
                         IllegalStateException("There is no berbalang in this location, player cannot hit");
             } else if (!berbalang.isAlive()) {
                 throw new IllegalStateException("The berbalang is already dead, you can move now!");
             }
             berbalang.takeDamage(player.getWeapon());
+            journal.record(ChangeType.BERBALANG_DAMAGED, berbalang.getCellId());
             if (!berbalang.isAlive()) {
+                fallenBerbalangs[berbalang.getCellId()] = berbalangCells[berbalang.getCellId()];
                 canMove = true;
             } else {
                 player.takeDamage(berbalang.attack());
@@ -457,7 +504,7 @@ public class DungeonMaze implements Maze {
         if (!hasMovingMonster) {
             throw new IllegalArgumentException("This Dungeon does not have a Barbalang");
         }
-        return berbalang.getHealth();
+        return getFocusedBerbalang().getHealth();
     }
 
     @Override
@@ -477,12 +524,12 @@ public class DungeonMaze implements Maze {
 
     @Override
     public List<Path> getConnectedPaths() {
-        return new ArrayList<>(connectedPaths);
+        return connectedPaths;
     }
 
     @Override
     public Location getPlayerCurrentLocation() {
-        return new MazeLocation(getLocationFromAddress(player.getCurrentLocation()));
+        return new MazeLocation(grid.getLocation(player.getCurrentCellId()));
     }
 
     @Override
@@ -500,20 +547,19 @@ public class DungeonMaze implements Maze {
     @Override
     public ShootResult shootArrow(int distance, MovementDirection direction) {
         player.fireArrow(distance);
-        if (!getLocationFromAddress(player.getCurrentLocation()).getOpenings().contains(direction)) {
+        if (!hasOpening(player.getCurrentCellId(), direction)) {
             throw new IllegalArgumentException("There is no opening towards " + direction
                     + ", an arrow is wasted.");
         }
 
-        Arrow arrow = new CrookedArrow(player.getCurrentLocation(), isWrapping(), map);
+        Arrow arrow = new CrookedArrow(player.getCurrentLocation(), grid, topology);
 
         arrow.shoot(distance, direction, player.getWeapon());
 
-        if (getLocationFromAddress(arrow.getCurrentLocation()).getOtyugh() != null
-                && arrow.getDistanceTravelled() == distance
-                && getLocationFromAddress(arrow.getCurrentLocation()).getOtyugh().isAlive()) {
-            Monster monster = getLocationFromAddress(arrow.getCurrentLocation()).getOtyugh();
+        Monster monster = getOtyugh(getCellId(arrow.getCurrentLocation()));
+        if (monster != null && arrow.getDistanceTravelled() == distance && monster.isAlive()) {
             monster.takeDamage(arrow);
+            journal.record(ChangeType.OTYUGH_DAMAGED, getCellId(arrow.getCurrentLocation()));
             return new ShootResult(true, arrow.getCurrentLocation());
         } else {
             return new ShootResult(false, arrow.getCurrentLocation());
@@ -524,26 +570,25 @@ public class DungeonMaze implements Maze {
     public int detectSmell() {
         int smell = 0;
 
-        Set<MovementDirection> currentLocationOpenings =
-                getLocationFromAddress(player.getCurrentLocation()).getOpenings();
-
-        for (MovementDirection currentLocationOpening : currentLocationOpenings) {
-            Location neighbouringLocation =
-                    getLocationFromDirection(currentLocationOpening, player.getCurrentLocation());
-            if (neighbouringLocation.getOtyugh() != null
-                    && neighbouringLocation.getOtyugh().isAlive()) {
+        int currentCell = player.getCurrentCellId();
+        for (MovementDirection currentLocationOpening : DIRECTIONS) {
+            if (!hasOpening(currentCell, currentLocationOpening)) {
+                continue;
+            }
+            int neighbouringCell = getNeighbour(currentCell, currentLocationOpening);
+            if (hasLiveOtyugh(neighbouringCell)) {
                 smell = smell + 2;
                 break;
             }
-            Set<MovementDirection> neighbouringLocationOpenings = neighbouringLocation.getOpenings();
-            Set<Location> visitedNodes = new LinkedHashSet<>();
-            for (MovementDirection neighbouringLocationOpening : neighbouringLocationOpenings) {
-                Location twoAwayLocation =
-                        getLocationFromDirection(neighbouringLocationOpening,
-                                neighbouringLocation.getAddress());
-                if (!visitedNodes.contains(twoAwayLocation) && twoAwayLocation.getOtyugh() != null
-                        && twoAwayLocation.getOtyugh().isAlive()) {
-                    visitedNodes.add(twoAwayLocation);
+            int visitedNodes = 0;
+            for (MovementDirection neighbouringLocationOpening : DIRECTIONS) {
+                if (!hasOpening(neighbouringCell, neighbouringLocationOpening)) {
+                    continue;
+                }
+                int twoAwayCell = getNeighbour(neighbouringCell, neighbouringLocationOpening);
+                if (!isSmelledFrom(neighbouringCell, twoAwayCell, visitedNodes)
+                        && hasLiveOtyugh(twoAwayCell)) {
+                    visitedNodes |= neighbouringLocationOpening.getMask();
                     smell++;
                 }
             }
@@ -554,12 +599,10 @@ public class DungeonMaze implements Maze {
     @Override
     public int detectWindLevel() {
         int wind = 0;
-        Set<MovementDirection> currentLocationOpenings =
-                getLocationFromAddress(player.getCurrentLocation()).getOpenings();
-        for (MovementDirection currentLocationOpening : currentLocationOpenings) {
-            Location neighbouringLocation =
-                    getLocationFromDirection(currentLocationOpening, player.getCurrentLocation());
-            if (neighbouringLocation.getPit() != null) {
+        int currentCell = player.getCurrentCellId();
+        for (MovementDirection currentLocationOpening : DIRECTIONS) {
+            if (hasOpening(currentCell, currentLocationOpening) && grid.getObstacle(
+                    getNeighbour(currentCell, currentLocationOpening), ObstacleType.PIT) != null) {
                 wind = wind + 1;
                 break;
             }
@@ -574,7 +617,99 @@ public class DungeonMaze implements Maze {
 
     @Override
     public Set<LocationAddress> getVisitedLocations() {
-        return new LinkedHashSet<>(visitedLocations);
+        return new VisitedLocationSet(visitedLocations, addressTable);
+    }
+
+    @Override
+    public boolean isVisited(int rowNumber, int columnNumber) {
+        return visitedLocations.get(grid.getCellId(rowNumber, columnNumber));
+    }
+
+    @Override
+    public int getDistance(int fromRow, int fromColumn, int toRow, int toColumn) {
+        int from = grid.getCellId(fromRow, fromColumn);
+        int to = grid.getCellId(toRow, toColumn);
+        if (adjacency.getNumberOfPaths() - (adjacency.getNumberOfCells() - 1)
+                > MAXIMUM_ORACLE_EXTRA_PATHS) {
+            return graphSearch.getDistance(from, to);
+        }
+        if (distanceOracle == null) {
+            distanceOracle = new DistanceOracle(adjacency);
+        }
+        return distanceOracle.getDistance(from, to);
+    }
+
+    @Override
+    public int getPlayerRow() {
+        return player.getCurrentCellId() / numberOfColumns;
+    }
+
+    @Override
+    public int getPlayerColumn() {
+        return player.getCurrentCellId() % numberOfColumns;
+    }
+
+    @Override
+    public int getOpeningsMask(int rowNumber, int columnNumber) {
+        return grid.getOpenings(grid.getCellId(rowNumber, columnNumber));
+    }
+
+    @Override
+    public boolean hasArrow(int rowNumber, int columnNumber) {
+        return grid.hasArrow(grid.getCellId(rowNumber, columnNumber));
+    }
+
+    @Override
+    public int getTreasureMask(int rowNumber, int columnNumber) {
+        return grid.getTreasures(grid.getCellId(rowNumber, columnNumber));
+    }
+
+    @Override
+    public int getObstacleMask(int rowNumber, int columnNumber) {
+        return grid.getObstacleMask(grid.getCellId(rowNumber, columnNumber));
+    }
+
+    @Override
+    public int getOtyughHealth(int rowNumber, int columnNumber) {
+        Monster otyugh = getOtyugh(grid.getCellId(rowNumber, columnNumber));
+        return otyugh == null ? -1 : otyugh.getHealth();
+    }
+
+    @Override
+    public RouteHint getRouteHint(int maxSteps) {
+        if (maxSteps < 0) {
+            throw new IllegalArgumentException("The number of steps of a route cannot be negative.");
+        }
+        if (routePlanner == null) {
+            routePlanner = new RoutePlanner(adjacency, grid);
+        }
+        int visits = visitedLocations.cardinality();
+        if (journal.hasChangedSince(routeHintVersion, ROUTE_CHANGES) || visits != routeHintVisits) {
+            routeHints.clear();
+        }
+        routeHintVersion = journal.getVersion();
+        routeHintVisits = visits;
+
+        int playerCell = player.getCurrentCellId();
+        long key = (long) playerCell << Integer.SIZE | maxSteps;
+        RouteHint routeHint = routeHints.get(key);
+        if (routeHint == null) {
+            routeHint = routePlanner.plan(playerCell, getCellId(endLocation), maxSteps,
+                    visitedLocations);
+            routeHints.put(key, routeHint);
+        }
+        return routeHint;
+    }
+
+    @Override
+    public RouteHint getRouteHint() {
+        int playerCell = player.getCurrentCellId();
+        if (playerCell != routeBudgetCell) {
+            routeBudget = ROUTE_HINT_STRETCH
+                    * graphSearch.getDistance(playerCell, getCellId(endLocation));
+            routeBudgetCell = playerCell;
+        }
+        return getRouteHint(routeBudget);
     }
 
     @Override
@@ -583,10 +718,13 @@ public class DungeonMaze implements Maze {
     }
 
     private void validateParameters(int numberOfRows, int numberOfColumns,
-                                    int degreeOfInterconnectivity, int treasurePercentage,
-                                    int numberOfOtyughs, int numberOfThieves, int numberOfPits) {
+                                    int degreeOfInterconnectivity, boolean setWrapping,
+                                    int treasurePercentage, int numberOfOtyughs,
+                                    int numberOfThieves, int numberOfPits,
+                                    int numberOfBerbalangs) {
         if (degreeOfInterconnectivity < 0 || degreeOfInterconnectivity
-                > (calculateNumberOfPotentialPaths(numberOfRows, numberOfColumns, wrapping))) {
+                > (calculateNumberOfPotentialPaths(numberOfRows, numberOfColumns, setWrapping)
+                - (numberOfRows * numberOfColumns - 1))) {
             throw new IllegalArgumentException("Degree of interconnectivity cannot be less than 0 or "
                     + "more than the minimum possible number of connections.");
         }
@@ -622,448 +760,226 @@ public class DungeonMaze implements Maze {
             throw new IllegalArgumentException("Number of pits cannot be more than the number of"
                     + " locations or less than 0.");
         }
+
+        if (numberOfBerbalangs > (numberOfColumns * numberOfRows) || numberOfBerbalangs < 0) {
+            throw new IllegalArgumentException("Number of berbalangs cannot be more than the number"
+                    + " of locations or less than 0.");
+        }
     }
 
     private void collectTreasure(Collectible collectible) {
-        if (getLocationFromAddress(player.getCurrentLocation()).getTreasures().isEmpty()) {
+        int currentCell = player.getCurrentCellId();
+        if (grid.getTreasures(currentCell) == 0) {
             throw new IllegalStateException("There is no treasure in the current location.");
         }
-        if (getLocationFromAddress(player.getCurrentLocation()).getTreasures().contains(collectible)) {
+        if ((grid.getTreasures(currentCell) & 1 << collectible.ordinal()) != 0) {
             player.collectTreasure(collectible);
-            getLocationFromAddress(player.getCurrentLocation()).markTreasureCollected(collectible);
+            grid.removeTreasures(currentCell, 1 << collectible.ordinal());
+            journal.record(ChangeType.TREASURE_TAKEN, currentCell);
         } else {
             throw new IllegalStateException("There are no " + collectible + " in this location");
         }
     }
 
     private void collectArrow() {
-        if (getLocationFromAddress(player.getCurrentLocation()).isHasArrow()) {
+        if (grid.hasArrow(player.getCurrentCellId())) {
             player.addArrow();
-            getLocationFromAddress(player.getCurrentLocation()).markArrowCollected();
+            grid.removeArrow(player.getCurrentCellId());
+            journal.record(ChangeType.ARROW_TAKEN, player.getCurrentCellId());
         } else {
             throw new IllegalStateException("There are no arrows in this location");
         }
     }
 
     private int calculateNumberOfPotentialPaths(int r, int c, boolean isWrapping) {
-        int noOfPotentialPaths = ((((r * c) - (r + c - 1)) * 2) + ((r - 1) + (c - 1)));
-        if (isWrapping) {
-            return noOfPotentialPaths + r + c;
-        } else {
-            return noOfPotentialPaths;
-        }
+        return EdgeEnumerator.countPotentialPaths(r, c, isWrapping);
     }
 
     private void generateEndLocation() {
-        this.endLocation = indexOfCaves.get(randomGenerator.getRandomNumberBetween(0,
-                indexOfCaves.size() - 1));
-        if (getDistanceBetweenTwoLocations(startLocation, endLocation, adjacency)
-                < MINIMUM_DISTANCE_BETWEEN_START_END) {
-            generateEndLocation();
-        }
-    }
-
-    private void generateMap(boolean setWrapping, int numberOfRows, int numberOfColumns,
-                             int degreeOfInterconnectivity) {
-
-        List<Path> potentialPaths = new ArrayList<>();
-
-        for (int i = 0; i < numberOfRows; i++) {
-            for (int j = 0; j < numberOfColumns; j++) {
-                if (j + 1 < numberOfColumns) {
-                    Path path = new Path(new LocationAddress(i, j),
-                            new LocationAddress(i, j + 1));
-                    if (!potentialPaths.contains(path)) {
-                        potentialPaths.add(path);
-                    }
-                } else if (j + 1 >= numberOfColumns && setWrapping) {
-                    Path path = new Path(new LocationAddress(i, j),
-                            new LocationAddress(i, 0));
-                    if (!potentialPaths.contains(path)) {
-                        potentialPaths.add(path);
-                    }
-                }
-
-                if (j - 1 >= 0) {
-                    Path path = new Path(new LocationAddress(i, j),
-                            new LocationAddress(i, j - 1));
-                    if (!potentialPaths.contains(path)) {
-                        potentialPaths.add(path);
-                    }
-                } else if (setWrapping) {
-                    Path path = new Path(new LocationAddress(i, j),
-                            new LocationAddress(i, numberOfColumns - 1));
-                    if (!potentialPaths.contains(path)) {
-                        potentialPaths.add(path);
-                    }
-                }
-
-                if (i + 1 < numberOfRows) {
-                    Path path = new Path(new LocationAddress(i, j),
-                            new LocationAddress(i + 1, j));
-                    if (!potentialPaths.contains(path)) {
-                        potentialPaths.add(path);
-                    }
-                } else if (i + 1 >= numberOfRows && setWrapping) {
-                    Path path = new Path(new LocationAddress(i, j),
-                            new LocationAddress(0, j));
-                    if (!potentialPaths.contains(path)) {
-                        potentialPaths.add(path);
-                    }
-                }
-
-                if (i - 1 >= 0) {
-                    Path path = new Path(new LocationAddress(i, j),
-                            new LocationAddress(i - 1, j));
-                    if (!potentialPaths.contains(path)) {
-                        potentialPaths.add(path);
-                    }
-                } else if (setWrapping) {
-                    Path path = new Path(new LocationAddress(i, j),
-                            new LocationAddress(numberOfRows - 1, j));
-                    if (!potentialPaths.contains(path)) {
-                        potentialPaths.add(path);
-                    }
-                }
-
-                map[i][j] = new MazeLocation(i, j);
+        graphSearch.search(getCellId(startLocation));
+        int[] potentialEndCells = new int[caveCells.length];
+        int numberOfPotentialEndCells = 0;
+        for (int cave : caveCells) {
+            if (graphSearch.getDistance(cave) >= MINIMUM_DISTANCE_BETWEEN_START_END) {
+                potentialEndCells[numberOfPotentialEndCells++] = cave;
             }
         }
 
-        generateConnectionsBetweenPaths(new ArrayList<>(potentialPaths), degreeOfInterconnectivity);
-
-        for (int i = 0; i < map.length; i++) {
-            for (int j = 0; j < map[i].length; j++) {
-                copyMap[i][j] = new MazeLocation(map[i][j]);
-            }
+        if (numberOfPotentialEndCells == 0) {
+            throw new IllegalStateException("There is no cave at a distance of at least "
+                    + MINIMUM_DISTANCE_BETWEEN_START_END + " from the start location, try a "
+                    + "larger dungeon or a lower degree of interconnectivity.");
         }
 
-        populateLocationsAndCavesList();
-        addTreasureToMap();
-        addArrowsToMap();
+        RandomGenerator layoutRandom = randomGenerator.getStream(RandomStream.LAYOUT);
+        int cave = caveCells[layoutRandom.getRandomNumberBetween(0, caveCells.length - 1)];
+        if (graphSearch.getDistance(cave) < MINIMUM_DISTANCE_BETWEEN_START_END) {
+            cave = potentialEndCells[layoutRandom.getRandomNumberBetween(0,
+                    numberOfPotentialEndCells - 1)];
+        }
+        this.endLocation = addressTable.getAddress(cave);
     }
 
-    private void generateConnectionsBetweenPaths(List<Path> potentialPaths,
-                                                 int degreeOfInterconnectivity) {
-        List<Set<LocationAddress>> connectedLocationSets = new ArrayList<>();
+    private void generateMap(MazeGenerator mazeGenerator, boolean setWrapping, int numberOfRows,
+                             int numberOfColumns, int degreeOfInterconnectivity) {
 
-        List<Path> remainderPaths = new ArrayList<>();
+        MazeLayout mazeLayout = mazeGenerator.generate(numberOfRows, numberOfColumns, setWrapping,
+                degreeOfInterconnectivity, randomGenerator.getStream(RandomStream.LAYOUT));
 
-        while (!potentialPaths.isEmpty()) {
-            Path randomPath = potentialPaths.get(randomGenerator.getRandomNumberBetween(0,
-                    potentialPaths.size() - 1));
-            if (checkPathBetweenLocations(connectedLocationSets, randomPath)) {
-                remainderPaths.add(randomPath);
-            } else {
-                connectedPaths.add(randomPath);
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                grid.addOpenings(grid.getCellId(i, j), mazeLayout.getOpenings(i, j));
             }
-            potentialPaths.remove(randomPath);
         }
 
-        if (degreeOfInterconnectivity != 0) {
-            connectedPaths.addAll(randomGenerator.pickNRandom(remainderPaths, degreeOfInterconnectivity));
-        }
+        EdgeEnumerator edgeEnumerator = new EdgeEnumerator(numberOfRows, numberOfColumns,
+                setWrapping);
+        int[] connectedPathIds = mazeLayout.getConnectedPaths();
+        connectedPaths = new ConnectedPathList(connectedPathIds, edgeEnumerator, addressTable);
+        adjacency = new AdjacencyGraph(edgeEnumerator, connectedPathIds);
+        graphSearch = new GraphSearch(adjacency);
 
-        connectedPaths.forEach(this::applyPathsToLocation);
+        populateCaves();
     }
 
-    private boolean checkPathBetweenLocations(List<Set<LocationAddress>> connectedLocationSets,
-                                              Path path) {
-
-        for (int i = 0; i < connectedLocationSets.size(); i++) {
-            if (connectedLocationSets.get(i).contains(path.getLocationOne())
-                    && connectedLocationSets.get(i).contains(path.getLocationTwo())) {
-                return true;
-            } else if (connectedLocationSets.get(i).contains(path.getLocationOne())) {
-                for (int j = 0; j < connectedLocationSets.size(); j++) {
-                    if (connectedLocationSets.get(j).contains(path.getLocationTwo())) {
-                        connectedLocationSets.get(i).addAll(connectedLocationSets.get(j));
-                        connectedLocationSets.remove(connectedLocationSets.get(j));
-                        return false;
-                    }
-                }
-                connectedLocationSets.get(i).add(path.getLocationTwo());
-                return false;
-            } else if (connectedLocationSets.get(i).contains(path.getLocationTwo())) {
-                for (int j = 0; j < connectedLocationSets.size(); j++) {
-                    if (connectedLocationSets.get(j).contains(path.getLocationOne())) {
-                        connectedLocationSets.get(i).addAll(connectedLocationSets.get(j));
-                        connectedLocationSets.remove(connectedLocationSets.get(j));
-                        return false;
-                    }
-                }
-                connectedLocationSets.get(i).add(path.getLocationOne());
-                return false;
+    private void populateCaves() {
+        int numberOfCaves = 0;
+        for (int cellId = 0; cellId < grid.getNumberOfCells(); cellId++) {
+            if (grid.isCave(cellId)) {
+                numberOfCaves++;
             }
         }
 
-        Set<LocationAddress> locationAddressSet = new LinkedHashSet<>();
-        locationAddressSet.add(path.getLocationOne());
-        locationAddressSet.add(path.getLocationTwo());
-        connectedLocationSets.add(locationAddressSet);
-        return false;
-    }
-
-    private void applyPathsToLocation(Path path) {
-        int r1 = path.getLocationOne().getRowNumber();
-        int c1 = path.getLocationOne().getColumnNumber();
-
-        int r2 = path.getLocationTwo().getRowNumber();
-        int c2 = path.getLocationTwo().getColumnNumber();
-
-        if (isWrapping()) {
-            if (r1 == 0 && r2 == numberOfRows - 1 && c1 == c2) {
-                getLocationFromAddress(path.getLocationOne()).addOpenings(MovementDirection.NORTH);
-                getLocationFromAddress(path.getLocationTwo()).addOpenings(MovementDirection.SOUTH);
-            } else if (r2 == 0 && r1 == numberOfRows - 1 && c1 == c2) {
-                getLocationFromAddress(path.getLocationOne()).addOpenings(MovementDirection.SOUTH);
-                getLocationFromAddress(path.getLocationTwo()).addOpenings(MovementDirection.NORTH);
-            }
-
-            if (c1 == 0 && c2 == numberOfColumns - 1 && r1 == r2) {
-                getLocationFromAddress(path.getLocationOne()).addOpenings(MovementDirection.WEST);
-                getLocationFromAddress(path.getLocationTwo()).addOpenings(MovementDirection.EAST);
-            } else if (c2 == 0 && c1 == numberOfColumns - 1 && r1 == r2) {
-                getLocationFromAddress(path.getLocationOne()).addOpenings(MovementDirection.EAST);
-                getLocationFromAddress(path.getLocationTwo()).addOpenings(MovementDirection.WEST);
+        caveCells = new int[numberOfCaves];
+        for (int cellId = 0, cave = 0; cellId < grid.getNumberOfCells(); cellId++) {
+            if (grid.isCave(cellId)) {
+                caveCells[cave++] = cellId;
             }
         }
-
-        if ((r1 > r2) && !(r2 == 0 && r1 == numberOfRows - 1)) {
-            getLocationFromAddress(path.getLocationOne()).addOpenings(MovementDirection.NORTH);
-            getLocationFromAddress(path.getLocationTwo()).addOpenings(MovementDirection.SOUTH);
-        } else if ((r2 > r1) && !(r1 == 0 && r2 == numberOfRows - 1)) {
-            getLocationFromAddress(path.getLocationOne()).addOpenings(MovementDirection.SOUTH);
-            getLocationFromAddress(path.getLocationTwo()).addOpenings(MovementDirection.NORTH);
-        }
-
-        if ((c1 > c2) && !(c2 == 0 && c1 == numberOfColumns - 1)) {
-            getLocationFromAddress(path.getLocationOne()).addOpenings(MovementDirection.WEST);
-            getLocationFromAddress(path.getLocationTwo()).addOpenings(MovementDirection.EAST);
-        } else if ((c2 > c1) && !(c1 == 0 && c2 == numberOfColumns - 1)) {
-            getLocationFromAddress(path.getLocationOne()).addOpenings(MovementDirection.EAST);
-            getLocationFromAddress(path.getLocationTwo()).addOpenings(MovementDirection.WEST);
-        }
-
     }
 
-    private void populateLocationsAndCavesList() {
-        indexOfCaves = new ArrayList<>();
-
-        indexOfLocations = new ArrayList<>();
-
-        for (int i = 0; i < map.length; i++) {
-            Location[] locations = map[i];
-            for (int j = 0; j < locations.length; j++) {
-                indexOfLocations.add(new LocationAddress(i, j));
-                Location location = locations[j];
-                if (location.getType() == LocationType.CAVE) {
-                    indexOfCaves.add(new LocationAddress(i, j));
-                }
+    private void applyPlacements(PlacementPlanner placementPlanner) {
+        for (int cellId = 0; cellId < grid.getNumberOfCells(); cellId++) {
+            int occupancy = placementPlanner.getOccupancy(cellId);
+            grid.addTreasures(cellId, placementPlanner.getTreasures(cellId));
+            if ((occupancy & PlacementPlanner.ARROW) != 0) {
+                grid.addArrow(cellId);
+            }
+            if ((occupancy & PlacementPlanner.OTYUGH) != 0) {
+                grid.addObstacle(cellId, new Otyugh(100, addressTable.getAddress(cellId)));
+            }
+            if ((occupancy & PlacementPlanner.PIT) != 0) {
+                grid.addObstacle(cellId, new Pit(addressTable.getAddress(cellId)));
+            }
+            if ((occupancy & PlacementPlanner.THIEF) != 0) {
+                grid.addObstacle(cellId, new Thief(addressTable.getAddress(cellId)));
             }
         }
+        grid.saveInitialState();
     }
 
-    private void addTreasureToMap() {
-
-        int minimumCavesWithTreasure = Math.round((float) treasurePercentage / 100
-                * indexOfCaves.size());
-
-        List<LocationAddress> cavesWithTreasures = randomGenerator.pickNRandom(indexOfCaves,
-                minimumCavesWithTreasure);
-
-        List<Collectible> potentialCollectibles
-                = List.of(Collectible.DIAMONDS, Collectible.RUBIES, Collectible.SAPPHIRES);
-
-        cavesWithTreasures.forEach(locationAddress -> {
-            getLocationFromAddress(locationAddress)
-                    .addTreasure(new LinkedHashSet<>(randomGenerator.pickNRandom(potentialCollectibles,
-                            randomGenerator.getRandomNumberBetween(1, 3))));
-        });
+    private int getCellId(LocationAddress address) {
+        return address.getRowNumber() * numberOfColumns + address.getColumnNumber();
+    }
 
+    private int getNeighbour(int cellId, MovementDirection direction) {
+        return topology.getNeighbour(cellId, direction);
     }
 
-    private void addArrowsToMap() {
-        int cavesWithArrows = Math.round((float) treasurePercentage / 100
-                * indexOfLocations.size());
+    private boolean hasOpening(int cellId, MovementDirection direction) {
+        return (grid.getOpenings(cellId) & direction.getMask()) != 0;
+    }
 
-        List<LocationAddress> locationsWithArrows = randomGenerator.pickNRandom(indexOfLocations,
-                cavesWithArrows);
+    private Monster getOtyugh(int cellId) {
+        return (Monster) grid.getObstacle(cellId, ObstacleType.OTYUGH);
+    }
 
-        locationsWithArrows.forEach(location -> getLocationFromAddress(location).addArrow());
+    private boolean hasLiveOtyugh(int cellId) {
+        Monster otyugh = getOtyugh(cellId);
+        return otyugh != null && otyugh.isAlive();
     }
 
-    private void addMonsterToDungeon() {
-        if (numberOfMonsters != 1) {
-            List<LocationAddress> cavesWithMonsters = new ArrayList<>(indexOfCaves);
-            cavesWithMonsters.remove(startLocation);
-            cavesWithMonsters.remove(endLocation);
-            int numberOfMonstersToBeAddedToDungeon;
-            if (numberOfMonsters > cavesWithMonsters.size()) {
-                numberOfMonstersToBeAddedToDungeon = cavesWithMonsters.size();
-            } else {
-                numberOfMonstersToBeAddedToDungeon = numberOfMonsters - 1;
+    private boolean isSmelledFrom(int cellId, int twoAwayCell, int smelledDirections) {
+        for (MovementDirection direction : DIRECTIONS) {
+            if ((smelledDirections & direction.getMask()) != 0
+                    && getNeighbour(cellId, direction) == twoAwayCell) {
+                return true;
             }
-            cavesWithMonsters = randomGenerator.pickNRandom(cavesWithMonsters,
-                    numberOfMonstersToBeAddedToDungeon);
-            cavesWithMonsters.forEach(address ->
-                    getLocationFromAddress(address).addMonster(new Otyugh(100, address)));
         }
-        getLocationFromAddress(endLocation).addMonster(new Otyugh(100, endLocation));
+        return false;
     }
 
-    private void moveBerbalang() {
-
-        Map<MovementDirection, Integer> directionDistanceMap = new LinkedHashMap<>();
-
-        getLocationFromAddress(berbalang.getLocation()).getOpenings().forEach(direction ->
-                directionDistanceMap.put(direction,
-                        getDistanceBetweenTwoLocations(player.getCurrentLocation(),
-                                getLocationFromDirection(direction, berbalang.getLocation())
-                                        .getAddress(), adjacency)));
+    private Berbalang getBerbalang(int cellId) {
+        int index = berbalangCells[cellId];
+        return index < 0 ? null : berbalangs.get(index);
+    }
 
-        if (Collections.min(directionDistanceMap.values()) != 0) {
-            berbalang.move(getMinKey(directionDistanceMap, MovementDirection.NORTH,
-                    MovementDirection.SOUTH, MovementDirection.EAST, MovementDirection.WEST));
+    private Berbalang getFocusedBerbalang() {
+        Berbalang berbalang = getBerbalang(player.getCurrentCellId());
+        if (berbalang == null && !berbalangs.isEmpty()) {
+            berbalang = berbalangs.get(0);
         }
-
-
+        return berbalang;
     }
 
-    private MovementDirection getMinKey(Map<MovementDirection, Integer> map,
-                                        MovementDirection... keys) {
-        Optional<Map.Entry<MovementDirection, Integer>> directionOptional = map.entrySet().stream()
-                .filter(p -> Arrays.asList(keys).contains(p.getKey()))
-                .min(Comparator.comparingInt(Map.Entry::getValue));
-        MovementDirection direction = keys[0];
-        if (directionOptional.isPresent()) {
-            direction = directionOptional.get().getKey();
+    private void placeBerbalangs() {
+        Arrays.fill(berbalangCells, -1);
+        Arrays.fill(fallenBerbalangs, -1);
+        for (int index = 0; index < berbalangs.size(); index++) {
+            berbalangCells[berbalangs.get(index).getCellId()] = index;
         }
-        return direction;
-    }
-
-    private Location getLocationFromDirection(MovementDirection direction, LocationAddress address) {
-        LocationAddress currentLocation;
-        switch (direction) {
-            case WEST: {
-                if (wrapping && address.getColumnNumber() == 0) {
-                    currentLocation = new LocationAddress(address.getRowNumber(),
-                            numberOfColumns - 1);
-                } else {
-                    currentLocation
-                            = new LocationAddress(address.getRowNumber(),
-                            address.getColumnNumber() - 1);
-                }
-            }
-            break;
-
-            case EAST: {
-                if (wrapping && address.getColumnNumber() == numberOfColumns - 1) {
-                    currentLocation = new LocationAddress(address.getRowNumber(), 0);
-                } else {
-                    currentLocation
-                            = new LocationAddress(address.getRowNumber(),
-                            address.getColumnNumber() + 1);
-                }
+    }
 
+    private void moveBerbalangs() {
+        int numberOfNeighbours = 0;
+        for (Berbalang berbalang : berbalangs) {
+            if (!berbalang.isAlive()) {
+                continue;
             }
-            break;
-
-            case SOUTH: {
-                if (wrapping && address.getRowNumber() == numberOfRows - 1) {
-                    currentLocation = new LocationAddress(0, address.getColumnNumber());
-                } else {
-                    currentLocation
-                            = new LocationAddress(address.getRowNumber() + 1,
-                            address.getColumnNumber());
-                }
-            }
-            break;
-
-            case NORTH: {
-                if (wrapping && address.getRowNumber() == 0) {
-                    currentLocation = new LocationAddress(numberOfRows - 1,
-                            address.getColumnNumber());
-                } else {
-                    currentLocation = new LocationAddress(address.getRowNumber() - 1,
-                            address.getColumnNumber());
+            int berbalangCell = berbalang.getCellId();
+            for (MovementDirection direction : DIRECTIONS) {
+                if (hasOpening(berbalangCell, direction)) {
+                    berbalangNeighbours[numberOfNeighbours++] = getNeighbour(berbalangCell, direction);
                 }
             }
-            break;
-
-            default: {
-                currentLocation = new LocationAddress(address.getRowNumber(), address.getColumnNumber());
-            }
-            break;
         }
-
-        return map[currentLocation.getRowNumber()][currentLocation.getColumnNumber()];
-    }
-
-    private Location getLocationFromAddress(LocationAddress address) {
-        return map[address.getRowNumber()][address.getColumnNumber()];
-    }
-
-    private int getDistanceBetweenTwoLocations(LocationAddress start, LocationAddress end,
-                                               Map<LocationAddress, Set<LocationAddress>> adjacency) {
-        if (start.equals(end)) {
-            return 0;
+        if (numberOfNeighbours == 0) {
+            return;
         }
 
-        Map<LocationAddress, Set<LocationAddress>> adjacencyMap = new LinkedHashMap<>(adjacency);
-        LinkedList<LocationAddress> queue = new LinkedList<>();
-        List<LocationAddress> visited = new ArrayList<>();
-        List<LocationAddress> traversed = new ArrayList<>();
-
-        visited.add(start);
-        queue.add(start);
-
-        while (queue.size() != 0) {
-            start = queue.poll();
-            traversed.add(start);
-            for (LocationAddress locationAddress : adjacencyMap.get(start)) {
-                if (!visited.contains(locationAddress)) {
-                    visited.add(locationAddress);
-                    queue.add(locationAddress);
-                }
-            }
-        }
-
-        int endIndex = traversed.indexOf(end);
-        List<LocationAddress> path = new ArrayList<>();
-        path.add(traversed.get(endIndex));
-        LocationAddress last = traversed.get(endIndex);
-        for (int i = endIndex - 1; i >= 0; i--) {
-            if (adjacencyMap.get(last).contains(traversed.get(i))) {
-                path.add(traversed.get(i));
-                last = traversed.get(i);
+        graphSearch.search(player.getCurrentCellId(), berbalangNeighbours, numberOfNeighbours);
+        for (int index = 0; index < berbalangs.size(); index++) {
+            Berbalang berbalang = berbalangs.get(index);
+            if (berbalang.isAlive()) {
+                moveBerbalang(berbalang, index);
             }
         }
-
-        return (path.size() - 1);
     }
 
-    private void createAdjacencyList() {
-        for (Path path : connectedPaths) {
-            Set<LocationAddress> adjacencyList;
-
-            if (adjacency.get(path.getLocationOne()) != null) {
-                adjacencyList = adjacency.get(path.getLocationOne());
-            } else {
-                adjacencyList = new LinkedHashSet<>();
-            }
-
-            adjacencyList.add(path.getLocationTwo());
-            adjacency.put(path.getLocationOne(), adjacencyList);
-
-            if (adjacency.get(path.getLocationTwo()) != null) {
-                adjacencyList = adjacency.get(path.getLocationTwo());
-            } else {
-                adjacencyList = new LinkedHashSet<>();
+    private void moveBerbalang(Berbalang berbalang, int index) {
+        int berbalangCell = berbalang.getCellId();
+        MovementDirection closestDirection = null;
+        int closestDistance = Integer.MAX_VALUE;
+        for (MovementDirection direction : DIRECTIONS) {
+            if (hasOpening(berbalangCell, direction)) {
+                int neighbour = getNeighbour(berbalangCell, direction);
+                int holder = berbalangCells[neighbour];
+                if (holder >= 0 && holder != index && berbalangs.get(holder).isAlive()) {
+                    continue;
+                }
+                int distance = graphSearch.getTracedDistance(neighbour);
+                if (distance < closestDistance) {
+                    closestDistance = distance;
+                    closestDirection = direction;
+                }
             }
+        }
 
-            adjacencyList.add(path.getLocationOne());
-            adjacency.put(path.getLocationTwo(), adjacencyList);
+        if (closestDirection != null && closestDistance != 0) {
+            berbalangCells[berbalangCell] = fallenBerbalangs[berbalangCell];
+            berbalang.move(closestDirection);
+            berbalangCells[berbalang.getCellId()] = index;
+            journal.record(ChangeType.BERBALANG_MOVED, berbalang.getCellId());
         }
     }
 }
@@ -0,0 +1,247 @@
+package dungeon.maze;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * The DungeonPool keeps dungeons that are generated ahead of time in the background, so that a new
+ * game with the same parameters as a recent one can start without waiting for the dungeon to be
+ * built. A few dungeons are kept for every set of parameters, and only the most recently used sets
+ * of parameters are remembered, the least recently used one is dropped along with its dungeons once
+ * there are too many. Taking a dungeon from the pool is a constant time operation which schedules
+ * the pool to be refilled, a dungeon is only built on the calling thread when none is ready.
+ */
+public class DungeonPool {
+
+    private static final int DEFAULT_DUNGEONS_PER_PARAMETERS = 2;
+
+    private static final int DEFAULT_MAXIMUM_PARAMETERS = 4;
+
+    private final int dungeonsPerParameters;
+
+    private final Executor executor;
+
+    private final Map<Parameters, Entry> entries;
+
+    /**
+     * Constructs a pool that keeps two dungeons for each of the four most recently used sets of
+     * parameters and builds them on a background thread of its own.
+     */
+    public DungeonPool() {
+        this(DEFAULT_DUNGEONS_PER_PARAMETERS, DEFAULT_MAXIMUM_PARAMETERS,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "dungeon-pool");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    /**
+     * Constructs a pool that holds at most dungeonsPerParameters * maximumParameters dungeons that
+     * are ready to be played, apart from the ones that are being built.
+     *
+     * @param dungeonsPerParameters the number of dungeons kept for every set of parameters.
+     * @param maximumParameters     the number of sets of parameters that are remembered.
+     * @param executor              runs the generation of the dungeons.
+     */
+    public DungeonPool(int dungeonsPerParameters, int maximumParameters, Executor executor) {
+        if (dungeonsPerParameters <= 0 || maximumParameters <= 0) {
+            throw new IllegalArgumentException("The pool should hold at least one dungeon.");
+        }
+
+        if (executor == null) {
+            throw new IllegalArgumentException("An executor is required to build the dungeons.");
+        }
+
+        this.dungeonsPerParameters = dungeonsPerParameters;
+        this.executor = executor;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Parameters, Entry> eldest) {
+                if (size() > maximumParameters) {
+                    eldest.getValue().evicted = true;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a dungeon built with the given parameters, taking it from the pool when one is ready
+     * and building it otherwise. Either way the pool is refilled in the background.
+     *
+     * @param numberOfRows              number of rows in the maze.
+     * @param numberOfColumns           number of columns in the maze.
+     * @param degreeOfInterconnectivity degree of connectivity of the maze.
+     * @param setWrapping               whether the maze is wrapping or not.
+     * @param treasurePercentage        the minimum percentage of caves that need to have treasures.
+     * @param difficulty                the number of monsters in the maze.
+     * @param numberOfThieves           the number of thieves to be inserted in the dungeon.
+     * @param numberOfPits              the number of pits to be inserted in the dungeon.
+     * @param movingMonster             whether the dungeon would have a berbalang or not.
+     * @return a dungeon that has not been played yet.
+     * @throws IllegalArgumentException if the parameters cannot build a dungeon.
+     */
+    public Maze take(int numberOfRows, int numberOfColumns, int degreeOfInterconnectivity,
+                     boolean setWrapping, int treasurePercentage, int difficulty,
+                     int numberOfThieves, int numberOfPits, boolean movingMonster) {
+        Parameters parameters = new Parameters(numberOfRows, numberOfColumns,
+                degreeOfInterconnectivity, setWrapping, treasurePercentage, difficulty,
+                numberOfThieves, numberOfPits, movingMonster);
+
+        Maze dungeon = null;
+        synchronized (this) {
+            Entry entry = entries.get(parameters);
+            if (entry != null) {
+                dungeon = entry.ready.poll();
+            }
+        }
+
+        if (dungeon == null) {
+            dungeon = parameters.build();
+        }
+        refill(parameters);
+        return dungeon;
+    }
+
+    /**
+     * Starts building dungeons with the given parameters in the background, so that they are ready
+     * by the time they are taken.
+     *
+     * @param numberOfRows              number of rows in the maze.
+     * @param numberOfColumns           number of columns in the maze.
+     * @param degreeOfInterconnectivity degree of connectivity of the maze.
+     * @param setWrapping               whether the maze is wrapping or not.
+     * @param treasurePercentage        the minimum percentage of caves that need to have treasures.
+     * @param difficulty                the number of monsters in the maze.
+     * @param numberOfThieves           the number of thieves to be inserted in the dungeon.
+     * @param numberOfPits              the number of pits to be inserted in the dungeon.
+     * @param movingMonster             whether the dungeon would have a berbalang or not.
+     */
+    public void prepare(int numberOfRows, int numberOfColumns, int degreeOfInterconnectivity,
+                        boolean setWrapping, int treasurePercentage, int difficulty,
+                        int numberOfThieves, int numberOfPits, boolean movingMonster) {
+        refill(new Parameters(numberOfRows, numberOfColumns, degreeOfInterconnectivity,
+                setWrapping, treasurePercentage, difficulty, numberOfThieves, numberOfPits,
+                movingMonster));
+    }
+
+    /**
+     * Returns the number of dungeons that are ready to be taken from the pool.
+     *
+     * @return the number of ready dungeons.
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (Entry entry : entries.values()) {
+            size += entry.ready.size();
+        }
+        return size;
+    }
+
+    private void refill(Parameters parameters) {
+        Entry entry;
+        int refills;
+        synchronized (this) {
+            entry = entries.computeIfAbsent(parameters, key -> new Entry());
+            refills = dungeonsPerParameters - entry.ready.size() - entry.pending;
+            entry.pending += Math.max(0, refills);
+        }
+
+        for (int i = 0; i < refills; i++) {
+            executor.execute(() -> build(parameters, entry));
+        }
+    }
+
+    private void build(Parameters parameters, Entry entry) {
+        Maze dungeon = null;
+        try {
+            dungeon = parameters.build();
+        } catch (IllegalArgumentException | IllegalStateException exception) {
+            // The dungeon could not be built, it will be built again when it is taken.
+        }
+
+        synchronized (this) {
+            entry.pending--;
+            if (dungeon != null && !entry.evicted) {
+                entry.ready.add(dungeon);
+            }
+        }
+    }
+
+    /**
+     * The dungeons that are ready or being built for a set of parameters.
+     */
+    private static final class Entry {
+
+        private final ArrayDeque<Maze> ready = new ArrayDeque<>();
+        private int pending;
+        private boolean evicted;
+    }
+
+    /**
+     * The parameters that a dungeon is built with.
+     */
+    private static final class Parameters {
+
+        private final int numberOfRows;
+        private final int numberOfColumns;
+        private final int degreeOfInterconnectivity;
+        private final boolean setWrapping;
+        private final int treasurePercentage;
+        private final int difficulty;
+        private final int numberOfThieves;
+        private final int numberOfPits;
+        private final boolean movingMonster;
+
+        private Parameters(int numberOfRows, int numberOfColumns, int degreeOfInterconnectivity,
+                           boolean setWrapping, int treasurePercentage, int difficulty,
+                           int numberOfThieves, int numberOfPits, boolean movingMonster) {
+            this.numberOfRows = numberOfRows;
+            this.numberOfColumns = numberOfColumns;
+            this.degreeOfInterconnectivity = degreeOfInterconnectivity;
+            this.setWrapping = setWrapping;
+            this.treasurePercentage = treasurePercentage;
+            this.difficulty = difficulty;
+            this.numberOfThieves = numberOfThieves;
+            this.numberOfPits = numberOfPits;
+            this.movingMonster = movingMonster;
+        }
+
+        private Maze build() {
+            return new DungeonMaze(numberOfRows, numberOfColumns, degreeOfInterconnectivity,
+                    setWrapping, treasurePercentage, difficulty, numberOfThieves, numberOfPits,
+                    movingMonster);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Parameters that = (Parameters) o;
+
+            return numberOfRows == that.numberOfRows && numberOfColumns == that.numberOfColumns
+                    && degreeOfInterconnectivity == that.degreeOfInterconnectivity
+                    && setWrapping == that.setWrapping
+                    && treasurePercentage == that.treasurePercentage
+                    && difficulty == that.difficulty && numberOfThieves == that.numberOfThieves
+                    && numberOfPits == that.numberOfPits && movingMonster == that.movingMonster;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(numberOfRows, numberOfColumns, degreeOfInterconnectivity,
+                    setWrapping, treasurePercentage, difficulty, numberOfThieves, numberOfPits,
+                    movingMonster);
+        }
+    }
+}
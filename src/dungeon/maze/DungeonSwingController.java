@@ -18,6 +18,8 @@ public class DungeonSwingController implements DungeonGuiController {
 
     private DungeonView dungeonView;
 
+    private final DungeonPool dungeonPool;
+
     /**
      * Constructs a Controller that is used for a Gui based game. This constructor takes a read-write
      * version of the model and an instance of the view to play the game.
@@ -26,6 +28,19 @@ public class DungeonSwingController implements DungeonGuiController {
      * @param dungeonView      instance of the view.
      */
     public DungeonSwingController(Maze dungeonMazeModel, DungeonView dungeonView) {
+        this(dungeonMazeModel, dungeonView, new DungeonPool());
+    }
+
+    /**
+     * Constructs a Controller that is used for a Gui based game, the dungeons for a restart of the
+     * game are taken from the given pool, which starts preparing dungeons like the current one.
+     *
+     * @param dungeonMazeModel read-write variant of the model.
+     * @param dungeonView      instance of the view.
+     * @param dungeonPool      the pool of dungeons that are ready to be played.
+     */
+    public DungeonSwingController(Maze dungeonMazeModel, DungeonView dungeonView,
+                                  DungeonPool dungeonPool) {
         if (dungeonMazeModel == null) {
             throw new IllegalArgumentException("Model cannot be null, assign a proper maze model.");
         }
@@ -35,8 +50,19 @@ public class DungeonSwingController implements DungeonGuiController {
                     + " try a console controller instead.");
         }
 
+        if (dungeonPool == null) {
+            throw new IllegalArgumentException("Dungeon pool cannot be null.");
+        }
+
         this.dungeonMazeModel = dungeonMazeModel;
         this.dungeonView = dungeonView;
+        this.dungeonPool = dungeonPool;
+        dungeonPool.prepare(dungeonMazeModel.getNumberOfRows(),
+                dungeonMazeModel.getNumberOfColumns(),
+                dungeonMazeModel.getDegreeOfInterconnectivity(), dungeonMazeModel.isWrapping(),
+                dungeonMazeModel.getTreasurePercentage(), dungeonMazeModel.getDifficulty(),
+                dungeonMazeModel.getNumberOfThieves(), dungeonMazeModel.getNumberOfPits(),
+                dungeonMazeModel.hasMovingMonster());
     }
 
     @Override
@@ -131,7 +157,7 @@ public class DungeonSwingController implements DungeonGuiController {
                                   int degreeOfInterconnectivity, boolean setWrapping,
                                   int treasurePercentage, int difficulty, int numberOfPits,
                                   int numberOfThieves, boolean hasMovingMonster) {
-        Maze dungeonMazeModel = new DungeonMaze(numberOfRows, numberOfColumns,
+        Maze dungeonMazeModel = dungeonPool.take(numberOfRows, numberOfColumns,
                 degreeOfInterconnectivity, setWrapping, treasurePercentage, difficulty, numberOfThieves,
                 numberOfPits, hasMovingMonster);
         this.dungeonMazeModel = dungeonMazeModel;
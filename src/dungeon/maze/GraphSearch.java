@@ -0,0 +1,268 @@
+package dungeon.maze;
+
+import java.util.Arrays;
+
+/**
+ * The GraphSearch runs breadth first searches over an {@link AdjacencyGraph} and keeps all of its
+ * working state in arrays that are allocated once for the graph, so a search creates no garbage.
+ * The locations reached by a search are marked with the number of the search instead of a flag,
+ * which lets the next search start without clearing the arrays of the previous one.
+ *
+ * <p>The queue of the search holds every reached location once and is never rewound, so once a
+ * search is over it also holds the order in which the locations were visited. After a search from
+ * a location, the distance, the parent on a shortest path and the position in the visiting order
+ * of every location can be asked for in constant time until the next search is run.
+ *
+ * <p>A GraphSearch is not safe for use by more than one thread at a time.
+ */
+public final class GraphSearch {
+
+    private final AdjacencyGraph graph;
+
+    private final int[] stamps;
+
+    private final int[] distances;
+
+    private final int[] parents;
+
+    private final int[] queue;
+
+    private final int[] positions;
+
+    private final int[] targetStamps;
+
+    private final int[] tracedStamps;
+
+    private final int[] tracedDistances;
+
+    private final int[] trace;
+
+    private int epoch;
+
+    private int source = -1;
+
+    private int size;
+
+    private int remainingTargets;
+
+    /**
+     * Constructs a search engine for the given graph.
+     *
+     * @param graph the graph of the connected locations of the dungeon.
+     */
+    public GraphSearch(AdjacencyGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("The search requires a graph.");
+        }
+        this.graph = graph;
+        int numberOfCells = graph.getNumberOfCells();
+        this.stamps = new int[numberOfCells];
+        this.distances = new int[numberOfCells];
+        this.parents = new int[numberOfCells];
+        this.queue = new int[numberOfCells];
+        this.positions = new int[numberOfCells];
+        this.targetStamps = new int[numberOfCells];
+        this.tracedStamps = new int[numberOfCells];
+        this.tracedDistances = new int[numberOfCells];
+        this.trace = new int[numberOfCells];
+    }
+
+    /**
+     * Searches the whole graph from the given location.
+     *
+     * @param sourceCell the cell id of the location to search from.
+     */
+    public void search(int sourceCell) {
+        begin(sourceCell);
+        remainingTargets = Integer.MAX_VALUE;
+        run();
+    }
+
+    /**
+     * Searches the graph from the given location until all of the targets are reached, so only the
+     * locations that are not farther from the source than the farthest target are searched. The
+     * queries of the search are exact for every target and every location visited before it.
+     *
+     * @param sourceCell      the cell id of the location to search from.
+     * @param targetCells     the cell ids of the targets.
+     * @param numberOfTargets the number of targets at the start of the array.
+     */
+    public void search(int sourceCell, int[] targetCells, int numberOfTargets) {
+        if (targetCells == null || numberOfTargets < 0 || numberOfTargets > targetCells.length) {
+            throw new IllegalArgumentException("Invalid targets for the search.");
+        }
+        begin(sourceCell);
+        for (int index = 0; index < numberOfTargets; index++) {
+            markTarget(targetCells[index]);
+        }
+        run();
+    }
+
+    /**
+     * Returns the number of paths on a shortest route between the two locations, the search stops
+     * as soon as the target is reached.
+     *
+     * @param sourceCell the cell id of the location to search from.
+     * @param targetCell the cell id of the location to search for.
+     * @return the distance between the locations, or -1 if the target cannot be reached.
+     */
+    public int getDistance(int sourceCell, int targetCell) {
+        begin(sourceCell);
+        markTarget(targetCell);
+        run();
+        return getDistance(targetCell);
+    }
+
+    /**
+     * Returns the distance of the location from the source of the last search.
+     *
+     * @param cellId the cell id of the location.
+     * @return the distance from the source, or -1 if the last search did not reach the location.
+     */
+    public int getDistance(int cellId) {
+        return isReached(cellId) ? distances[cellId] : -1;
+    }
+
+    /**
+     * Returns the location that comes before the given location on a shortest route from the source
+     * of the last search.
+     *
+     * @param cellId the cell id of the location.
+     * @return the cell id of the parent, or -1 for the source and the locations that were not
+     *         reached.
+     */
+    public int getParent(int cellId) {
+        return isReached(cellId) ? parents[cellId] : -1;
+    }
+
+    /**
+     * Fills the array with the distance of every location from the source, the locations that
+     * cannot be reached get a distance of -1.
+     *
+     * @param sourceCell the cell id of the location to search from.
+     * @param field      the array to be filled, it should have a slot for every location.
+     * @return the filled array.
+     */
+    public int[] getDistanceField(int sourceCell, int[] field) {
+        if (field == null || field.length != stamps.length) {
+            throw new IllegalArgumentException("The distance field should have a slot for every "
+                    + "location.");
+        }
+        search(sourceCell);
+        for (int cellId = 0; cellId < field.length; cellId++) {
+            field[cellId] = getDistance(cellId);
+        }
+        return field;
+    }
+
+    /**
+     * Returns the length of the route that is traced back from the target through the locations
+     * visited before it by the last search, stepping every time to the neighbour that was visited
+     * latest. This is the distance that the Berbalang uses to chase the player, it is never shorter
+     * than the shortest distance and can be longer when two neighbours are at the same distance.
+     * The traced route of a location continues along the traced route of the neighbour it steps to,
+     * so the lengths are kept until the next search and every location is traced back only once,
+     * which makes tracing from many targets after a single search linear in the searched locations.
+     *
+     * @param targetCell the cell id of the location to trace back from.
+     * @return the length of the traced route, or 0 if the last search did not reach the target.
+     */
+    public int getTracedDistance(int targetCell) {
+        if (!isReached(targetCell)) {
+            return 0;
+        }
+        int length = 0;
+        int last = targetCell;
+        while (tracedStamps[last] != epoch) {
+            int latest = getLatestVisitedBefore(last);
+            if (latest < 0) {
+                tracedStamps[last] = epoch;
+                tracedDistances[last] = 0;
+                break;
+            }
+            trace[length++] = last;
+            last = queue[latest];
+        }
+        int distance = tracedDistances[last];
+        while (length > 0) {
+            int cellId = trace[--length];
+            distance++;
+            tracedStamps[cellId] = epoch;
+            tracedDistances[cellId] = distance;
+        }
+        return distance;
+    }
+
+    private int getLatestVisitedBefore(int cellId) {
+        int position = positions[cellId];
+        int latest = -1;
+        for (int edge = graph.getFirstEdge(cellId); edge < graph.getEndEdge(cellId); edge++) {
+            int neighbour = graph.getTarget(edge);
+            if (isReached(neighbour) && positions[neighbour] < position
+                    && positions[neighbour] > latest) {
+                latest = positions[neighbour];
+            }
+        }
+        return latest;
+    }
+
+    private boolean isReached(int cellId) {
+        return stamps[cellId] == epoch && source >= 0;
+    }
+
+    private void begin(int sourceCell) {
+        checkCell(sourceCell);
+        nextEpoch();
+        source = sourceCell;
+        size = 0;
+        remainingTargets = 0;
+    }
+
+    private void markTarget(int targetCell) {
+        checkCell(targetCell);
+        if (targetStamps[targetCell] != epoch) {
+            targetStamps[targetCell] = epoch;
+            remainingTargets++;
+        }
+    }
+
+    private void checkCell(int cellId) {
+        if (cellId < 0 || cellId >= stamps.length) {
+            throw new IllegalArgumentException("The location " + cellId + " is not in the graph.");
+        }
+    }
+
+    private void run() {
+        visit(source, -1, 0);
+        for (int head = 0; head < size && remainingTargets > 0; head++) {
+            int current = queue[head];
+            for (int edge = graph.getFirstEdge(current); edge < graph.getEndEdge(current); edge++) {
+                int neighbour = graph.getTarget(edge);
+                if (stamps[neighbour] != epoch) {
+                    visit(neighbour, current, distances[current] + 1);
+                }
+            }
+        }
+    }
+
+    private void visit(int cellId, int parent, int distance) {
+        if (targetStamps[cellId] == epoch) {
+            remainingTargets--;
+        }
+        stamps[cellId] = epoch;
+        distances[cellId] = distance;
+        parents[cellId] = parent;
+        positions[cellId] = size;
+        queue[size++] = cellId;
+    }
+
+    private void nextEpoch() {
+        epoch++;
+        if (epoch == 0) {
+            Arrays.fill(stamps, 0);
+            Arrays.fill(targetStamps, 0);
+            Arrays.fill(tracedStamps, 0);
+            epoch = 1;
+        }
+    }
+}
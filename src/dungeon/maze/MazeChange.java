@@ -0,0 +1,86 @@
+package dungeon.maze;
+
+import java.util.Objects;
+
+import dungeon.location.paths.LocationAddress;
+
+/**
+ * This class represents a single change that was made to a location of the dungeon, along with the
+ * version that the maze moved to when the change was made. The versions of the changes go up by one
+ * with every change, so the changes made after a version are exactly the changes with a higher
+ * version.
+ */
+public class MazeChange {
+
+    private final long version;
+
+    private final ChangeType changeType;
+
+    private final LocationAddress address;
+
+    /**
+     * Represents a change made to a location of the dungeon.
+     *
+     * @param version    the version of the maze after the change.
+     * @param changeType the kind of the change.
+     * @param address    the address of the location that changed.
+     */
+    public MazeChange(long version, ChangeType changeType, LocationAddress address) {
+        if (changeType == null || address == null) {
+            throw new IllegalArgumentException("Change type and address cannot be null.");
+        }
+        this.version = version;
+        this.changeType = changeType;
+        this.address = address;
+    }
+
+    /**
+     * Returns the version of the maze after the change.
+     *
+     * @return version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the kind of the change.
+     *
+     * @return changeType.
+     */
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * Returns the address of the location that changed.
+     *
+     * @return address.
+     */
+    public LocationAddress getAddress() {
+        return address;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MazeChange that = (MazeChange) o;
+        return version == that.version && changeType == that.changeType
+                && address.equals(that.address);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, changeType, address);
+    }
+
+    @Override
+    public String toString() {
+        return version + ": " + changeType + " at " + address;
+    }
+}
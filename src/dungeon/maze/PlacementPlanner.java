@@ -0,0 +1,122 @@
+package dungeon.maze;
+
+import java.util.List;
+
+import dungeon.RandomGenerator;
+import dungeon.location.Collectible;
+
+/**
+ * The PlacementPlanner decides which locations of the dungeon receive treasures, arrows, Otyughs,
+ * pits and thieves before any of them is added to the locations. Every location is represented by
+ * its cell id (row * numberOfColumns + column) and the contents planned for it are kept as bits of
+ * an occupancy mask and a treasure mask, so that finding the locations that are still free for an
+ * obstacle is a scan over a byte array instead of a scan over the obstacles of every location. The
+ * dungeon applies the plan to its locations in a single pass once all the contents are placed.
+ *
+ * <p>The candidates for every kind of content are listed in the order of the cell ids, leaving out
+ * the locations that are reserved or already occupied, and are picked with
+ * {@link RandomGenerator#pickNRandomIndexes(int, int)}. This keeps the random numbers drawn the
+ * same as picking from a filtered list of the caves or of all the locations.
+ */
+class PlacementPlanner {
+
+    static final int OTYUGH = 1;
+
+    static final int PIT = 1 << 1;
+
+    static final int THIEF = 1 << 2;
+
+    static final int ARROW = 1 << 3;
+
+    static final int RESERVED = 1 << 4;
+
+    private static final List<Collectible> TREASURES
+            = List.of(Collectible.DIAMONDS, Collectible.RUBIES, Collectible.SAPPHIRES);
+
+    private final int numberOfCells;
+
+    private final int[] caves;
+
+    private final byte[] occupancy;
+
+    private final byte[] treasures;
+
+    private final int[] candidates;
+
+    /**
+     * Constructs a planner with no contents placed in any location.
+     *
+     * @param numberOfCells the number of locations in the dungeon.
+     * @param caves         the cell ids of the caves in ascending order.
+     */
+    PlacementPlanner(int numberOfCells, int[] caves) {
+        this.numberOfCells = numberOfCells;
+        this.caves = caves.clone();
+        this.occupancy = new byte[numberOfCells];
+        this.treasures = new byte[numberOfCells];
+        this.candidates = new int[numberOfCells];
+    }
+
+    void placeTreasure(int treasurePercentage, RandomGenerator randomGenerator) {
+        int cavesWithTreasure = Math.round((float) treasurePercentage / 100 * caves.length);
+        for (int index : randomGenerator.pickNRandomIndexes(caves.length, cavesWithTreasure)) {
+            int numberOfTreasures = randomGenerator.getRandomNumberBetween(1, 3);
+            for (int treasure : randomGenerator.pickNRandomIndexes(TREASURES.size(),
+                    numberOfTreasures)) {
+                treasures[caves[index]] |= 1 << TREASURES.get(treasure).ordinal();
+            }
+        }
+    }
+
+    void placeArrows(int treasurePercentage, RandomGenerator randomGenerator) {
+        int locationsWithArrows = Math.round((float) treasurePercentage / 100 * numberOfCells);
+        for (int cellId : randomGenerator.pickNRandomIndexes(numberOfCells, locationsWithArrows)) {
+            occupancy[cellId] |= ARROW;
+        }
+    }
+
+    void reserve(int cellId) {
+        occupancy[cellId] |= RESERVED;
+    }
+
+    void add(int cellId, int content) {
+        occupancy[cellId] |= content;
+    }
+
+    void placeOtyughs(int numberOfOtyughs, RandomGenerator randomGenerator) {
+        place(caves, caves.length, RESERVED, numberOfOtyughs, OTYUGH, randomGenerator);
+    }
+
+    void placePits(int numberOfPits, RandomGenerator randomGenerator) {
+        place(caves, caves.length, RESERVED | OTYUGH, numberOfPits, PIT, randomGenerator);
+    }
+
+    void placeThieves(int numberOfThieves, RandomGenerator randomGenerator) {
+        place(null, numberOfCells, RESERVED | OTYUGH | PIT, numberOfThieves, THIEF,
+                randomGenerator);
+    }
+
+    int getOccupancy(int cellId) {
+        return occupancy[cellId];
+    }
+
+    int getTreasures(int cellId) {
+        return treasures[cellId];
+    }
+
+    private void place(int[] cells, int numberOfCandidates, int excluded, int count, int content,
+                       RandomGenerator randomGenerator) {
+        int size = 0;
+        for (int i = 0; i < numberOfCandidates; i++) {
+            int cellId = cells == null ? i : cells[i];
+            if ((occupancy[cellId] & excluded) == 0) {
+                candidates[size++] = cellId;
+            }
+        }
+
+        for (int index : randomGenerator.pickNRandomIndexes(size, Math.max(0,
+                Math.min(count, size)))) {
+            occupancy[candidates[index]] |= content;
+        }
+    }
+}
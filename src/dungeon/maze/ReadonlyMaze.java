@@ -6,6 +6,7 @@ import java.util.Set;
 
 import dungeon.location.Collectible;
 import dungeon.location.Location;
+import dungeon.location.MapSnapshot;
 import dungeon.location.paths.LocationAddress;
 import dungeon.location.paths.Path;
 
@@ -104,7 +105,8 @@ public interface ReadonlyMaze {
 
     /**
      * Get the copy of the current Location of the player, this returns a copy of the player's current
-     * location in the maze grid.
+     * location in the maze grid. The per location queries of the maze read the same state without
+     * copying the location.
      *
      * @return copy of the player's current location.
      */
@@ -112,20 +114,52 @@ public interface ReadonlyMaze {
 
     /**
      * This provides a list of all the paths connected such that there exists one and only one path
-     * between 2 points when the degree of interconnectivity is 0.
+     * between 2 points when the degree of interconnectivity is 0. The list cannot be modified and
+     * checking whether it contains a path takes constant time.
      *
      * @return list of connected paths.
      */
     List<Path> getConnectedPaths();
 
     /**
-     * Returns a defensive deep copy of the maze map that is generated in the dungeon, this is useful
-     * to print in the driver class or UI.
+     * Returns the locations of the maze map that is generated in the dungeon, this is useful to print
+     * in the driver class or UI. The array is a new copy of the current map snapshot, the locations
+     * in it cannot be modified.
      *
      * @return location grid.
      */
     Location[][] getMazeMap();
 
+    /**
+     * Returns the version of the maze, the version goes up by one with every change that a move of
+     * the game makes to a location of the dungeon.
+     *
+     * @return the version of the maze.
+     */
+    long getVersion();
+
+    /**
+     * Returns the changes made to the locations of the dungeon after the given version, in the order
+     * they were made. A reader that remembers the version it last read the maze at only has to read
+     * again the locations of these changes. Only the latest changes are kept, so a reader that falls
+     * too far behind has to read the whole maze again.
+     *
+     * @param version the version after which the changes are required.
+     * @return the changes made after the version.
+     * @throws IllegalArgumentException if the maze has not been at the version.
+     * @throws IllegalStateException    if the changes since the version are no longer kept.
+     */
+    List<MazeChange> getChangesSince(long version);
+
+    /**
+     * Returns the immutable snapshot of the maze map at the current version of the dungeon. The same
+     * snapshot is shared by all readers until a location of the dungeon changes, and the next
+     * snapshot only reads again the locations that changed.
+     *
+     * @return snapshot of the maze map.
+     */
+    MapSnapshot getMapSnapshot();
+
     /**
      * This method detects the smell of the player's current location at runtime and returns an
      * integer value which specifies the level of smell in a given location.
@@ -151,13 +185,100 @@ public interface ReadonlyMaze {
     int getNumberOfArrows();
 
     /**
-     * Provides a set of visited locations, this set is updated each time the player moves and
-     * explores a new location in the dungeon.
+     * Provides an unmodifiable set of the locations visited so far, the set does not change when the
+     * player moves and explores a new location in the dungeon afterwards.
      *
      * @return set of visited location addresses.
      */
     Set<LocationAddress> getVisitedLocations();
 
+    /**
+     * Returns whether the player has visited the location at the given row and column, this is a
+     * constant time check that does not copy the visited locations.
+     *
+     * @param rowNumber    the row number of the location.
+     * @param columnNumber the column number of the location.
+     * @return true if the location has been visited.
+     */
+    boolean isVisited(int rowNumber, int columnNumber);
+
+    /**
+     * Returns the number of paths on a shortest route between the two locations. On a dungeon with a
+     * small degree of interconnectivity the first query prepares a distance oracle, after which every
+     * query takes time in the order of the degree of interconnectivity. On a more connected dungeon
+     * the oracle would cost more than it saves, so every query searches the dungeon instead.
+     *
+     * @param fromRow    the row number of a location.
+     * @param fromColumn the column number of a location.
+     * @param toRow      the row number of the other location.
+     * @param toColumn   the column number of the other location.
+     * @return the distance between the locations.
+     */
+    int getDistance(int fromRow, int fromColumn, int toRow, int toColumn);
+
+    /**
+     * Returns the row number of the player's current location.
+     *
+     * @return row number of the player.
+     */
+    int getPlayerRow();
+
+    /**
+     * Returns the column number of the player's current location.
+     *
+     * @return column number of the player.
+     */
+    int getPlayerColumn();
+
+    /**
+     * Returns the mask of the openings of the location at the given row and column, every opening
+     * sets the bit given by {@link dungeon.location.MovementDirection#getMask()}.
+     *
+     * @param rowNumber    the row number of the location.
+     * @param columnNumber the column number of the location.
+     * @return the mask of the openings.
+     */
+    int getOpeningsMask(int rowNumber, int columnNumber);
+
+    /**
+     * Returns whether there is an arrow in the location at the given row and column.
+     *
+     * @param rowNumber    the row number of the location.
+     * @param columnNumber the column number of the location.
+     * @return true if there is an arrow in the location.
+     */
+    boolean hasArrow(int rowNumber, int columnNumber);
+
+    /**
+     * Returns the mask of the treasures in the location at the given row and column, every treasure
+     * sets the bit (1 &lt;&lt; ordinal) of its {@link Collectible}.
+     *
+     * @param rowNumber    the row number of the location.
+     * @param columnNumber the column number of the location.
+     * @return the mask of the treasures.
+     */
+    int getTreasureMask(int rowNumber, int columnNumber);
+
+    /**
+     * Returns the mask of the obstacles in the location at the given row and column, every obstacle
+     * sets the bit (1 &lt;&lt; ordinal) of its {@link dungeon.obstacles.ObstacleType}. A dead
+     * Otyugh still sets its bit.
+     *
+     * @param rowNumber    the row number of the location.
+     * @param columnNumber the column number of the location.
+     * @return the mask of the obstacles.
+     */
+    int getObstacleMask(int rowNumber, int columnNumber);
+
+    /**
+     * Returns the health of the Otyugh in the location at the given row and column.
+     *
+     * @param rowNumber    the row number of the location.
+     * @param columnNumber the column number of the location.
+     * @return the health of the Otyugh, or -1 if there is no Otyugh in the location.
+     */
+    int getOtyughHealth(int rowNumber, int columnNumber);
+
     /**
      * Returns the percentage of treasure that is provided by the user while constructing the
      * DungeonMaze class. This is useful for restarting the game with the same settings.
@@ -199,19 +320,66 @@ public interface ReadonlyMaze {
 
     /**
      * Provides the location address of the current location of the Berbalang monster that is moving
-     * throughout the dungeon.
+     * throughout the dungeon. When the dungeon has more than one Berbalang, this is the Berbalang in
+     * the location of the player if there is one, otherwise the first Berbalang of the dungeon.
      *
-     * @return location address of the moving monster.
+     * @return location address of the moving monster, or null if the dungeon has no Berbalang.
      */
     LocationAddress getBerbalangLocation();
 
     /**
-     * Returns the updated health of the Berbalang monster.
+     * Returns the updated health of the Berbalang monster. When the dungeon has more than one
+     * Berbalang, this is the Berbalang in the location of the player if there is one, otherwise the
+     * first Berbalang of the dungeon.
      *
      * @return berbalang health.
      */
     int getBerbalangHealth();
 
+    /**
+     * Returns the number of Berbalangs roaming through the dungeon, dead or alive.
+     *
+     * @return number of berbalangs.
+     */
+    int getNumberOfBerbalangs();
+
+    /**
+     * Returns the health of the Berbalang in the location at the given row and column. A location
+     * never holds more than one living Berbalang, a living Berbalang can fly over a dead one and is
+     * the one reported while it is there.
+     *
+     * @param rowNumber    the row number of the location.
+     * @param columnNumber the column number of the location.
+     * @return the health of the Berbalang, or -1 if there is no Berbalang in the location.
+     */
+    int getBerbalangHealth(int rowNumber, int columnNumber);
+
+    /**
+     * Returns a hint of the route from the location of the player to the end location that passes
+     * through the caves with the most treasure within the given number of moves, staying clear of
+     * the pits, the thieves and the live Otyughs that the player knows about. A hazard is known once
+     * its location is visited, and the wind or the smell in a visited location makes every location
+     * it could come from known, the hazards the player has not come across are not given away. The
+     * hints are kept for every location and number of moves until a new location is visited, a
+     * treasure is taken, an Otyugh is hit, a thief flees or the game is reset, so asking for the
+     * hint again after the player moved back is not worked out again.
+     *
+     * @param maxSteps the largest number of moves the route can take.
+     * @return the hint of the route, without a route if the end cannot be reached in time.
+     * @throws IllegalArgumentException if the number of moves is negative.
+     */
+    RouteHint getRouteHint(int maxSteps);
+
+    /**
+     * Returns the hint of the route from the location of the player to the end location within
+     * twice the number of moves of the shortest route between them. The number of moves is worked
+     * out once for every location of the player and the hint is kept like the hints of
+     * {@link #getRouteHint(int)}, so asking for it again does not search the dungeon.
+     *
+     * @return the hint of the route, without a route if the end cannot be reached in time.
+     */
+    RouteHint getRouteHint();
+
     /**
      * Returns the updated health of the player.
      *
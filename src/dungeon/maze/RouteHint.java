@@ -0,0 +1,79 @@
+package dungeon.maze;
+
+import java.util.Collections;
+import java.util.List;
+
+import dungeon.location.paths.LocationAddress;
+
+/**
+ * This class represents a hint of the route that the player could take from its current location
+ * to the end of the dungeon, along with the number of treasures that can be picked up in the caves
+ * on the way. The route starts at the location of the player and ends at the end location, every
+ * location on it is connected to the next one by a path. A hint without a route means that the end
+ * cannot be reached within the number of steps that the hint was asked for without running into a
+ * hazard that the player knows about.
+ */
+public final class RouteHint {
+
+    private final List<LocationAddress> route;
+
+    private final int treasure;
+
+    /**
+     * Represents a route through the dungeon.
+     *
+     * @param route    the locations on the route, from the player to the end location.
+     * @param treasure the number of treasures in the caves on the route.
+     */
+    RouteHint(List<LocationAddress> route, int treasure) {
+        if (route == null) {
+            throw new IllegalArgumentException("Route cannot be null.");
+        }
+        this.route = Collections.unmodifiableList(route);
+        this.treasure = treasure;
+    }
+
+    /**
+     * Returns the locations on the route in the order in which they are to be visited, starting with
+     * the location of the player and ending with the end location.
+     *
+     * @return the locations on the route, empty if the end cannot be reached.
+     */
+    public List<LocationAddress> getRoute() {
+        return route;
+    }
+
+    /**
+     * Returns whether the end location can be reached within the number of steps of the hint.
+     *
+     * @return true if there is a route to the end.
+     */
+    public boolean isReachable() {
+        return !route.isEmpty();
+    }
+
+    /**
+     * Returns the number of moves the player has to make to follow the route.
+     *
+     * @return number of steps, or -1 if the end cannot be reached.
+     */
+    public int getNumberOfSteps() {
+        return route.size() - 1;
+    }
+
+    /**
+     * Returns the number of treasures in the caves on the route, a cave with more than one kind of
+     * treasure counts every kind.
+     *
+     * @return number of treasures.
+     */
+    public int getTreasure() {
+        return treasure;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteHint{" + "steps=" + getNumberOfSteps() + ", treasure=" + treasure + ", route="
+                + route + '}';
+    }
+}
@@ -0,0 +1,507 @@
+package dungeon.maze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import dungeon.location.Collectible;
+import dungeon.location.DungeonGrid;
+import dungeon.location.paths.LocationAddress;
+import dungeon.location.paths.LocationAddressTable;
+import dungeon.obstacles.Monster;
+import dungeon.obstacles.ObstacleType;
+
+/**
+ * The RoutePlanner looks for the route from a location to the end of the dungeon that passes
+ * through the caves with the most treasure, within a given number of steps. Treasure is only found
+ * in caves and a tunnel can only be walked from one end to the other, so the search runs over the
+ * graph of the caves, in which a path stands for the whole chain of tunnels between two caves and
+ * is as long as the number of moves it takes to walk it. The graph of the caves is built once for
+ * the dungeon, every chain is kept as the list of its tunnels so a route can be spelled out
+ * location by location.
+ *
+ * <p>A plan first works out the distance of every location from the start and from the end while
+ * staying clear of the hazards that the player knows about, the pits, the thieves and the live
+ * Otyughs other than the one at the end that were seen in the visited locations, and the locations
+ * that the wind or the smell in a visited location give away. The hazards that the player has not
+ * come across are left out so the hint does not give them away. A cave that cannot be on a route
+ * within the budget is worth nothing to the search and a route is cut off as soon as it cannot
+ * reach the end within the budget. The shortest route to the end is taken first and the steps to
+ * spare are spent on detours to the caves that give the most treasure for the steps they take. The
+ * search then walks the routes depth first, entering a cave at most twice so that it can come back
+ * out of a dead end, and gives up after a fixed number of steps, so the route returned is the best
+ * one found. On small dungeons the search runs to completion and the route is the best there is.
+ *
+ * <p>A RoutePlanner is not safe for use by more than one thread at a time.
+ */
+final class RoutePlanner {
+
+    private static final int MAXIMUM_EXPANSIONS = 1 << 17;
+
+    private static final int TREASURE_MASK = 1 << Collectible.DIAMONDS.ordinal()
+            | 1 << Collectible.RUBIES.ordinal() | 1 << Collectible.SAPPHIRES.ordinal();
+
+    private final AdjacencyGraph graph;
+
+    private final DungeonGrid grid;
+
+    private final LocationAddressTable addressTable;
+
+    private final int[] caveIndexes;
+
+    private final int[] caves;
+
+    private final int numberOfEdges;
+
+    private final int[] edgeOffsets;
+
+    private final int[] edgeTargets;
+
+    private final int[] chainOffsets;
+
+    private final int[] chainCells;
+
+    private final boolean[] edgeOpen;
+
+    private final boolean[] blocked;
+
+    private final int[] distancesToEnd;
+
+    private final int[] distancesFromStart;
+
+    private final int[] queue;
+
+    private final int[] parents;
+
+    private final int[] origins;
+
+    private final int[] values;
+
+    private final int[] visits;
+
+    private int[] stackNodes = new int[16];
+
+    private int[] stackEdges = new int[16];
+
+    private int[] stackSteps = new int[16];
+
+    private int[] bestEdges = new int[16];
+
+    private int[] routeCells = new int[16];
+
+    private int routeLength;
+
+    RoutePlanner(AdjacencyGraph graph, DungeonGrid grid) {
+        if (graph == null || grid == null) {
+            throw new IllegalArgumentException("The planner requires the graph and the grid of the "
+                    + "dungeon.");
+        }
+        this.graph = graph;
+        this.grid = grid;
+        this.addressTable = grid.getAddressTable();
+        int numberOfCells = graph.getNumberOfCells();
+        this.caveIndexes = new int[numberOfCells];
+        int numberOfCaves = 0;
+        int edges = 0;
+        for (int cellId = 0; cellId < numberOfCells; cellId++) {
+            if (grid.isCave(cellId)) {
+                caveIndexes[cellId] = numberOfCaves++;
+                edges += graph.getDegree(cellId);
+            } else {
+                caveIndexes[cellId] = -1;
+            }
+        }
+
+        this.caves = new int[numberOfCaves];
+        this.numberOfEdges = edges;
+        this.edgeOffsets = new int[numberOfCaves + 2];
+        this.edgeTargets = new int[edges + 2];
+        this.chainOffsets = new int[edges + 3];
+        this.chainCells = new int[3 * numberOfCells + 1];
+        int edge = 0;
+        for (int cellId = 0; cellId < numberOfCells; cellId++) {
+            int cave = caveIndexes[cellId];
+            if (cave < 0) {
+                continue;
+            }
+            caves[cave] = cellId;
+            edgeOffsets[cave] = edge;
+            for (int next = graph.getFirstEdge(cellId); next < graph.getEndEdge(cellId); next++) {
+                addChain(edge++, cellId, graph.getTarget(next));
+            }
+        }
+        edgeOffsets[numberOfCaves] = edges;
+        edgeOffsets[numberOfCaves + 1] = edges;
+
+        this.edgeOpen = new boolean[edges + 2];
+        this.blocked = new boolean[numberOfCells];
+        this.distancesToEnd = new int[numberOfCells];
+        this.distancesFromStart = new int[numberOfCells];
+        this.queue = new int[numberOfCells];
+        this.parents = new int[numberOfCells];
+        this.origins = new int[numberOfCells];
+        this.values = new int[numberOfCaves + 1];
+        this.visits = new int[numberOfCaves + 1];
+    }
+
+    /**
+     * Returns the route from the start to the end with the most treasure that the search could find
+     * within the given number of steps, the shortest one among the routes with the same treasure.
+     *
+     * @param startCell the cell id of the location to start from.
+     * @param endCell   the cell id of the end location, it has to be a cave.
+     * @param maxSteps  the largest number of moves that the route can take.
+     * @param visited   the cell ids of the locations the player has visited.
+     * @return the hint of the route.
+     */
+    RouteHint plan(int startCell, int endCell, int maxSteps, BitSet visited) {
+        markBlocked(startCell, endCell, visited);
+        search(endCell, distancesToEnd);
+        if (distancesToEnd[startCell] < 0 || distancesToEnd[startCell] > maxSteps) {
+            return new RouteHint(new ArrayList<>(), 0);
+        }
+        search(startCell, distancesFromStart);
+
+        Arrays.fill(values, 0);
+        for (int cave = 0; cave < caves.length; cave++) {
+            int cellId = caves[cave];
+            if (distancesFromStart[cellId] >= 0 && distancesToEnd[cellId] >= 0
+                    && distancesFromStart[cellId] + distancesToEnd[cellId] <= maxSteps) {
+                values[cave] = Integer.bitCount(grid.getTreasures(cellId) & TREASURE_MASK);
+            }
+        }
+
+        Arrays.fill(visits, 0);
+        traceShortestRoute(startCell, endCell);
+        int greedyTreasure = addDetours(endCell, maxSteps - (routeLength - 1));
+        if (startCell == endCell) {
+            return toRouteHint(greedyTreasure);
+        }
+
+        edgeOffsets[caves.length + 1] = numberOfEdges;
+        int root = caveIndexes[startCell];
+        if (root < 0) {
+            root = caves.length;
+            addStartLegs(startCell);
+        }
+        for (int edge = 0; edge < edgeOffsets[caves.length + 1]; edge++) {
+            edgeOpen[edge] = isOpen(edge);
+        }
+
+        int bestTreasure = greedyTreasure;
+        int bestSteps = routeLength - 1;
+        int bestDepth = -1;
+        int endCave = caveIndexes[endCell];
+        int depth = 0;
+        stackNodes[0] = root;
+        stackEdges[0] = edgeOffsets[root];
+        stackSteps[0] = 0;
+        Arrays.fill(visits, 0);
+        visits[root] = 1;
+        int treasure = values[root];
+        for (int expansions = 0; depth >= 0 && expansions < MAXIMUM_EXPANSIONS; expansions++) {
+            int node = stackNodes[depth];
+            int edge = stackEdges[depth];
+            if (edge == edgeOffsets[node + 1]) {
+                if (--visits[node] == 0) {
+                    treasure -= values[node];
+                }
+                depth--;
+                continue;
+            }
+            stackEdges[depth]++;
+
+            int target = edgeTargets[edge];
+            int targetCell = caves[target];
+            int steps = stackSteps[depth] + getEdgeLength(edge);
+            if (!edgeOpen[edge] || visits[target] >= 2 || distancesToEnd[targetCell] < 0
+                    || steps + distancesToEnd[targetCell] > maxSteps) {
+                continue;
+            }
+
+            int gained = visits[target] == 0 ? values[target] : 0;
+            if (target == endCave) {
+                if (treasure + gained > bestTreasure
+                        || treasure + gained == bestTreasure && steps < bestSteps) {
+                    bestTreasure = treasure + gained;
+                    bestSteps = steps;
+                    bestDepth = depth + 1;
+                    bestEdges = ensureCapacity(bestEdges, bestDepth);
+                    for (int level = 0; level < bestDepth; level++) {
+                        bestEdges[level] = stackEdges[level] - 1;
+                    }
+                }
+                continue;
+            }
+
+            depth++;
+            if (depth == stackNodes.length) {
+                stackNodes = ensureCapacity(stackNodes, depth + 1);
+                stackEdges = ensureCapacity(stackEdges, depth + 1);
+                stackSteps = ensureCapacity(stackSteps, depth + 1);
+            }
+            stackNodes[depth] = target;
+            stackEdges[depth] = edgeOffsets[target];
+            stackSteps[depth] = steps;
+            visits[target]++;
+            treasure += gained;
+        }
+
+        if (bestDepth < 0) {
+            return toRouteHint(greedyTreasure);
+        }
+        routeLength = 0;
+        appendToRoute(startCell);
+        for (int level = 0; level < bestDepth; level++) {
+            int edge = bestEdges[level];
+            for (int chain = chainOffsets[edge]; chain < chainOffsets[edge + 1]; chain++) {
+                appendToRoute(chainCells[chain]);
+            }
+            appendToRoute(caves[edgeTargets[edge]]);
+        }
+        return toRouteHint(bestTreasure);
+    }
+
+    private void addChain(int edge, int fromCell, int cellId) {
+        int start = chainOffsets[edge];
+        int size = 0;
+        int previous = fromCell;
+        int current = cellId;
+        while (caveIndexes[current] < 0) {
+            chainCells[start + size++] = current;
+            int next = previous;
+            for (int path = graph.getFirstEdge(current); path < graph.getEndEdge(current); path++) {
+                if (graph.getTarget(path) != previous) {
+                    next = graph.getTarget(path);
+                    break;
+                }
+            }
+            previous = current;
+            current = next;
+        }
+        edgeTargets[edge] = caveIndexes[current];
+        chainOffsets[edge + 1] = start + size;
+    }
+
+    private void addStartLegs(int startCell) {
+        int edge = numberOfEdges;
+        for (int path = graph.getFirstEdge(startCell); path < graph.getEndEdge(startCell); path++) {
+            addChain(edge++, startCell, graph.getTarget(path));
+        }
+        edgeOffsets[caves.length + 1] = edge;
+    }
+
+    private int getEdgeLength(int edge) {
+        return chainOffsets[edge + 1] - chainOffsets[edge] + 1;
+    }
+
+    private boolean isOpen(int edge) {
+        if (blocked[caves[edgeTargets[edge]]]) {
+            return false;
+        }
+        for (int chain = chainOffsets[edge]; chain < chainOffsets[edge + 1]; chain++) {
+            if (blocked[chainCells[chain]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Blocks the locations that the player knows to be dangerous, the hazards that were seen in the
+     * visited locations and the locations that the wind or the smell in a visited location point
+     * to. The wind and a strong smell only tell that one of the neighbours is dangerous, so all of
+     * the neighbours that were not visited are blocked, and a faint smell blocks the locations two
+     * moves away. The Otyugh at the end is known to be there and its smell blocks nothing.
+     */
+    private void markBlocked(int startCell, int endCell, BitSet visited) {
+        Arrays.fill(blocked, false);
+        for (int cellId = visited.nextSetBit(0); cellId >= 0;
+             cellId = visited.nextSetBit(cellId + 1)) {
+            blocked[cellId] = grid.getObstacle(cellId, ObstacleType.PIT) != null
+                    || grid.getObstacle(cellId, ObstacleType.THIEF) != null
+                    || hasLiveOtyugh(cellId, endCell);
+
+            boolean windy = false;
+            boolean strongSmell = false;
+            boolean faintSmell = false;
+            for (int edge = graph.getFirstEdge(cellId); edge < graph.getEndEdge(cellId); edge++) {
+                int neighbour = graph.getTarget(edge);
+                windy |= grid.getObstacle(neighbour, ObstacleType.PIT) != null;
+                strongSmell |= hasLiveOtyugh(neighbour, endCell);
+                for (int next = graph.getFirstEdge(neighbour); next < graph.getEndEdge(neighbour);
+                     next++) {
+                    faintSmell |= hasLiveOtyugh(graph.getTarget(next), endCell);
+                }
+            }
+            for (int edge = graph.getFirstEdge(cellId); edge < graph.getEndEdge(cellId); edge++) {
+                int neighbour = graph.getTarget(edge);
+                if ((windy || strongSmell) && !visited.get(neighbour)) {
+                    blocked[neighbour] = true;
+                }
+                for (int next = graph.getFirstEdge(neighbour); faintSmell && !strongSmell
+                        && next < graph.getEndEdge(neighbour); next++) {
+                    int twoAway = graph.getTarget(next);
+                    if (twoAway != cellId && !visited.get(twoAway)) {
+                        blocked[twoAway] = true;
+                    }
+                }
+            }
+        }
+        blocked[startCell] = false;
+        blocked[endCell] = false;
+    }
+
+    private boolean hasLiveOtyugh(int cellId, int endCell) {
+        Monster otyugh = (Monster) grid.getObstacle(cellId, ObstacleType.OTYUGH);
+        return cellId != endCell && otyugh != null && otyugh.isAlive();
+    }
+
+    private void search(int sourceCell, int[] distances) {
+        Arrays.fill(distances, -1);
+        distances[sourceCell] = 0;
+        queue[0] = sourceCell;
+        int size = 1;
+        for (int head = 0; head < size; head++) {
+            int current = queue[head];
+            for (int edge = graph.getFirstEdge(current); edge < graph.getEndEdge(current); edge++) {
+                int neighbour = graph.getTarget(edge);
+                if (distances[neighbour] < 0 && !blocked[neighbour]) {
+                    distances[neighbour] = distances[current] + 1;
+                    queue[size++] = neighbour;
+                }
+            }
+        }
+    }
+
+    private void traceShortestRoute(int startCell, int endCell) {
+        routeLength = 0;
+        int current = startCell;
+        appendToRoute(current);
+        while (current != endCell) {
+            for (int edge = graph.getFirstEdge(current); edge < graph.getEndEdge(current); edge++) {
+                int neighbour = graph.getTarget(edge);
+                if (distancesToEnd[neighbour] == distancesToEnd[current] - 1) {
+                    current = neighbour;
+                    break;
+                }
+            }
+            appendToRoute(current);
+        }
+    }
+
+    /**
+     * Adds detours to the caves with treasure to the route while the steps last, every detour leads
+     * from the nearest location of the route to a cave and back the same way. The cave that gives the
+     * most treasure for the steps it takes is added first. Entering the end location ends the game,
+     * so a detour never starts from it or passes through it.
+     */
+    private int addDetours(int endCell, int spareSteps) {
+        int treasure = collectRoute(0, 0, routeLength);
+        Arrays.fill(distancesFromStart, -1);
+        while (spareSteps >= 2) {
+            int reached = searchFromRoute(endCell, spareSteps / 2);
+            int bestCave = -1;
+            for (int index = 0; index < reached; index++) {
+                int cave = caveIndexes[queue[index]];
+                if (cave < 0 || values[cave] == 0 || visits[cave] > 0) {
+                    continue;
+                }
+                int distance = distancesFromStart[caves[cave]];
+                if (bestCave < 0 || values[cave] * distancesFromStart[caves[bestCave]]
+                        > values[bestCave] * distance) {
+                    bestCave = cave;
+                }
+            }
+            if (bestCave < 0) {
+                return treasure;
+            }
+
+            int caveCell = caves[bestCave];
+            int distance = distancesFromStart[caveCell];
+            int origin = origins[caveCell];
+            int position = 0;
+            while (routeCells[position] != origin) {
+                position++;
+            }
+            routeCells = ensureCapacity(routeCells, routeLength + 2 * distance);
+            System.arraycopy(routeCells, position + 1, routeCells, position + 1 + 2 * distance,
+                    routeLength - position - 1);
+            int cellId = caveCell;
+            for (int step = distance; step > 0; step--) {
+                routeCells[position + step] = cellId;
+                routeCells[position + 2 * distance - step] = cellId;
+                cellId = parents[cellId];
+            }
+            routeCells[position + 2 * distance] = cellId;
+            for (int index = 0; index < reached; index++) {
+                distancesFromStart[queue[index]] = -1;
+            }
+            routeLength += 2 * distance;
+            treasure = collectRoute(treasure, position + 1, position + 1 + distance);
+            spareSteps -= 2 * distance;
+        }
+        return treasure;
+    }
+
+    private int collectRoute(int treasure, int from, int to) {
+        for (int index = from; index < to; index++) {
+            int cave = caveIndexes[routeCells[index]];
+            if (cave >= 0 && visits[cave] == 0) {
+                visits[cave] = 1;
+                treasure += values[cave];
+            }
+        }
+        return treasure;
+    }
+
+    private int searchFromRoute(int endCell, int maxDistance) {
+        int size = 0;
+        for (int index = 0; index < routeLength; index++) {
+            int cellId = routeCells[index];
+            if (distancesFromStart[cellId] < 0 && cellId != endCell) {
+                distancesFromStart[cellId] = 0;
+                origins[cellId] = cellId;
+                queue[size++] = cellId;
+            }
+        }
+        for (int head = 0; head < size; head++) {
+            int current = queue[head];
+            if (distancesFromStart[current] == maxDistance) {
+                continue;
+            }
+            for (int edge = graph.getFirstEdge(current); edge < graph.getEndEdge(current); edge++) {
+                int neighbour = graph.getTarget(edge);
+                if (distancesFromStart[neighbour] < 0 && !blocked[neighbour]
+                        && neighbour != endCell) {
+                    distancesFromStart[neighbour] = distancesFromStart[current] + 1;
+                    parents[neighbour] = current;
+                    origins[neighbour] = origins[current];
+                    queue[size++] = neighbour;
+                }
+            }
+        }
+        return size;
+    }
+
+    private void appendToRoute(int cellId) {
+        routeCells = ensureCapacity(routeCells, routeLength + 1);
+        routeCells[routeLength++] = cellId;
+    }
+
+    private RouteHint toRouteHint(int treasure) {
+        List<LocationAddress> route = new ArrayList<>(routeLength);
+        for (int index = 0; index < routeLength; index++) {
+            route.add(addressTable.getAddress(routeCells[index]));
+        }
+        return new RouteHint(route, treasure);
+    }
+
+    private static int[] ensureCapacity(int[] array, int capacity) {
+        if (array.length >= capacity) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+    }
+}
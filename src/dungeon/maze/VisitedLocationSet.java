@@ -0,0 +1,70 @@
+package dungeon.maze;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import dungeon.location.paths.LocationAddress;
+import dungeon.location.paths.LocationAddressTable;
+
+/**
+ * An unmodifiable set of the locations visited by the player at some point of the game. The set
+ * keeps its own copy of the bits of the visited cell ids, which takes a bit for every location of
+ * the dungeon, so it does not change when the player moves on. Checking whether a location was
+ * visited is a single bit lookup and the addresses are served by the table of addresses of the
+ * dungeon in the order of their cell ids.
+ */
+final class VisitedLocationSet extends AbstractSet<LocationAddress> {
+
+    private final BitSet visited;
+
+    private final LocationAddressTable addressTable;
+
+    private final int size;
+
+    VisitedLocationSet(BitSet visited, LocationAddressTable addressTable) {
+        this.visited = (BitSet) visited.clone();
+        this.addressTable = addressTable;
+        this.size = visited.cardinality();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof LocationAddress)) {
+            return false;
+        }
+        LocationAddress address = (LocationAddress) o;
+        return address.getRowNumber() < addressTable.getNumberOfRows()
+                && address.getColumnNumber() < addressTable.getNumberOfColumns()
+                && visited.get(addressTable.getCellId(address));
+    }
+
+    @Override
+    public Iterator<LocationAddress> iterator() {
+        return new Iterator<>() {
+
+            private int next = visited.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public LocationAddress next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                LocationAddress address = addressTable.getAddress(next);
+                next = visited.nextSetBit(next + 1);
+                return address;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,111 @@
+package dungeon.maze.generator;
+
+/**
+ * The DisjointSet keeps track of the groups of locations that are already connected to each other
+ * while the paths of the maze are being laid out. Every location is represented by its cell id
+ * (row number * number of columns + column number) so that the structure only needs two primitive
+ * arrays. Lookups use path compression and merges use union by rank, which brings every operation
+ * to an almost constant amortised cost.
+ */
+public class DisjointSet {
+
+    private final int[] parent;
+
+    private final byte[] rank;
+
+    private int numberOfSets;
+
+    /**
+     * Constructs a disjoint set in which each of the elements from 0 to size - 1 belongs to a set of
+     * its own.
+     *
+     * @param size the number of elements (cells) tracked by the structure.
+     */
+    public DisjointSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size of the disjoint set cannot be negative.");
+        }
+        this.parent = new int[size];
+        this.rank = new byte[size];
+        this.numberOfSets = size;
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+    }
+
+    /**
+     * Returns the representative element of the set that contains the given element. Every element
+     * visited on the way to the root is made to point at its grandparent, which halves the path
+     * for the subsequent lookups.
+     *
+     * @param element the element whose set is to be found.
+     * @return the representative element of the set.
+     */
+    public int find(int element) {
+        if (element < 0 || element >= parent.length) {
+            throw new IllegalArgumentException("Element " + element + " is not part of the set.");
+        }
+        int current = element;
+        while (parent[current] != current) {
+            parent[current] = parent[parent[current]];
+            current = parent[current];
+        }
+        return current;
+    }
+
+    /**
+     * Merges the sets containing the two elements. The root of lower rank is attached below the
+     * root of higher rank so that the trees stay shallow.
+     *
+     * @param elementOne one of the elements to be merged.
+     * @param elementTwo the other element to be merged.
+     * @return true if the sets were merged, false if both elements were already in the same set.
+     */
+    public boolean union(int elementOne, int elementTwo) {
+        int rootOne = find(elementOne);
+        int rootTwo = find(elementTwo);
+        if (rootOne == rootTwo) {
+            return false;
+        }
+
+        if (rank[rootOne] < rank[rootTwo]) {
+            parent[rootOne] = rootTwo;
+        } else if (rank[rootOne] > rank[rootTwo]) {
+            parent[rootTwo] = rootOne;
+        } else {
+            parent[rootTwo] = rootOne;
+            rank[rootOne]++;
+        }
+        numberOfSets--;
+        return true;
+    }
+
+    /**
+     * Checks if both the elements already belong to the same set.
+     *
+     * @param elementOne one of the elements.
+     * @param elementTwo the other element.
+     * @return true if both the elements are connected.
+     */
+    public boolean isConnected(int elementOne, int elementTwo) {
+        return find(elementOne) == find(elementTwo);
+    }
+
+    /**
+     * Returns the number of disjoint sets that are currently present in the structure.
+     *
+     * @return number of sets.
+     */
+    public int getNumberOfSets() {
+        return numberOfSets;
+    }
+
+    /**
+     * Returns the total number of elements tracked by the structure.
+     *
+     * @return number of elements.
+     */
+    public int size() {
+        return parent.length;
+    }
+}
@@ -0,0 +1,278 @@
+package dungeon.maze.generator;
+
+import dungeon.location.paths.LocationAddress;
+import dungeon.location.paths.LocationAddressTable;
+import dungeon.location.paths.Path;
+
+/**
+ * The EdgeEnumerator lists every potential path of a grid exactly once. A potential path is packed
+ * into a single int as (cell id * 2 + axis), where the cell id is row number * number of columns +
+ * column number and the axis tells if the path leads to the east neighbour (HORIZONTAL) or to the
+ * south neighbour (VERTICAL) of the cell. In a wrapping grid the east neighbour of the last column
+ * is the first column and the south neighbour of the last row is the first row. A wrapping path is
+ * only listed when it joins two locations that are not already joined by a regular path, that is
+ * when there are at least three rows or columns.
+ *
+ * <p>The paths are enumerated cell by cell in row major order, and for every cell the east path,
+ * the wrapping west path, the south path and the wrapping north path are listed in that order. This
+ * is the order in which the dungeon has always listed its potential paths, and the random numbers
+ * drawn while building the maze refer to it.
+ */
+public class EdgeEnumerator {
+
+    /**
+     * Axis of a path that leads from a cell to its east neighbour.
+     */
+    public static final int HORIZONTAL = 0;
+
+    /**
+     * Axis of a path that leads from a cell to its south neighbour.
+     */
+    public static final int VERTICAL = 1;
+
+    private final int numberOfRows;
+
+    private final int numberOfColumns;
+
+    private final boolean wrapping;
+
+    private final boolean wrapsColumns;
+
+    private final boolean wrapsRows;
+
+    /**
+     * Constructs an enumerator for the potential paths of a grid with the given dimensions.
+     *
+     * @param numberOfRows    the number of rows in the grid.
+     * @param numberOfColumns the number of columns in the grid.
+     * @param wrapping        whether the grid is wrapping or not.
+     */
+    public EdgeEnumerator(int numberOfRows, int numberOfColumns, boolean wrapping) {
+        if (numberOfRows <= 0 || numberOfColumns <= 0) {
+            throw new IllegalArgumentException("Cannot enumerate paths of a grid with zero or "
+                    + "negative number of rows or columns.");
+        }
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+        this.wrapping = wrapping;
+        this.wrapsColumns = wrapping && numberOfColumns >= 3;
+        this.wrapsRows = wrapping && numberOfRows >= 3;
+    }
+
+    /**
+     * Returns the number of potential paths of a grid without enumerating them.
+     *
+     * @param numberOfRows    the number of rows in the grid.
+     * @param numberOfColumns the number of columns in the grid.
+     * @param wrapping        whether the grid is wrapping or not.
+     * @return number of potential paths.
+     */
+    public static int countPotentialPaths(int numberOfRows, int numberOfColumns, boolean wrapping) {
+        int potentialPaths = numberOfRows * (numberOfColumns - 1)
+                + numberOfColumns * (numberOfRows - 1);
+        if (wrapping && numberOfColumns >= 3) {
+            potentialPaths += numberOfRows;
+        }
+        if (wrapping && numberOfRows >= 3) {
+            potentialPaths += numberOfColumns;
+        }
+        return potentialPaths;
+    }
+
+    /**
+     * Packs a cell id and an axis into a path id.
+     *
+     * @param cellId the cell from which the path leads east or south.
+     * @param axis   either HORIZONTAL or VERTICAL.
+     * @return packed path id.
+     */
+    public static int pack(int cellId, int axis) {
+        return (cellId << 1) | axis;
+    }
+
+    /**
+     * Returns the cell from which the packed path leads east or south.
+     *
+     * @param pathId packed path id.
+     * @return cell id.
+     */
+    public static int getCell(int pathId) {
+        return pathId >>> 1;
+    }
+
+    /**
+     * Returns the axis of the packed path.
+     *
+     * @param pathId packed path id.
+     * @return either HORIZONTAL or VERTICAL.
+     */
+    public static int getAxis(int pathId) {
+        return pathId & 1;
+    }
+
+    /**
+     * Returns the number of potential paths of this grid.
+     *
+     * @return number of potential paths.
+     */
+    public int getNumberOfPaths() {
+        return countPotentialPaths(numberOfRows, numberOfColumns, wrapping);
+    }
+
+    /**
+     * Returns the number of cells in this grid.
+     *
+     * @return number of cells.
+     */
+    public int getNumberOfCells() {
+        return numberOfRows * numberOfColumns;
+    }
+
+    /**
+     * Lists every potential path of the grid exactly once as a packed path id.
+     *
+     * @return array of packed path ids.
+     */
+    public int[] enumerate() {
+        int[] paths = new int[getNumberOfPaths()];
+        int index = 0;
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                int cellId = i * numberOfColumns + j;
+                if (j + 1 < numberOfColumns) {
+                    paths[index++] = pack(cellId, HORIZONTAL);
+                }
+                if (j == 0 && wrapsColumns) {
+                    paths[index++] = pack(cellId + numberOfColumns - 1, HORIZONTAL);
+                }
+                if (i + 1 < numberOfRows) {
+                    paths[index++] = pack(cellId, VERTICAL);
+                }
+                if (i == 0 && wrapsRows) {
+                    paths[index++] = pack((numberOfRows - 1) * numberOfColumns + j, VERTICAL);
+                }
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Returns the cell id of the first location of the path. For a wrapping path this is the cell
+     * in the first row or column.
+     *
+     * @param pathId packed path id.
+     * @return cell id of the first location.
+     */
+    public int getLocationOne(int pathId) {
+        int cellId = getCell(pathId);
+        if (getAxis(pathId) == HORIZONTAL && cellId % numberOfColumns == numberOfColumns - 1) {
+            return cellId - numberOfColumns + 1;
+        } else if (getAxis(pathId) == VERTICAL && cellId / numberOfColumns == numberOfRows - 1) {
+            return cellId % numberOfColumns;
+        }
+        return cellId;
+    }
+
+    /**
+     * Returns the cell id of the second location of the path. For a wrapping path this is the cell
+     * in the last row or column.
+     *
+     * @param pathId packed path id.
+     * @return cell id of the second location.
+     */
+    public int getLocationTwo(int pathId) {
+        int cellId = getCell(pathId);
+        if (getAxis(pathId) == HORIZONTAL) {
+            if (cellId % numberOfColumns == numberOfColumns - 1) {
+                return cellId;
+            }
+            return cellId + 1;
+        } else {
+            if (cellId / numberOfColumns == numberOfRows - 1) {
+                return cellId;
+            }
+            return cellId + numberOfColumns;
+        }
+    }
+
+    /**
+     * Returns the packed id of the path between the two locations, in either order. Every path of
+     * the grid has exactly one packed id, which makes the id the canonical identity of the path.
+     *
+     * @param cellOne cell id of one of the locations.
+     * @param cellTwo cell id of the other location.
+     * @return packed path id, or -1 if the locations are not next to each other in the grid.
+     */
+    public int getPathId(int cellOne, int cellTwo) {
+        int numberOfCells = getNumberOfCells();
+        if (cellOne < 0 || cellTwo < 0 || cellOne >= numberOfCells || cellTwo >= numberOfCells) {
+            return -1;
+        }
+        int pathId = getPathFrom(cellOne, cellTwo);
+        return pathId != -1 ? pathId : getPathFrom(cellTwo, cellOne);
+    }
+
+    /**
+     * Returns the packed id of the given path.
+     *
+     * @param path the path between two locations.
+     * @return packed path id, or -1 if the path is not a potential path of the grid.
+     */
+    public int getPathId(Path path) {
+        int cellOne = toCellId(path.getLocationOne());
+        int cellTwo = toCellId(path.getLocationTwo());
+        if (cellOne == -1 || cellTwo == -1) {
+            return -1;
+        }
+        return getPathId(cellOne, cellTwo);
+    }
+
+    /**
+     * Creates the Path object for the packed path, only needed at the boundary of the public API.
+     *
+     * @param pathId packed path id.
+     * @return the path between both the locations.
+     */
+    public Path toPath(int pathId) {
+        return new Path(toAddress(getLocationOne(pathId)), toAddress(getLocationTwo(pathId)),
+                pathId);
+    }
+
+    /**
+     * Creates the Path object for the packed path out of the addresses of the table, so the path
+     * shares the interned addresses of the dungeon instead of creating its own.
+     *
+     * @param pathId       packed path id.
+     * @param addressTable the addresses of the locations of the grid.
+     * @return the path between both the locations.
+     */
+    public Path toPath(int pathId, LocationAddressTable addressTable) {
+        return new Path(addressTable.getAddress(getLocationOne(pathId)),
+                addressTable.getAddress(getLocationTwo(pathId)), pathId);
+    }
+
+    private int getPathFrom(int cellId, int neighbour) {
+        int row = cellId / numberOfColumns;
+        int column = cellId % numberOfColumns;
+        if (column + 1 < numberOfColumns ? neighbour == cellId + 1
+                : wrapsColumns && neighbour == cellId - numberOfColumns + 1) {
+            return pack(cellId, HORIZONTAL);
+        }
+        if (row + 1 < numberOfRows ? neighbour == cellId + numberOfColumns
+                : wrapsRows && neighbour == column) {
+            return pack(cellId, VERTICAL);
+        }
+        return -1;
+    }
+
+    private int toCellId(LocationAddress address) {
+        if (address.getRowNumber() >= numberOfRows || address.getColumnNumber() >= numberOfColumns) {
+            return -1;
+        }
+        return address.getRowNumber() * numberOfColumns + address.getColumnNumber();
+    }
+
+    private LocationAddress toAddress(int cellId) {
+        return new LocationAddress(cellId / numberOfColumns, cellId % numberOfColumns);
+    }
+}
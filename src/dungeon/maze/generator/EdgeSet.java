@@ -0,0 +1,101 @@
+package dungeon.maze.generator;
+
+import java.util.BitSet;
+
+import dungeon.location.paths.Path;
+
+/**
+ * A set of the paths of a grid that keeps a single bit for every packed path id, so adding a path
+ * and checking whether a path is in the set are constant time operations that never compare the
+ * locations of the paths. The paths are identified by their packed id from the
+ * {@link EdgeEnumerator} of the grid, which is the same from either of the locations of a path.
+ */
+public final class EdgeSet {
+
+    private final EdgeEnumerator edgeEnumerator;
+
+    private final BitSet paths;
+
+    private int size;
+
+    /**
+     * Constructs an empty set for the paths of the grid of the enumerator.
+     *
+     * @param edgeEnumerator the enumerator of the paths of the grid.
+     */
+    public EdgeSet(EdgeEnumerator edgeEnumerator) {
+        if (edgeEnumerator == null) {
+            throw new IllegalArgumentException("The set requires the paths of a grid.");
+        }
+        this.edgeEnumerator = edgeEnumerator;
+        this.paths = new BitSet(edgeEnumerator.getNumberOfCells() * 2);
+    }
+
+    /**
+     * Constructs a set that holds the given paths of the grid of the enumerator.
+     *
+     * @param edgeEnumerator the enumerator of the paths of the grid.
+     * @param pathIds        the packed ids of the paths.
+     */
+    public EdgeSet(EdgeEnumerator edgeEnumerator, int[] pathIds) {
+        this(edgeEnumerator);
+        for (int pathId : pathIds) {
+            add(pathId);
+        }
+    }
+
+    /**
+     * Adds the path to the set.
+     *
+     * @param pathId the packed id of the path.
+     * @return true if the path was not already in the set.
+     */
+    public boolean add(int pathId) {
+        if (paths.get(pathId)) {
+            return false;
+        }
+        paths.set(pathId);
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns whether the path is in the set.
+     *
+     * @param pathId the packed id of the path.
+     * @return true if the path is in the set.
+     */
+    public boolean contains(int pathId) {
+        return pathId >= 0 && paths.get(pathId);
+    }
+
+    /**
+     * Returns whether the path between the two locations is in the set.
+     *
+     * @param cellOne cell id of one of the locations.
+     * @param cellTwo cell id of the other location.
+     * @return true if the locations are connected by a path in the set.
+     */
+    public boolean contains(int cellOne, int cellTwo) {
+        return contains(edgeEnumerator.getPathId(cellOne, cellTwo));
+    }
+
+    /**
+     * Returns whether the path is in the set, in either order of its locations.
+     *
+     * @param path the path between two locations.
+     * @return true if the path is in the set.
+     */
+    public boolean contains(Path path) {
+        return path != null && contains(edgeEnumerator.getPathId(path));
+    }
+
+    /**
+     * Returns the number of paths in the set.
+     *
+     * @return number of paths.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,311 @@
+package dungeon.maze.generator;
+
+import java.util.function.IntConsumer;
+
+import dungeon.RandomGenerator;
+import dungeon.location.MovementDirection;
+
+/**
+ * The EllerMazeGenerator builds the maze one row at a time using Eller's algorithm. Only the sets
+ * of the locations in the current row are remembered, cells of the same row are randomly joined
+ * to the east when they belong to different sets, and every set is carried to the next row through
+ * at least one opening to the south. The last row joins all of its remaining sets, which leaves a
+ * spanning tree over the grid while the working memory only grows with the number of columns.
+ *
+ * <p>Every potential path that is not a part of the spanning tree is decided as soon as it is
+ * seen, it is connected with a probability of (extra paths still needed / candidates left) which
+ * picks exactly degreeOfInterconnectivity of them uniformly. The wrapping paths between the last
+ * and the first row are decided before the first row, so that the first row is complete as soon as
+ * it is generated. This allows {@link #generate(int, int, boolean, int, int, int, int, int,
+ * RandomGenerator, MazeRowListener)} to stream dungeons that are too large to be held in memory,
+ * placing the treasures, arrows and obstacles in the same pass.
+ */
+public class EllerMazeGenerator implements MazeGenerator {
+
+    @Override
+    public MazeLayout generate(int numberOfRows, int numberOfColumns, boolean wrapping,
+                               int degreeOfInterconnectivity, RandomGenerator randomGenerator) {
+        validate(numberOfRows, numberOfColumns, wrapping, degreeOfInterconnectivity,
+                randomGenerator);
+
+        int[] connectedPaths = new int[numberOfRows * numberOfColumns - 1
+                + degreeOfInterconnectivity];
+        int[] numberOfConnectedPaths = new int[1];
+        new Generation(numberOfRows, numberOfColumns, wrapping, degreeOfInterconnectivity,
+                randomGenerator, null, row -> { },
+                pathId -> connectedPaths[numberOfConnectedPaths[0]++] = pathId).run();
+        return new MazeLayout(numberOfRows, numberOfColumns, connectedPaths);
+    }
+
+    /**
+     * Generates the maze one row at a time and passes every completed row to the listener along
+     * with its treasures, arrows and obstacles. The percentage of treasure is applied to the caves
+     * for treasures and to all the locations for arrows, Otyughs and pits are only placed in caves
+     * and at most one obstacle is placed in a location.
+     *
+     * @param numberOfRows              the number of rows in the maze.
+     * @param numberOfColumns           the number of columns in the maze.
+     * @param wrapping                  whether the maze is wrapping or not.
+     * @param degreeOfInterconnectivity number of paths to be added on top of the spanning tree.
+     * @param treasurePercentage        the percentage of caves with treasures.
+     * @param numberOfOtyughs           the number of Otyughs to be placed.
+     * @param numberOfPits              the number of pits to be placed.
+     * @param numberOfThieves           the number of thieves to be placed.
+     * @param randomGenerator           encapsulates the methods to generate and pick random values.
+     * @param listener                  receives every completed row.
+     */
+    public void generate(int numberOfRows, int numberOfColumns, boolean wrapping,
+                         int degreeOfInterconnectivity, int treasurePercentage,
+                         int numberOfOtyughs, int numberOfPits, int numberOfThieves,
+                         RandomGenerator randomGenerator, MazeRowListener listener) {
+        validate(numberOfRows, numberOfColumns, wrapping, degreeOfInterconnectivity,
+                randomGenerator);
+
+        if (listener == null) {
+            throw new IllegalArgumentException("A listener is required to receive the rows.");
+        }
+
+        if (treasurePercentage < 0 || treasurePercentage > 100) {
+            throw new IllegalArgumentException("Treasure percentage should be between 0 and 100.");
+        }
+
+        if (numberOfOtyughs < 0 || numberOfPits < 0 || numberOfThieves < 0) {
+            throw new IllegalArgumentException("Number of obstacles cannot be negative.");
+        }
+
+        RowContentPlacer rowContentPlacer = new RowContentPlacer(numberOfRows * numberOfColumns,
+                treasurePercentage, numberOfOtyughs, numberOfPits, numberOfThieves,
+                randomGenerator);
+        new Generation(numberOfRows, numberOfColumns, wrapping, degreeOfInterconnectivity,
+                randomGenerator, rowContentPlacer, listener, null).run();
+    }
+
+    private void validate(int numberOfRows, int numberOfColumns, boolean wrapping,
+                          int degreeOfInterconnectivity, RandomGenerator randomGenerator) {
+        if (numberOfRows <= 0 || numberOfColumns <= 0) {
+            throw new IllegalArgumentException("Cannot create maze with zero or negative number "
+                    + "of rows or columns.");
+        }
+
+        if (randomGenerator == null) {
+            throw new IllegalArgumentException("Random Generator is required to build the maze.");
+        }
+
+        long remainderPaths = (long) EdgeEnumerator.countPotentialPaths(numberOfRows,
+                numberOfColumns, wrapping) - ((long) numberOfRows * numberOfColumns - 1);
+        if (degreeOfInterconnectivity < 0 || degreeOfInterconnectivity > remainderPaths) {
+            throw new IllegalArgumentException("Degree of interconnectivity cannot be less than 0 or "
+                    + "more than the minimum possible number of connections.");
+        }
+    }
+
+    /**
+     * Holds the state of a single generation, all of which is sized by the number of columns.
+     */
+    private static final class Generation {
+
+        private final int numberOfRows;
+        private final int numberOfColumns;
+        private final boolean wrapsRows;
+        private final boolean wrapsColumns;
+        private final RandomGenerator randomGenerator;
+        private final RowContentPlacer rowContentPlacer;
+        private final MazeRowListener listener;
+        private final IntConsumer pathListener;
+        private final MazeRow row;
+        private final boolean[] wrapNorth;
+        private final boolean[] northOpen;
+        private final boolean[] carried;
+        private final int[] labelStamp;
+        private final int[] labelMap;
+        private final int[] parent;
+        private final byte[] rank;
+        private final int[] cellsInSet;
+        private final boolean[] hasDown;
+        private int[] sets;
+        private int[] nextSets;
+        private int stamp;
+        private int remainderLeft;
+        private int extrasLeft;
+
+        private Generation(int numberOfRows, int numberOfColumns, boolean wrapping,
+                           int degreeOfInterconnectivity, RandomGenerator randomGenerator,
+                           RowContentPlacer rowContentPlacer, MazeRowListener listener,
+                           IntConsumer pathListener) {
+            this.numberOfRows = numberOfRows;
+            this.numberOfColumns = numberOfColumns;
+            this.wrapsRows = wrapping && numberOfRows >= 3;
+            this.wrapsColumns = wrapping && numberOfColumns >= 3;
+            this.randomGenerator = randomGenerator;
+            this.rowContentPlacer = rowContentPlacer;
+            this.listener = listener;
+            this.pathListener = pathListener;
+            this.row = new MazeRow(numberOfColumns);
+            this.wrapNorth = new boolean[numberOfColumns];
+            this.northOpen = new boolean[numberOfColumns];
+            this.carried = new boolean[numberOfColumns];
+            this.labelStamp = new int[numberOfColumns];
+            this.labelMap = new int[numberOfColumns];
+            this.parent = new int[numberOfColumns];
+            this.rank = new byte[numberOfColumns];
+            this.cellsInSet = new int[numberOfColumns];
+            this.hasDown = new boolean[numberOfColumns];
+            this.sets = new int[numberOfColumns];
+            this.nextSets = new int[numberOfColumns];
+            this.remainderLeft = EdgeEnumerator.countPotentialPaths(numberOfRows, numberOfColumns,
+                    wrapping) - (numberOfRows * numberOfColumns - 1);
+            this.extrasLeft = degreeOfInterconnectivity;
+        }
+
+        private void run() {
+            if (wrapsRows) {
+                for (int j = 0; j < numberOfColumns; j++) {
+                    if (selectExtraPath()) {
+                        wrapNorth[j] = true;
+                        connect((numberOfRows - 1) * numberOfColumns + j, EdgeEnumerator.VERTICAL);
+                    }
+                }
+            }
+
+            for (int i = 0; i < numberOfRows; i++) {
+                row.reset(i);
+                for (int j = 0; j < numberOfColumns; j++) {
+                    if (i == 0 ? wrapNorth[j] : northOpen[j]) {
+                        row.addOpening(j, MovementDirection.NORTH);
+                    }
+                    if (i == numberOfRows - 1 && wrapNorth[j]) {
+                        row.addOpening(j, MovementDirection.SOUTH);
+                    }
+                }
+
+                assignSets();
+                joinRow(i);
+                if (i < numberOfRows - 1) {
+                    carryToNextRow(i);
+                }
+
+                if (rowContentPlacer != null) {
+                    rowContentPlacer.place(row);
+                }
+                listener.acceptRow(row);
+            }
+        }
+
+        private void assignSets() {
+            stamp++;
+            int nextLabel = 0;
+            for (int j = 0; j < numberOfColumns; j++) {
+                if (carried[j]) {
+                    int root = find(sets[j]);
+                    if (labelStamp[root] != stamp) {
+                        labelStamp[root] = stamp;
+                        labelMap[root] = nextLabel++;
+                    }
+                    nextSets[j] = labelMap[root];
+                }
+            }
+            for (int j = 0; j < numberOfColumns; j++) {
+                if (!carried[j]) {
+                    nextSets[j] = nextLabel++;
+                }
+            }
+            for (int label = 0; label < nextLabel; label++) {
+                parent[label] = label;
+                rank[label] = 0;
+            }
+
+            int[] previousSets = sets;
+            sets = nextSets;
+            nextSets = previousSets;
+        }
+
+        private void joinRow(int i) {
+            boolean lastRow = i == numberOfRows - 1;
+            for (int j = 0; j + 1 < numberOfColumns; j++) {
+                int setOne = find(sets[j]);
+                int setTwo = find(sets[j + 1]);
+                if (setOne != setTwo && (lastRow || flipCoin())) {
+                    union(setOne, setTwo);
+                    openEast(i, j);
+                } else if (selectExtraPath()) {
+                    openEast(i, j);
+                }
+            }
+
+            if (wrapsColumns && selectExtraPath()) {
+                openEast(i, numberOfColumns - 1);
+            }
+        }
+
+        private void carryToNextRow(int i) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                int root = find(sets[j]);
+                cellsInSet[root] = 0;
+                hasDown[root] = false;
+            }
+            for (int j = 0; j < numberOfColumns; j++) {
+                cellsInSet[find(sets[j])]++;
+            }
+
+            for (int j = 0; j < numberOfColumns; j++) {
+                int root = find(sets[j]);
+                cellsInSet[root]--;
+                boolean down = (cellsInSet[root] == 0 && !hasDown[root]) || flipCoin();
+                carried[j] = down;
+                northOpen[j] = down || selectExtraPath();
+                if (down) {
+                    hasDown[root] = true;
+                }
+                if (northOpen[j]) {
+                    row.addOpening(j, MovementDirection.SOUTH);
+                    connect(i * numberOfColumns + j, EdgeEnumerator.VERTICAL);
+                }
+            }
+        }
+
+        private void openEast(int i, int j) {
+            row.addOpening(j, MovementDirection.EAST);
+            row.addOpening((j + 1) % numberOfColumns, MovementDirection.WEST);
+            connect(i * numberOfColumns + j, EdgeEnumerator.HORIZONTAL);
+        }
+
+        private void connect(int cellId, int axis) {
+            if (pathListener != null) {
+                pathListener.accept(EdgeEnumerator.pack(cellId, axis));
+            }
+        }
+
+        private boolean selectExtraPath() {
+            boolean selected = extrasLeft > 0
+                    && randomGenerator.getRandomNumberBetween(0, remainderLeft - 1) < extrasLeft;
+            remainderLeft--;
+            if (selected) {
+                extrasLeft--;
+            }
+            return selected;
+        }
+
+        private boolean flipCoin() {
+            return randomGenerator.getRandomNumberBetween(0, 1) == 1;
+        }
+
+        private int find(int label) {
+            while (parent[label] != label) {
+                parent[label] = parent[parent[label]];
+                label = parent[label];
+            }
+            return label;
+        }
+
+        private void union(int rootOne, int rootTwo) {
+            if (rank[rootOne] < rank[rootTwo]) {
+                parent[rootOne] = rootTwo;
+            } else if (rank[rootOne] > rank[rootTwo]) {
+                parent[rootTwo] = rootOne;
+            } else {
+                parent[rootTwo] = rootOne;
+                rank[rootOne]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package dungeon.maze.generator;
+
+import dungeon.RandomGenerator;
+
+/**
+ * The KruskalMazeGenerator is the default generator of the dungeon. It draws every potential path
+ * of the grid at random and connects the ones that join two locations which are not yet connected,
+ * as in the modified Kruskal's algorithm, then adds the degree of interconnectivity on top of the
+ * spanning tree from the paths that were left out.
+ */
+public class KruskalMazeGenerator implements MazeGenerator {
+
+    @Override
+    public MazeLayout generate(int numberOfRows, int numberOfColumns, boolean wrapping,
+                               int degreeOfInterconnectivity, RandomGenerator randomGenerator) {
+        EdgeEnumerator edgeEnumerator = new EdgeEnumerator(numberOfRows, numberOfColumns, wrapping);
+        int[] connectedPaths = new SpanningTreeBuilder(randomGenerator)
+                .build(edgeEnumerator, degreeOfInterconnectivity);
+        return new MazeLayout(numberOfRows, numberOfColumns, connectedPaths);
+    }
+}
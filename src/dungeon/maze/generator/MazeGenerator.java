@@ -0,0 +1,25 @@
+package dungeon.maze.generator;
+
+import dungeon.RandomGenerator;
+
+/**
+ * A MazeGenerator decides which of the potential paths of the grid are connected in the dungeon.
+ * Every generator is expected to connect all the locations with a spanning tree and then add
+ * exactly degreeOfInterconnectivity of the remaining potential paths on top of it, so that the
+ * dungeon can be generated by any of the implementations without changing the rules of the game.
+ */
+public interface MazeGenerator {
+
+    /**
+     * Generates the layout of the paths of a grid with the given dimensions.
+     *
+     * @param numberOfRows              the number of rows in the maze.
+     * @param numberOfColumns           the number of columns in the maze.
+     * @param wrapping                  whether the maze is wrapping or not.
+     * @param degreeOfInterconnectivity number of paths to be added on top of the spanning tree.
+     * @param randomGenerator           encapsulates the methods to generate and pick random values.
+     * @return the layout of the connected paths.
+     */
+    MazeLayout generate(int numberOfRows, int numberOfColumns, boolean wrapping,
+                        int degreeOfInterconnectivity, RandomGenerator randomGenerator);
+}
@@ -0,0 +1,104 @@
+package dungeon.maze.generator;
+
+import dungeon.location.MovementDirection;
+
+/**
+ * The MazeLayout is the outcome of a maze generator. It holds the packed ids of the connected paths
+ * (see {@link EdgeEnumerator}) and the openings mask of every cell, where every opening is marked by
+ * the bit of its {@link MovementDirection}.
+ */
+public class MazeLayout {
+
+    private final int numberOfRows;
+
+    private final int numberOfColumns;
+
+    private final int[] connectedPaths;
+
+    private final byte[] openings;
+
+    /**
+     * Constructs the layout of a maze from the packed ids of its connected paths and derives the
+     * openings of every cell from them.
+     *
+     * @param numberOfRows    the number of rows in the maze.
+     * @param numberOfColumns the number of columns in the maze.
+     * @param connectedPaths  packed ids of the connected paths.
+     */
+    public MazeLayout(int numberOfRows, int numberOfColumns, int[] connectedPaths) {
+        if (numberOfRows <= 0 || numberOfColumns <= 0) {
+            throw new IllegalArgumentException("Cannot create a layout with zero or negative number "
+                    + "of rows or columns.");
+        }
+        if (connectedPaths == null) {
+            throw new IllegalArgumentException("Connected paths cannot be null.");
+        }
+
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+        this.connectedPaths = connectedPaths.clone();
+        this.openings = new byte[numberOfRows * numberOfColumns];
+
+        for (int pathId : connectedPaths) {
+            int cellId = EdgeEnumerator.getCell(pathId);
+            int row = cellId / numberOfColumns;
+            int column = cellId % numberOfColumns;
+            if (EdgeEnumerator.getAxis(pathId) == EdgeEnumerator.HORIZONTAL) {
+                int east = row * numberOfColumns + (column + 1) % numberOfColumns;
+                openings[cellId] |= MovementDirection.EAST.getMask();
+                openings[east] |= MovementDirection.WEST.getMask();
+            } else {
+                int south = ((row + 1) % numberOfRows) * numberOfColumns + column;
+                openings[cellId] |= MovementDirection.SOUTH.getMask();
+                openings[south] |= MovementDirection.NORTH.getMask();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of rows in the maze.
+     *
+     * @return numberOfRows.
+     */
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * Returns the number of columns in the maze.
+     *
+     * @return numberOfColumns.
+     */
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    /**
+     * Returns a copy of the packed ids of the connected paths.
+     *
+     * @return connected path ids.
+     */
+    public int[] getConnectedPaths() {
+        return connectedPaths.clone();
+    }
+
+    /**
+     * Returns the number of connected paths.
+     *
+     * @return number of connected paths.
+     */
+    public int getNumberOfConnectedPaths() {
+        return connectedPaths.length;
+    }
+
+    /**
+     * Returns the openings mask of the cell at the given row and column.
+     *
+     * @param row    the row number of the cell.
+     * @param column the column number of the cell.
+     * @return openings mask.
+     */
+    public int getOpenings(int row, int column) {
+        return openings[row * numberOfColumns + column];
+    }
+}
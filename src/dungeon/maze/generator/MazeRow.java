@@ -0,0 +1,127 @@
+package dungeon.maze.generator;
+
+import java.util.Arrays;
+
+import dungeon.location.Collectible;
+import dungeon.location.MovementDirection;
+import dungeon.obstacles.ObstacleType;
+
+/**
+ * The MazeRow holds a single row of a maze that is generated one row at a time. The openings of a
+ * cell are marked by the bits of {@link MovementDirection}, the treasures by the bit (1 shifted by
+ * the ordinal) of every {@link Collectible} and the obstacles by the bit (1 shifted by the ordinal)
+ * of every {@link ObstacleType}. A single row object is reused for every row of the maze, so the
+ * memory used by the generator only grows with the number of columns.
+ */
+public class MazeRow {
+
+    private final byte[] openings;
+
+    private final byte[] treasures;
+
+    private final byte[] obstacles;
+
+    private final boolean[] arrows;
+
+    private int rowNumber;
+
+    MazeRow(int numberOfColumns) {
+        this.openings = new byte[numberOfColumns];
+        this.treasures = new byte[numberOfColumns];
+        this.obstacles = new byte[numberOfColumns];
+        this.arrows = new boolean[numberOfColumns];
+    }
+
+    /**
+     * Returns the row number of this row in the maze.
+     *
+     * @return rowNumber.
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Returns the number of columns in the row.
+     *
+     * @return numberOfColumns.
+     */
+    public int getNumberOfColumns() {
+        return openings.length;
+    }
+
+    /**
+     * Returns the openings mask of the cell in the given column.
+     *
+     * @param column the column number of the cell.
+     * @return openings mask.
+     */
+    public int getOpenings(int column) {
+        return openings[column];
+    }
+
+    /**
+     * Checks if the cell in the given column is a cave, that is it does not have exactly two
+     * openings.
+     *
+     * @param column the column number of the cell.
+     * @return true if the cell is a cave.
+     */
+    public boolean isCave(int column) {
+        return Integer.bitCount(openings[column]) != 2;
+    }
+
+    /**
+     * Returns the treasure mask of the cell in the given column.
+     *
+     * @param column the column number of the cell.
+     * @return treasure mask.
+     */
+    public int getTreasures(int column) {
+        return treasures[column];
+    }
+
+    /**
+     * Returns the obstacle mask of the cell in the given column.
+     *
+     * @param column the column number of the cell.
+     * @return obstacle mask.
+     */
+    public int getObstacles(int column) {
+        return obstacles[column];
+    }
+
+    /**
+     * Checks if the cell in the given column holds an arrow.
+     *
+     * @param column the column number of the cell.
+     * @return true if there is an arrow in the cell.
+     */
+    public boolean hasArrow(int column) {
+        return arrows[column];
+    }
+
+    void reset(int rowNumber) {
+        this.rowNumber = rowNumber;
+        Arrays.fill(openings, (byte) 0);
+        Arrays.fill(treasures, (byte) 0);
+        Arrays.fill(obstacles, (byte) 0);
+        Arrays.fill(arrows, false);
+    }
+
+    void addOpening(int column, MovementDirection direction) {
+        openings[column] |= direction.getMask();
+    }
+
+    void addTreasure(int column, Collectible collectible) {
+        treasures[column] |= 1 << collectible.ordinal();
+    }
+
+    void addObstacle(int column, ObstacleType obstacleType) {
+        obstacles[column] |= 1 << obstacleType.ordinal();
+    }
+
+    void addArrow(int column) {
+        arrows[column] = true;
+    }
+}
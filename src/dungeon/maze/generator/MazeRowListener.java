@@ -0,0 +1,16 @@
+package dungeon.maze.generator;
+
+/**
+ * A MazeRowListener receives the rows of a maze that is generated one row at a time. The row that is
+ * passed is reused by the generator for the next row, so a listener that needs the contents after
+ * returning is required to copy them.
+ */
+public interface MazeRowListener {
+
+    /**
+     * Accepts a completely generated row, none of its openings or contents change after this call.
+     *
+     * @param row the generated row.
+     */
+    void acceptRow(MazeRow row);
+}
@@ -0,0 +1,99 @@
+package dungeon.maze.generator;
+
+import java.util.List;
+
+import dungeon.RandomGenerator;
+import dungeon.location.Collectible;
+import dungeon.obstacles.ObstacleType;
+
+/**
+ * Places the treasures, arrows and obstacles of a maze that is generated one row at a time. Since
+ * the number of caves in the rows that are still to come is not known, the Otyughs and the pits
+ * are drawn against an estimate of the caves that are left, which is corrected after every cell.
+ * Once the cells that are left are not more than the obstacles that are still to be placed, every
+ * eligible cell receives one, so the requested counts are met unless the maze runs out of caves.
+ */
+class RowContentPlacer {
+
+    private static final List<Collectible> TREASURES
+            = List.of(Collectible.DIAMONDS, Collectible.RUBIES, Collectible.SAPPHIRES);
+
+    private final RandomGenerator randomGenerator;
+
+    private final int treasurePercentage;
+
+    private int cellsLeft;
+
+    private int cellsSeen;
+
+    private int cavesSeen;
+
+    private int otyughsLeft;
+
+    private int pitsLeft;
+
+    private int thievesLeft;
+
+    RowContentPlacer(int numberOfCells, int treasurePercentage, int numberOfOtyughs,
+                     int numberOfPits, int numberOfThieves, RandomGenerator randomGenerator) {
+        this.cellsLeft = numberOfCells;
+        this.treasurePercentage = treasurePercentage;
+        this.otyughsLeft = numberOfOtyughs;
+        this.pitsLeft = numberOfPits;
+        this.thievesLeft = numberOfThieves;
+        this.randomGenerator = randomGenerator;
+    }
+
+    void place(MazeRow row) {
+        for (int column = 0; column < row.getNumberOfColumns(); column++) {
+            boolean cave = row.isCave(column);
+            if (cave) {
+                int cavesLeft = (int) Math.max(1,
+                        Math.round((double) cellsLeft * (cavesSeen + 1) / (cellsSeen + 2)));
+                if (draw(otyughsLeft, cavesLeft)) {
+                    row.addObstacle(column, ObstacleType.OTYUGH);
+                    otyughsLeft--;
+                } else if (draw(pitsLeft, cavesLeft)) {
+                    row.addObstacle(column, ObstacleType.PIT);
+                    pitsLeft--;
+                }
+
+                if (isWithinTreasurePercentage()) {
+                    for (Collectible collectible : randomGenerator.pickNRandom(TREASURES,
+                            randomGenerator.getRandomNumberBetween(1, 3))) {
+                        row.addTreasure(column, collectible);
+                    }
+                }
+            }
+
+            if (row.getObstacles(column) == 0 && draw(thievesLeft, cellsLeft)) {
+                row.addObstacle(column, ObstacleType.THIEF);
+                thievesLeft--;
+            }
+
+            if (isWithinTreasurePercentage()) {
+                row.addArrow(column);
+            }
+
+            cellsSeen++;
+            cellsLeft--;
+            if (cave) {
+                cavesSeen++;
+            }
+        }
+    }
+
+    private boolean draw(int needed, int candidatesLeft) {
+        if (needed <= 0) {
+            return false;
+        } else if (needed >= candidatesLeft) {
+            return true;
+        }
+        return randomGenerator.getRandomNumberBetween(0, candidatesLeft - 1) < needed;
+    }
+
+    private boolean isWithinTreasurePercentage() {
+        return treasurePercentage > 0
+                && randomGenerator.getRandomNumberBetween(1, 100) <= treasurePercentage;
+    }
+}
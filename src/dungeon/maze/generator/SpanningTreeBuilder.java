@@ -0,0 +1,135 @@
+package dungeon.maze.generator;
+
+import dungeon.RandomGenerator;
+
+/**
+ * The SpanningTreeBuilder lays out the paths of the dungeon using the modified Kruskal's algorithm.
+ * The candidate paths are drawn one at a time at random from the paths that have not been drawn
+ * yet, a path that joins two locations which are not yet connected becomes a part of the spanning
+ * tree and every other path is kept aside as a remainder path. Once all the candidates are drawn,
+ * the degree of interconnectivity decides how many of the remainder paths are added on top of the
+ * spanning tree.
+ *
+ * <p>The candidates are identified by their index and their end points by cell ids, so that the
+ * connectivity is tracked by a {@link DisjointSet} and the candidates that are still to be drawn are
+ * tracked by a binary indexed tree. The random number drawn for every candidate is the index among
+ * the remaining candidates in their original order, which keeps the sequence of random numbers the
+ * same as removing the drawn path from a list.
+ */
+public class SpanningTreeBuilder {
+
+    private final RandomGenerator randomGenerator;
+
+    /**
+     * Constructs a builder that draws the candidate paths with the given random generator.
+     *
+     * @param randomGenerator encapsulates the methods to generate and pick random values.
+     */
+    public SpanningTreeBuilder(RandomGenerator randomGenerator) {
+        if (randomGenerator == null) {
+            throw new IllegalArgumentException("Random Generator is required to build the maze.");
+        }
+        this.randomGenerator = randomGenerator;
+    }
+
+    /**
+     * Builds the spanning tree along with the extra paths for the degree of interconnectivity over
+     * all the potential paths listed by the enumerator.
+     *
+     * @param edgeEnumerator            lists the potential paths of the grid.
+     * @param degreeOfInterconnectivity number of remainder paths to be added to the spanning tree.
+     * @return packed ids of the connected paths, the spanning tree paths in the order they were
+     *         drawn followed by the extra paths.
+     */
+    public int[] build(EdgeEnumerator edgeEnumerator, int degreeOfInterconnectivity) {
+        int[] potentialPaths = edgeEnumerator.enumerate();
+        int[] locationOne = new int[potentialPaths.length];
+        int[] locationTwo = new int[potentialPaths.length];
+        for (int i = 0; i < potentialPaths.length; i++) {
+            locationOne[i] = edgeEnumerator.getLocationOne(potentialPaths[i]);
+            locationTwo[i] = edgeEnumerator.getLocationTwo(potentialPaths[i]);
+        }
+
+        int[] connected = build(edgeEnumerator.getNumberOfCells(), locationOne, locationTwo,
+                degreeOfInterconnectivity);
+        for (int i = 0; i < connected.length; i++) {
+            connected[i] = potentialPaths[connected[i]];
+        }
+        return connected;
+    }
+
+    /**
+     * Builds the spanning tree along with the extra paths for the degree of interconnectivity. The
+     * i-th candidate path connects the cells locationOne[i] and locationTwo[i].
+     *
+     * @param numberOfCells             total number of cells in the grid.
+     * @param locationOne               cell id of one end of every candidate path.
+     * @param locationTwo               cell id of the other end of every candidate path.
+     * @param degreeOfInterconnectivity number of remainder paths to be added to the spanning tree.
+     * @return indexes of the connected candidates, the spanning tree paths in the order they were
+     *         drawn followed by the extra paths.
+     */
+    public int[] build(int numberOfCells, int[] locationOne, int[] locationTwo,
+                       int degreeOfInterconnectivity) {
+        if (locationOne.length != locationTwo.length) {
+            throw new IllegalArgumentException("Every candidate path requires both of its locations.");
+        }
+
+        int numberOfCandidates = locationOne.length;
+        DisjointSet connectedLocations = new DisjointSet(numberOfCells);
+        int[] tree = new int[numberOfCandidates];
+        int treeSize = 0;
+        int[] remainderPaths = new int[numberOfCandidates];
+        int remainderSize = 0;
+
+        int[] remaining = createRemainingCandidates(numberOfCandidates);
+        for (int drawn = 0; drawn < numberOfCandidates; drawn++) {
+            int position = randomGenerator.getRandomNumberBetween(0,
+                    numberOfCandidates - drawn - 1);
+            int candidate = removeRemainingCandidate(remaining, position);
+            if (connectedLocations.union(locationOne[candidate], locationTwo[candidate])) {
+                tree[treeSize++] = candidate;
+            } else {
+                remainderPaths[remainderSize++] = candidate;
+            }
+        }
+
+        int[] extraPaths = randomGenerator.pickNRandomIndexes(remainderSize,
+                degreeOfInterconnectivity);
+        int[] connected = new int[treeSize + extraPaths.length];
+        System.arraycopy(tree, 0, connected, 0, treeSize);
+        for (int i = 0; i < extraPaths.length; i++) {
+            connected[treeSize + i] = remainderPaths[extraPaths[i]];
+        }
+        return connected;
+    }
+
+    private int[] createRemainingCandidates(int numberOfCandidates) {
+        int[] remaining = new int[numberOfCandidates + 1];
+        for (int i = 1; i <= numberOfCandidates; i++) {
+            remaining[i]++;
+            int parent = i + (i & -i);
+            if (parent <= numberOfCandidates) {
+                remaining[parent] += remaining[i];
+            }
+        }
+        return remaining;
+    }
+
+    private int removeRemainingCandidate(int[] remaining, int position) {
+        int index = 0;
+        int rank = position + 1;
+        for (int step = Integer.highestOneBit(remaining.length - 1); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < remaining.length && remaining[next] < rank) {
+                index = next;
+                rank -= remaining[next];
+            }
+        }
+
+        for (int i = index + 1; i < remaining.length; i += i & -i) {
+            remaining[i]--;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,271 @@
+package dungeon.maze.generator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import dungeon.RandomGenerator;
+
+/**
+ * The TiledMazeGenerator splits the grid into square tiles and builds a spanning tree for every
+ * tile in parallel on a {@link ForkJoinPool}. Since the paths inside a tile connect all of its
+ * locations, a final pass only has to join the tiles with each other: the paths that cross the
+ * boundary of a tile are drawn in random order and connected whenever they join two tiles that are
+ * not yet connected, which leaves a single spanning tree over the whole grid. The degree of
+ * interconnectivity is then picked from every path that was left out, inside or between the tiles.
+ *
+ * <p>Every tile draws its random numbers from its own stream, split from a root generator in the
+ * order of the tiles before any of them is scheduled. The layout therefore only depends on the seed
+ * and never on the number of threads or on the order in which the tiles are completed. When no seed
+ * is given, the seed is drawn from the random generator passed to {@link #generate}.
+ */
+public class TiledMazeGenerator implements MazeGenerator {
+
+    private static final int DEFAULT_TILE_SIZE = 64;
+
+    private final int tileSize;
+
+    private final ForkJoinPool forkJoinPool;
+
+    private final boolean seeded;
+
+    private final long seed;
+
+    /**
+     * Constructs a tiled generator with tiles of 64 x 64 locations that runs on the common pool.
+     */
+    public TiledMazeGenerator() {
+        this(DEFAULT_TILE_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a tiled generator that draws its seed from the random generator of the dungeon.
+     *
+     * @param tileSize     the number of rows and columns of a tile.
+     * @param forkJoinPool the pool on which the tiles are generated.
+     */
+    public TiledMazeGenerator(int tileSize, ForkJoinPool forkJoinPool) {
+        this(tileSize, forkJoinPool, false, 0);
+    }
+
+    /**
+     * Constructs a tiled generator that always generates the same layout for the same seed and
+     * dimensions, irrespective of the parallelism of the pool.
+     *
+     * @param tileSize     the number of rows and columns of a tile.
+     * @param forkJoinPool the pool on which the tiles are generated.
+     * @param seed         the seed of the layout.
+     */
+    public TiledMazeGenerator(int tileSize, ForkJoinPool forkJoinPool, long seed) {
+        this(tileSize, forkJoinPool, true, seed);
+    }
+
+    private TiledMazeGenerator(int tileSize, ForkJoinPool forkJoinPool, boolean seeded, long seed) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size should be a positive number.");
+        }
+        if (forkJoinPool == null) {
+            throw new IllegalArgumentException("A pool is required to generate the tiles.");
+        }
+        this.tileSize = tileSize;
+        this.forkJoinPool = forkJoinPool;
+        this.seeded = seeded;
+        this.seed = seed;
+    }
+
+    @Override
+    public MazeLayout generate(int numberOfRows, int numberOfColumns, boolean wrapping,
+                               int degreeOfInterconnectivity, RandomGenerator randomGenerator) {
+        EdgeEnumerator edgeEnumerator = new EdgeEnumerator(numberOfRows, numberOfColumns, wrapping);
+        int remainderPaths = edgeEnumerator.getNumberOfPaths() - (numberOfRows * numberOfColumns - 1);
+        if (degreeOfInterconnectivity < 0 || degreeOfInterconnectivity > remainderPaths) {
+            throw new IllegalArgumentException("Degree of interconnectivity cannot be less than 0 or "
+                    + "more than the minimum possible number of connections.");
+        }
+
+        SplittableRandom root = new SplittableRandom(seeded ? seed : drawSeed(randomGenerator));
+        int tileRows = (numberOfRows + tileSize - 1) / tileSize;
+        int tileColumns = (numberOfColumns + tileSize - 1) / tileSize;
+        Tile[] tiles = new Tile[tileRows * tileColumns];
+        for (int t = 0; t < tiles.length; t++) {
+            int firstRow = t / tileColumns * tileSize;
+            int firstColumn = t % tileColumns * tileSize;
+            tiles[t] = new Tile(firstRow, firstColumn, Math.min(numberOfRows, firstRow + tileSize),
+                    Math.min(numberOfColumns, firstColumn + tileSize), numberOfColumns,
+                    root.split());
+        }
+
+        forkJoinPool.invoke(new TileTask(tiles, 0, tiles.length));
+
+        int[] connectedPaths = new int[numberOfRows * numberOfColumns - 1
+                + degreeOfInterconnectivity];
+        int[] leftOutPaths = new int[remainderPaths];
+        int connected = 0;
+        int leftOut = 0;
+        for (Tile tile : tiles) {
+            System.arraycopy(tile.treePaths, 0, connectedPaths, connected, tile.treeSize);
+            connected += tile.treeSize;
+            System.arraycopy(tile.leftOutPaths, 0, leftOutPaths, leftOut, tile.leftOutSize);
+            leftOut += tile.leftOutSize;
+        }
+
+        int[] boundaryPaths = listBoundaryPaths(edgeEnumerator, numberOfRows, numberOfColumns);
+        shuffle(boundaryPaths, boundaryPaths.length, root);
+        DisjointSet connectedTiles = new DisjointSet(tiles.length);
+        for (int pathId : boundaryPaths) {
+            if (connectedTiles.union(
+                    getTile(edgeEnumerator.getLocationOne(pathId), numberOfColumns, tileColumns),
+                    getTile(edgeEnumerator.getLocationTwo(pathId), numberOfColumns, tileColumns))) {
+                connectedPaths[connected++] = pathId;
+            } else {
+                leftOutPaths[leftOut++] = pathId;
+            }
+        }
+
+        for (int i = 0; i < degreeOfInterconnectivity; i++) {
+            int picked = i + root.nextInt(leftOut - i);
+            int pathId = leftOutPaths[picked];
+            leftOutPaths[picked] = leftOutPaths[i];
+            leftOutPaths[i] = pathId;
+            connectedPaths[connected++] = pathId;
+        }
+
+        return new MazeLayout(numberOfRows, numberOfColumns, connectedPaths);
+    }
+
+    private long drawSeed(RandomGenerator randomGenerator) {
+        if (randomGenerator == null) {
+            throw new IllegalArgumentException("Random Generator is required to build the maze.");
+        }
+        long high = randomGenerator.getRandomNumberBetween(0, Integer.MAX_VALUE - 1);
+        long low = randomGenerator.getRandomNumberBetween(0, Integer.MAX_VALUE - 1);
+        return (high << 31) ^ low;
+    }
+
+    private int getTile(int cellId, int numberOfColumns, int tileColumns) {
+        int row = cellId / numberOfColumns;
+        int column = cellId % numberOfColumns;
+        return (row / tileSize) * tileColumns + column / tileSize;
+    }
+
+    private int[] listBoundaryPaths(EdgeEnumerator edgeEnumerator, int numberOfRows,
+                                    int numberOfColumns) {
+        int[] potentialPaths = edgeEnumerator.enumerate();
+        int boundary = 0;
+        for (int pathId : potentialPaths) {
+            int cellId = EdgeEnumerator.getCell(pathId);
+            boolean crossesColumns = EdgeEnumerator.getAxis(pathId) == EdgeEnumerator.HORIZONTAL
+                    && ((cellId % numberOfColumns) % tileSize == tileSize - 1
+                    || cellId % numberOfColumns == numberOfColumns - 1);
+            boolean crossesRows = EdgeEnumerator.getAxis(pathId) == EdgeEnumerator.VERTICAL
+                    && ((cellId / numberOfColumns) % tileSize == tileSize - 1
+                    || cellId / numberOfColumns == numberOfRows - 1);
+            if (crossesColumns || crossesRows) {
+                potentialPaths[boundary++] = pathId;
+            }
+        }
+        int[] boundaryPaths = new int[boundary];
+        System.arraycopy(potentialPaths, 0, boundaryPaths, 0, boundary);
+        return boundaryPaths;
+    }
+
+    private static void shuffle(int[] items, int size, SplittableRandom random) {
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int item = items[i];
+            items[i] = items[j];
+            items[j] = item;
+        }
+    }
+
+    /**
+     * A rectangular part of the grid along with the spanning tree built over its locations.
+     */
+    private static final class Tile {
+
+        private final int firstRow;
+        private final int firstColumn;
+        private final int endRow;
+        private final int endColumn;
+        private final int numberOfColumns;
+        private final SplittableRandom random;
+        private int[] treePaths;
+        private int[] leftOutPaths;
+        private int treeSize;
+        private int leftOutSize;
+
+        private Tile(int firstRow, int firstColumn, int endRow, int endColumn, int numberOfColumns,
+                     SplittableRandom random) {
+            this.firstRow = firstRow;
+            this.firstColumn = firstColumn;
+            this.endRow = endRow;
+            this.endColumn = endColumn;
+            this.numberOfColumns = numberOfColumns;
+            this.random = random;
+        }
+
+        private void build() {
+            int height = endRow - firstRow;
+            int width = endColumn - firstColumn;
+
+            int[] internalPaths = new int[height * (width - 1) + width * (height - 1)];
+            int size = 0;
+            for (int i = firstRow; i < endRow; i++) {
+                for (int j = firstColumn; j < endColumn; j++) {
+                    int cellId = i * numberOfColumns + j;
+                    if (j + 1 < endColumn) {
+                        internalPaths[size++] = EdgeEnumerator.pack(cellId, EdgeEnumerator.HORIZONTAL);
+                    }
+                    if (i + 1 < endRow) {
+                        internalPaths[size++] = EdgeEnumerator.pack(cellId, EdgeEnumerator.VERTICAL);
+                    }
+                }
+            }
+            shuffle(internalPaths, internalPaths.length, random);
+
+            DisjointSet connectedLocations = new DisjointSet(height * width);
+            treePaths = new int[height * width - 1];
+            leftOutPaths = new int[internalPaths.length - treePaths.length];
+            for (int pathId : internalPaths) {
+                int cellId = EdgeEnumerator.getCell(pathId);
+                int local = (cellId / numberOfColumns - firstRow) * width
+                        + cellId % numberOfColumns - firstColumn;
+                int neighbour = EdgeEnumerator.getAxis(pathId) == EdgeEnumerator.HORIZONTAL
+                        ? local + 1 : local + width;
+                if (connectedLocations.union(local, neighbour)) {
+                    treePaths[treeSize++] = pathId;
+                } else {
+                    leftOutPaths[leftOutSize++] = pathId;
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a range of tiles by splitting it in halves until a single tile is left.
+     */
+    private static final class TileTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Tile[] tiles;
+        private final int from;
+        private final int to;
+
+        private TileTask(Tile[] tiles, int from, int to) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                tiles[from].build();
+            } else if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(tiles, from, middle), new TileTask(tiles, middle, to));
+            }
+        }
+    }
+}
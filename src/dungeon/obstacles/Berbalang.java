@@ -3,6 +3,7 @@ package dungeon.obstacles;
 import dungeon.RandomGenerator;
 import dungeon.location.MovementDirection;
 import dungeon.location.paths.LocationAddress;
+import dungeon.location.paths.GridTopology;
 import dungeon.location.weapon.Weapon;
 import dungeon.location.weapon.WeaponType;
 
@@ -14,13 +15,11 @@ import dungeon.location.weapon.WeaponType;
  */
 public class Berbalang implements Monster {
 
-    private final LocationAddress startLocation;
-    private final int numberOfRows;
-    private final int numberOfColumns;
-    private final boolean isWrap;
+    private final GridTopology topology;
+    private final int startCell;
     private final RandomGenerator randomGenerator;
     private int health;
-    private LocationAddress currentLocation;
+    private int currentCell;
 
     /**
      * Constructs a moving monster that roams throughout the dungeon looking for the player by
@@ -35,6 +34,22 @@ public class Berbalang implements Monster {
      */
     public Berbalang(int health, RandomGenerator randomGenerator, LocationAddress locationAddress,
                      int numberOfRows, int numberOfColumns, boolean isWrap) {
+        this(health, randomGenerator, locationAddress,
+                createTopology(numberOfRows, numberOfColumns, isWrap));
+    }
+
+    /**
+     * Constructs a moving monster that roams through the locations of the given topology, the
+     * addresses handed out by the monster are the ones kept by the table of addresses of the
+     * topology.
+     *
+     * @param health          initial health of the Berbalang.
+     * @param randomGenerator instance of random generator for attacking.
+     * @param locationAddress the starting location of the monster.
+     * @param topology        the neighbours and the addresses of the locations of the dungeon.
+     */
+    public Berbalang(int health, RandomGenerator randomGenerator, LocationAddress locationAddress,
+                     GridTopology topology) {
 
         if (health == 0) {
             throw new IllegalArgumentException("Cannot create a dead Berbalang Monster");
@@ -49,17 +64,23 @@ public class Berbalang implements Monster {
             throw new IllegalArgumentException("Random Generator is required for attacking.");
         }
 
-        if (numberOfColumns <= 0 || numberOfRows <= 0) {
-            throw new IllegalArgumentException("Invalid number of rows and columns.");
+        if (topology == null) {
+            throw new IllegalArgumentException("The Berbalang needs the topology of the dungeon.");
         }
 
         this.health = health;
         this.randomGenerator = randomGenerator;
-        this.startLocation = locationAddress;
-        this.currentLocation = locationAddress;
-        this.numberOfColumns = numberOfColumns;
-        this.numberOfRows = numberOfRows;
-        this.isWrap = isWrap;
+        this.topology = topology;
+        this.startCell = topology.getAddressTable().getCellId(locationAddress);
+        this.currentCell = startCell;
+    }
+
+    private static GridTopology createTopology(int numberOfRows, int numberOfColumns,
+                                               boolean isWrap) {
+        if (numberOfColumns <= 0 || numberOfRows <= 0) {
+            throw new IllegalArgumentException("Invalid number of rows and columns.");
+        }
+        return new GridTopology(numberOfRows, numberOfColumns, isWrap);
     }
 
     @Override
@@ -97,74 +118,32 @@ public class Berbalang implements Monster {
 
     @Override
     public void move(MovementDirection movementDirection) {
-        switch (movementDirection) {
-            case WEST: {
-                if (isWrap && currentLocation.getColumnNumber() == 0) {
-                    currentLocation = new LocationAddress(currentLocation.getRowNumber(),
-                            numberOfColumns - 1);
-                } else {
-                    currentLocation
-                            = new LocationAddress(
-                            currentLocation.getRowNumber(),
-                            currentLocation.getColumnNumber() - 1);
-                }
-            }
-            break;
-
-            case EAST: {
-                if (isWrap && currentLocation.getColumnNumber() == numberOfColumns - 1) {
-                    currentLocation = new LocationAddress(currentLocation.getRowNumber(), 0);
-                } else {
-                    currentLocation
-                            = new LocationAddress(
-                            currentLocation.getRowNumber(),
-                            currentLocation.getColumnNumber() + 1);
-                }
-
-            }
-            break;
-
-            case SOUTH: {
-                if (isWrap && currentLocation.getRowNumber() == numberOfRows - 1) {
-                    currentLocation = new LocationAddress(0,
-                            currentLocation.getColumnNumber());
-                } else {
-                    currentLocation
-                            = new LocationAddress(currentLocation.getRowNumber() + 1,
-                            currentLocation.getColumnNumber());
-                }
-            }
-            break;
-
-            case NORTH: {
-                if (isWrap && currentLocation.getRowNumber() == 0) {
-                    currentLocation = new LocationAddress(numberOfRows - 1,
-                            currentLocation.getColumnNumber());
-                } else {
-                    currentLocation
-                            = new LocationAddress(currentLocation.getRowNumber() - 1,
-                            currentLocation.getColumnNumber());
-                }
-            }
-            break;
-
-            default: {
-                currentLocation
-                        = new LocationAddress(currentLocation.getRowNumber(),
-                        currentLocation.getColumnNumber());
-            }
-            break;
+        int neighbour = topology.getNeighbour(currentCell, movementDirection);
+        if (neighbour == -1) {
+            throw new IllegalArgumentException("The Berbalang cannot move " + movementDirection
+                    + " out of the dungeon.");
         }
+        currentCell = neighbour;
     }
 
     @Override
     public LocationAddress getLocation() {
-        return new LocationAddress(currentLocation);
+        return topology.getAddressTable().getAddress(currentCell);
+    }
+
+    /**
+     * Returns the cell id (row * numberOfColumns + column) of the current location of the
+     * Berbalang.
+     *
+     * @return the cell id of the current location.
+     */
+    public int getCellId() {
+        return currentCell;
     }
 
     @Override
     public void reset() {
         health = 100;
-        currentLocation = startLocation;
+        currentCell = startCell;
     }
 }
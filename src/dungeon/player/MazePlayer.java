@@ -6,6 +6,7 @@ import java.util.Map;
 import dungeon.location.Collectible;
 import dungeon.location.MovementDirection;
 import dungeon.location.paths.LocationAddress;
+import dungeon.location.paths.GridTopology;
 import dungeon.location.weapon.Weapon;
 
 /**
@@ -16,12 +17,10 @@ import dungeon.location.weapon.Weapon;
 public class MazePlayer implements Player {
 
     private final Map<Collectible, Integer> collectedTreasureMap;
-    private final int numberOfRows;
-    private final int numberOfColumns;
-    private final boolean isWrap;
+    private final GridTopology topology;
     private final Weapon weapon;
-    private final LocationAddress startLocation;
-    private LocationAddress currentLocation;
+    private final int startCell;
+    private int currentCell;
     private int arrowCount;
     private int health;
 
@@ -40,88 +39,60 @@ public class MazePlayer implements Player {
      */
     public MazePlayer(LocationAddress startLocation, int numberOfRows,
                       int numberOfColumns, boolean isWrapping, int arrowCount, Weapon weapon) {
-        if (numberOfColumns <= 0 || numberOfRows <= 0) {
-            throw new IllegalArgumentException("The player cannot be a part of maze that has zero or "
-                    + "negative number of rows or columns");
+        this(startLocation, createTopology(numberOfRows, numberOfColumns, isWrapping), arrowCount,
+                weapon);
+    }
+
+    /**
+     * Constructs a player that moves through the locations of the given topology, the addresses
+     * handed out by the player are the ones kept by the table of addresses of the topology.
+     *
+     * @param startLocation the start location of the player composed of row and column number.
+     * @param topology      the neighbours and the addresses of the locations of the dungeon.
+     * @param arrowCount    the number of arrows that the player has when they begin the game.
+     * @param weapon        the weapon used by the player to attempt slaying the monsters.
+     */
+    public MazePlayer(LocationAddress startLocation, GridTopology topology, int arrowCount,
+                      Weapon weapon) {
+        if (topology == null) {
+            throw new IllegalArgumentException("The player needs the topology of the dungeon.");
         }
         this.collectedTreasureMap = new HashMap<>();
-        this.startLocation = startLocation;
-        this.currentLocation = startLocation;
-        this.numberOfColumns = numberOfColumns;
-        this.numberOfRows = numberOfRows;
-        this.isWrap = isWrapping;
+        this.topology = topology;
+        this.startCell = topology.getAddressTable().getCellId(startLocation);
+        this.currentCell = startCell;
         this.arrowCount = arrowCount;
         this.weapon = weapon;
         this.health = 100;
     }
 
+    private static GridTopology createTopology(int numberOfRows, int numberOfColumns,
+                                               boolean isWrapping) {
+        if (numberOfColumns <= 0 || numberOfRows <= 0) {
+            throw new IllegalArgumentException("The player cannot be a part of maze that has zero or "
+                    + "negative number of rows or columns");
+        }
+        return new GridTopology(numberOfRows, numberOfColumns, isWrapping);
+    }
+
     @Override
     public void move(MovementDirection movementDirection) {
-
-        switch (movementDirection) {
-            case WEST: {
-                if (isWrap && currentLocation.getColumnNumber() == 0) {
-                    currentLocation = new LocationAddress(currentLocation.getRowNumber(),
-                            numberOfColumns - 1);
-                } else {
-                    currentLocation
-                            = new LocationAddress(
-                            currentLocation.getRowNumber(),
-                            currentLocation.getColumnNumber() - 1);
-                }
-            }
-            break;
-
-            case EAST: {
-                if (isWrap && currentLocation.getColumnNumber() == numberOfColumns - 1) {
-                    currentLocation = new LocationAddress(currentLocation.getRowNumber(), 0);
-                } else {
-                    currentLocation
-                            = new LocationAddress(
-                            currentLocation.getRowNumber(),
-                            currentLocation.getColumnNumber() + 1);
-                }
-
-            }
-            break;
-
-            case SOUTH: {
-                if (isWrap && currentLocation.getRowNumber() == numberOfRows - 1) {
-                    currentLocation = new LocationAddress(0,
-                            currentLocation.getColumnNumber());
-                } else {
-                    currentLocation
-                            = new LocationAddress(currentLocation.getRowNumber() + 1,
-                            currentLocation.getColumnNumber());
-                }
-            }
-            break;
-
-            case NORTH: {
-                if (isWrap && currentLocation.getRowNumber() == 0) {
-                    currentLocation = new LocationAddress(numberOfRows - 1,
-                            currentLocation.getColumnNumber());
-                } else {
-                    currentLocation
-                            = new LocationAddress(currentLocation.getRowNumber() - 1,
-                            currentLocation.getColumnNumber());
-                }
-            }
-            break;
-
-            default: {
-                currentLocation
-                        = new LocationAddress(currentLocation.getRowNumber(),
-                        currentLocation.getColumnNumber());
-            }
-            break;
+        int neighbour = topology.getNeighbour(currentCell, movementDirection);
+        if (neighbour == -1) {
+            throw new IllegalArgumentException("The player cannot move " + movementDirection
+                    + " out of the dungeon.");
         }
-
+        currentCell = neighbour;
     }
 
     @Override
     public LocationAddress getCurrentLocation() {
-        return new LocationAddress(currentLocation);
+        return topology.getAddressTable().getAddress(currentCell);
+    }
+
+    @Override
+    public int getCurrentCellId() {
+        return currentCell;
     }
 
     @Override
@@ -189,7 +160,7 @@ public class MazePlayer implements Player {
     public void reset() {
         health = 100;
         arrowCount = 3;
-        currentLocation = startLocation;
+        currentCell = startCell;
         emptyTreasure();
     }
 
@@ -197,6 +168,6 @@ public class MazePlayer implements Player {
     public String toString() {
         return new StringBuilder().append("Player").append(" (").append("Treasure = ")
                 .append(collectedTreasureMap).append(", Current Location = ")
-                .append(currentLocation).append(')').toString();
+                .append(getCurrentLocation()).append(')').toString();
     }
 }
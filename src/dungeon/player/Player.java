@@ -30,6 +30,13 @@ public interface Player {
      */
     LocationAddress getCurrentLocation();
 
+    /**
+     * Returns the cell id (row * numberOfColumns + column) of the current location of the player.
+     *
+     * @return the cell id of the current location.
+     */
+    int getCurrentCellId();
+
     /**
      * Collects the treasure from the location and updates the score accordingly. Each treasure has a
      * different score associated with it.
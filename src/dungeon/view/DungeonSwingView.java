@@ -31,6 +31,7 @@ public class DungeonSwingView extends JFrame implements DungeonView {
     public static final int MAIN_HEIGHT = 1080;
     private final ReadonlyMaze readonlyMaze;
     private final ActionsPanel actionsPanel;
+    private MazeBoard mazeBoard;
     private boolean takingJumpInput = false;
     private boolean takingShootInput = false;
     private boolean takingDistance = false;
@@ -69,7 +70,7 @@ public class DungeonSwingView extends JFrame implements DungeonView {
             cellHeight = ((MAIN_WIDTH / 2) / readonlyMaze.getNumberOfColumns());
         }
 
-        MazeBoard mazeBoard = new MazeBoard(readonlyMaze, listener, cellWidth, cellHeight);
+        mazeBoard = new MazeBoard(readonlyMaze, listener, cellWidth, cellHeight);
         ScrollPanel scrollPanel = new ScrollPanel(readonlyMaze, mazeBoard, cellWidth, cellHeight);
 
         add(scrollPanel);
@@ -235,6 +236,10 @@ public class DungeonSwingView extends JFrame implements DungeonView {
                 if (key == KeyEvent.VK_P) {
                     listener.handlePlayerPunch();
                 }
+
+                if (key == KeyEvent.VK_H && mazeBoard != null) {
+                    mazeBoard.setShowingRouteHint(!mazeBoard.isShowingRouteHint());
+                }
             }
         };
 
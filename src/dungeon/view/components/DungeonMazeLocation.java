@@ -7,7 +7,6 @@ import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Set;
 
 import javax.imageio.ImageIO;
 import javax.swing.JPanel;
@@ -16,6 +15,7 @@ import dungeon.location.Location;
 import dungeon.location.MovementDirection;
 import dungeon.maze.DungeonGuiController;
 import dungeon.maze.ReadonlyMaze;
+import dungeon.obstacles.ObstacleType;
 
 /**
  * This represents a single cell in the maze which can either be a cave or a tunnel, it displays an
@@ -28,10 +28,28 @@ import dungeon.maze.ReadonlyMaze;
  */
 public class DungeonMazeLocation extends JPanel {
 
+    private static final MovementDirection[] DIRECTIONS = MovementDirection.values();
+    private static final String[] DIRECTION_IMAGE_NAMES = new String[1 << DIRECTIONS.length];
+    private static final int PIT_MASK = 1 << ObstacleType.PIT.ordinal();
+    private static final int THIEF_MASK = 1 << ObstacleType.THIEF.ordinal();
+
+    static {
+        for (int openings = 0; openings < DIRECTION_IMAGE_NAMES.length; openings++) {
+            StringBuilder imageNameBuilder = new StringBuilder();
+            for (MovementDirection direction : DIRECTIONS) {
+                if ((openings & direction.getMask()) != 0) {
+                    imageNameBuilder.append(direction.toString().charAt(0));
+                }
+            }
+            DIRECTION_IMAGE_NAMES[openings] = imageNameBuilder.append(".png").toString();
+        }
+    }
+
     private final ReadonlyMaze model;
     private final int cellWidth;
     private final int cellHeight;
-    private Location location;
+    private final int rowNumber;
+    private final int columnNumber;
     private BufferedImage locationImage;
 
     /**
@@ -55,7 +73,8 @@ public class DungeonMazeLocation extends JPanel {
                     + "than or equal to 0");
         }
 
-        this.location = location;
+        this.rowNumber = location.getAddress().getRowNumber();
+        this.columnNumber = location.getAddress().getColumnNumber();
         this.model = model;
         this.cellWidth = cellWidth;
         this.cellHeight = cellHeight;
@@ -71,12 +90,12 @@ public class DungeonMazeLocation extends JPanel {
             @Override
             public void mouseClicked(MouseEvent e) {
                 super.mouseClicked(e);
-                if (model.getPlayerCurrentLocation().equals(location)) {
+                if (isPlayerLocation()) {
                     int x = e.getX();
                     int y = e.getY();
 
-                    MovementDirection moveTo
-                            = model.getPlayerCurrentLocation().getOpenings().iterator().next();
+                    MovementDirection moveTo = DIRECTIONS[Integer.numberOfTrailingZeros(
+                            model.getOpeningsMask(rowNumber, columnNumber))];
 
                     if (x > 0 && x < cellWidth / 5 && y > cellHeight / 5 && y < 4 * (cellHeight / 5)) {
                         moveTo = MovementDirection.WEST;
@@ -102,11 +121,8 @@ public class DungeonMazeLocation extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
 
-        location = model.getMazeMap()[location.getAddress().getRowNumber()]
-                [location.getAddress().getColumnNumber()];
-
         try {
-            if (model.getVisitedLocations().contains(location.getAddress())) {
+            if (model.isVisited(rowNumber, columnNumber)) {
                 drawLocation(g);
             } else {
                 InputStream imageStream = getClass().getResourceAsStream("/black.png");
@@ -122,22 +138,22 @@ public class DungeonMazeLocation extends JPanel {
 
     private void drawLocation(Graphics g) throws IOException {
         InputStream imageStream = getClass().getResourceAsStream("/"
-                + getDirectionImageName(location.getOpenings()));
+                + DIRECTION_IMAGE_NAMES[model.getOpeningsMask(rowNumber, columnNumber)]);
         if (imageStream != null) {
             locationImage = ImageIO.read(imageStream);
         }
         g.drawImage(locationImage, 0, 0, cellWidth, cellHeight, null);
 
-        if (location.isHasArrow()) {
+        if (model.hasArrow(rowNumber, columnNumber)) {
             drawImageAsOverlay(g, "arrow.png");
         }
 
-        if (location.getTreasures() != null && !location.getTreasures().isEmpty()) {
+        if (model.getTreasureMask(rowNumber, columnNumber) != 0) {
             drawImageAsOverlay(g, "treasure.png");
         }
 
-        if (location.getAddress().equals(model.getPlayerCurrentLocation().getAddress())
-                && location.getPit() == null) {
+        int obstacles = model.getObstacleMask(rowNumber, columnNumber);
+        if (isPlayerLocation() && (obstacles & PIT_MASK) == 0) {
             drawImageAsOverlay(g, "player.png");
             int smellLevel = model.detectSmell();
             if (smellLevel == 2) {
@@ -149,55 +165,53 @@ public class DungeonMazeLocation extends JPanel {
             if (windLevel != 0) {
                 drawImageAsOverlay(g, "high_wind.png");
             }
-        } else if (location.getPit() != null) {
+        } else if ((obstacles & PIT_MASK) != 0) {
             drawImageAsOverlay(g, "pit_maze.png");
-        } else if (location.getThief() != null) {
+        } else if ((obstacles & THIEF_MASK) != 0) {
             drawImageAsOverlay(g, "thief_maze.png");
         }
 
-        if (location.getAddress().getRowNumber() == (model.getEndRow())
-                && location.getAddress().getColumnNumber() == (model.getEndColumn())) {
+        if (rowNumber == model.getEndRow() && columnNumber == model.getEndColumn()) {
             drawImageAsOverlay(g, "endflag.png");
         }
 
-        if (model.hasMovingMonster() && location.getAddress().equals(model.getBerbalangLocation())) {
+        int berbalangHealth = model.hasMovingMonster()
+                ? model.getBerbalangHealth(rowNumber, columnNumber) : -1;
+        if (berbalangHealth >= 0) {
             String imageName = "berbalang.png";
-            if (model.getBerbalangHealth() == 100) {
+            if (berbalangHealth == 100) {
                 imageName = "berbalang.png";
-            } else if (model.getBerbalangHealth() > 75) {
+            } else if (berbalangHealth > 75) {
                 imageName = "injured_1_berbalang.png";
-            } else if (model.getBerbalangHealth() > 50) {
+            } else if (berbalangHealth > 50) {
                 imageName = "injured_2_berbalang.png";
-            } else if (model.getBerbalangHealth() > 0) {
+            } else if (berbalangHealth > 0) {
                 imageName = "injured_3_berbalang.png";
-            } else if (model.getBerbalangHealth() == 0) {
+            } else if (berbalangHealth == 0) {
                 imageName = "dead_berbalang.png";
             }
             drawImageAsOverlay(g, imageName);
         }
 
-        if (location.getOtyugh() != null && location.getOtyugh().getHealth() == 100) {
+        int otyughHealth = model.getOtyughHealth(rowNumber, columnNumber);
+        if (otyughHealth == 100) {
             drawImageAsOverlay(g, "otyugh_maze.png");
-        } else if (location.getOtyugh() != null && location.getOtyugh().getHealth() == 50) {
+        } else if (otyughHealth == 50) {
             drawImageAsOverlay(g, "injured_otyugh.png");
-        } else if (location.getOtyugh() != null) {
+        } else if (otyughHealth >= 0) {
             drawImageAsOverlay(g, "dead_otyugh.png");
         }
     }
 
+    private boolean isPlayerLocation() {
+        return rowNumber == model.getPlayerRow() && columnNumber == model.getPlayerColumn();
+    }
+
     private void drawImageAsOverlay(Graphics g, String imageName) throws IOException {
         locationImage = overlay(locationImage, "/" + imageName);
         g.drawImage(locationImage, 0, 0, cellWidth, cellHeight, null);
     }
 
-    private String getDirectionImageName(Set<MovementDirection> movementDirections) {
-        StringBuilder imageNameBuilder = new StringBuilder();
-        movementDirections.forEach(direction ->
-                imageNameBuilder.append(direction.toString().charAt(0)));
-        imageNameBuilder.append(".png");
-        return imageNameBuilder.toString();
-    }
-
     private BufferedImage overlay(BufferedImage starting, String fpath) throws IOException {
         InputStream imageStream = getClass().getResourceAsStream(fpath);
         BufferedImage overlay = null;
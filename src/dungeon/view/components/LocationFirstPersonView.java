@@ -10,8 +10,8 @@ import javax.imageio.ImageIO;
 import javax.swing.JPanel;
 
 import dungeon.location.Collectible;
-import dungeon.location.Location;
 import dungeon.maze.ReadonlyMaze;
+import dungeon.obstacles.ObstacleType;
 import dungeon.view.DungeonSwingView;
 
 /**
@@ -23,8 +23,12 @@ import dungeon.view.DungeonSwingView;
 public class LocationFirstPersonView extends JPanel {
 
     private static final int ROOM_SIZE_WIDTH = DungeonSwingView.MAIN_WIDTH / 2;
+    private static final Collectible[] COLLECTIBLES = Collectible.values();
+    private static final int PIT_MASK = 1 << ObstacleType.PIT.ordinal();
+    private static final int THIEF_MASK = 1 << ObstacleType.THIEF.ordinal();
     private final ReadonlyMaze model;
-    private Location location;
+    private int rowNumber;
+    private int columnNumber;
     private BufferedImage locationImage;
 
     /**
@@ -42,13 +46,15 @@ public class LocationFirstPersonView extends JPanel {
         setPreferredSize(new Dimension(ROOM_SIZE_WIDTH, ROOM_SIZE_WIDTH / 2));
         setMinimumSize(new Dimension(ROOM_SIZE_WIDTH, ROOM_SIZE_WIDTH / 2));
         setMaximumSize(new Dimension(ROOM_SIZE_WIDTH, ROOM_SIZE_WIDTH / 2));
-        this.location = model.getPlayerCurrentLocation();
+        this.rowNumber = model.getPlayerRow();
+        this.columnNumber = model.getPlayerColumn();
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        this.location = model.getPlayerCurrentLocation();
+        this.rowNumber = model.getPlayerRow();
+        this.columnNumber = model.getPlayerColumn();
         try {
             drawLocation(g);
         } catch (IOException e) {
@@ -62,61 +68,66 @@ public class LocationFirstPersonView extends JPanel {
             locationImage = ImageIO.read(imageStream);
         }
         g.drawImage(locationImage, 0, 0, ROOM_SIZE_WIDTH, ROOM_SIZE_WIDTH / 2, null);
-        if (location.isHasArrow()) {
+        if (model.hasArrow(rowNumber, columnNumber)) {
             drawArrow(g);
         }
 
-        if (!location.getTreasures().isEmpty()) {
-            location.getTreasures().forEach(collectible -> {
-                try {
-                    drawTreasure(g, collectible);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            });
+        int treasures = model.getTreasureMask(rowNumber, columnNumber);
+        for (Collectible collectible : COLLECTIBLES) {
+            if ((treasures & 1 << collectible.ordinal()) != 0) {
+                drawTreasure(g, collectible);
+            }
         }
 
-        if (location.equals(model.getPlayerCurrentLocation())) {
+        if (isPlayerLocation()) {
             drawSmell(g, model);
         }
 
-        if (location.equals(model.getPlayerCurrentLocation())) {
+        if (isPlayerLocation()) {
             drawWind(g, model);
         }
 
-        if (location.getOtyugh() != null && location.getOtyugh().getHealth() == 100) {
+        int otyughHealth = model.getOtyughHealth(rowNumber, columnNumber);
+        if (otyughHealth == 100) {
             drawMonster(g);
-        } else if (location.getOtyugh() != null && location.getOtyugh().getHealth() == 50) {
+        } else if (otyughHealth == 50) {
             drawInjuredMonster(g);
-        } else if (location.getOtyugh() != null) {
+        } else if (otyughHealth >= 0) {
             drawDeadMonster(g);
         }
 
-        if (location.getPit() != null) {
+        int obstacles = model.getObstacleMask(rowNumber, columnNumber);
+        if ((obstacles & PIT_MASK) != 0) {
             drawPit(g);
         }
 
-        if (location.getThief() != null) {
+        if ((obstacles & THIEF_MASK) != 0) {
             drawThief(g);
         }
 
-        if (model.hasMovingMonster() && location.getAddress().equals(model.getBerbalangLocation())) {
-            drawBerbalang(g, model);
+        int berbalangHealth = model.hasMovingMonster()
+                ? model.getBerbalangHealth(rowNumber, columnNumber) : -1;
+        if (berbalangHealth >= 0) {
+            drawBerbalang(g, berbalangHealth);
         }
 
     }
 
-    private void drawBerbalang(Graphics g, ReadonlyMaze model) throws IOException {
+    private boolean isPlayerLocation() {
+        return rowNumber == model.getPlayerRow() && columnNumber == model.getPlayerColumn();
+    }
+
+    private void drawBerbalang(Graphics g, int berbalangHealth) throws IOException {
         String imageName = "berbalang.png";
-        if (model.getBerbalangHealth() == 100) {
+        if (berbalangHealth == 100) {
             imageName = "berbalang.png";
-        } else if (model.getBerbalangHealth() > 75) {
+        } else if (berbalangHealth > 75) {
             imageName = "injured_1_berbalang.png";
-        } else if (model.getBerbalangHealth() > 50) {
+        } else if (berbalangHealth > 50) {
             imageName = "injured_2_berbalang.png";
-        } else if (model.getBerbalangHealth() > 0) {
+        } else if (berbalangHealth > 0) {
             imageName = "injured_3_berbalang.png";
-        } else if (model.getBerbalangHealth() == 0) {
+        } else if (berbalangHealth == 0) {
             imageName = "dead_berbalang.png";
         }
 
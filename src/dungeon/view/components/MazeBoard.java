@@ -1,27 +1,40 @@
 package dungeon.view.components;
 
+import java.awt.BasicStroke;
+import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.GridLayout;
+import java.util.List;
 
 import javax.swing.JPanel;
 
+import dungeon.location.MapSnapshot;
+import dungeon.location.paths.LocationAddress;
 import dungeon.maze.DungeonGuiController;
+import dungeon.maze.GameState;
 import dungeon.maze.ReadonlyMaze;
+import dungeon.maze.RouteHint;
 
 /**
  * This is the board on which the dungeon is rendered, it is a grid layout and each of the cell
  * of the grid is a DungeonMazeLocation that houses the location's representation. This view is
  * further encapsulated in a Scroll Panel which makes it better accessible in terms of readability
- * of the view.
+ * of the view. When the route hint is turned on, the route to the end that picks up the most
+ * treasure is drawn over the locations as a line from the player to the end, only the parts of it
+ * between visited locations are drawn so the hint does not uncover the rest of the dungeon.
  */
 public class MazeBoard extends JPanel {
 
+    private static final Color ROUTE_HINT_COLOR = new Color(255, 215, 0, 160);
     private final ReadonlyMaze model;
     private final DungeonGuiController listener;
     private final int numberOfRows;
     private final int numberOfColumns;
     private final int cellWidth;
     private final int cellHeight;
+    private boolean showingRouteHint;
 
     /**
      * Constructs a maze board that draws the dungeon as a grid. Each cell in the grid layout is a
@@ -58,14 +71,71 @@ public class MazeBoard extends JPanel {
         setPreferredSize(new Dimension(numberOfColumns * cellWidth,
                 numberOfRows * cellHeight));
 
-        for (int i = 0; i < model.getMazeMap().length; i++) {
-            for (int j = 0; j < model.getMazeMap()[i].length; j++) {
-                DungeonMazeLocation dungeonMazeLocation = new DungeonMazeLocation(model.getMazeMap()[i][j],
-                        model, listener, cellWidth, cellHeight);
+        MapSnapshot mapSnapshot = model.getMapSnapshot();
+        for (int i = 0; i < mapSnapshot.getNumberOfRows(); i++) {
+            for (int j = 0; j < mapSnapshot.getNumberOfColumns(); j++) {
+                DungeonMazeLocation dungeonMazeLocation = new DungeonMazeLocation(
+                        mapSnapshot.getLocation(i, j), model, listener, cellWidth, cellHeight);
                 dungeonMazeLocation.setSize(cellWidth, cellHeight);
                 add(dungeonMazeLocation);
             }
         }
     }
 
+    /**
+     * Turns the overlay of the route hint on or off.
+     *
+     * @param showingRouteHint whether the route hint is to be drawn.
+     */
+    public void setShowingRouteHint(boolean showingRouteHint) {
+        this.showingRouteHint = showingRouteHint;
+        repaint();
+    }
+
+    /**
+     * Returns whether the overlay of the route hint is drawn.
+     *
+     * @return true if the route hint is drawn.
+     */
+    public boolean isShowingRouteHint() {
+        return showingRouteHint;
+    }
+
+    @Override
+    protected void paintChildren(Graphics g) {
+        super.paintChildren(g);
+        if (showingRouteHint && model.getState() == GameState.PLAYING) {
+            drawRouteHint((Graphics2D) g.create());
+        }
+    }
+
+    private void drawRouteHint(Graphics2D g) {
+        RouteHint routeHint = model.getRouteHint();
+        List<LocationAddress> route = routeHint.getRoute();
+        g.setColor(ROUTE_HINT_COLOR);
+        g.setStroke(new BasicStroke(Math.max(2, cellWidth / 8), BasicStroke.CAP_ROUND,
+                BasicStroke.JOIN_ROUND));
+        for (int index = 1; index < route.size(); index++) {
+            LocationAddress from = route.get(index - 1);
+            LocationAddress to = route.get(index);
+            if (!model.isVisited(from.getRowNumber(), from.getColumnNumber())
+                    || !model.isVisited(to.getRowNumber(), to.getColumnNumber())) {
+                continue;
+            }
+            if (Math.abs(from.getRowNumber() - to.getRowNumber())
+                    + Math.abs(from.getColumnNumber() - to.getColumnNumber()) == 1) {
+                g.drawLine(getCenterX(from), getCenterY(from), getCenterX(to), getCenterY(to));
+            }
+        }
+        g.dispose();
+    }
+
+    private int getCenterX(LocationAddress address) {
+        return address.getColumnNumber() * cellWidth + cellWidth / 2;
+    }
+
+    private int getCenterY(LocationAddress address) {
+        return address.getRowNumber() * cellHeight + cellHeight / 2;
+    }
+
 }
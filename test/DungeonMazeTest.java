@@ -14,11 +14,16 @@ import dungeon.location.MovementDirection;
 import dungeon.location.paths.LocationAddress;
 import dungeon.location.weapon.PunchingGloves;
 import dungeon.location.weapon.ShootResult;
+import dungeon.maze.ChangeType;
 import dungeon.maze.DungeonMaze;
 import dungeon.maze.GameState;
 import dungeon.maze.Maze;
+import dungeon.maze.MazeChange;
+import dungeon.maze.RouteHint;
+import dungeon.maze.generator.KruskalMazeGenerator;
 import dungeon.obstacles.Berbalang;
 import dungeon.obstacles.Monster;
+import dungeon.obstacles.Obstacle;
 import dungeon.obstacles.ObstacleType;
 import dungeon.obstacles.Pit;
 import dungeon.obstacles.Thief;
@@ -121,6 +126,39 @@ public class DungeonMazeTest {
             1, 1, false);
   }
 
+  @Test(expected = IllegalStateException.class)
+  public void testNoCaveFarEnoughFromStart() {
+    new DungeonMaze(2, 5,
+            6, true, 20, 1,
+            0, 0, false);
+  }
+
+  @Test
+  public void testNumberOfPitsIsIndependentOfThieves() {
+    Maze maze = new DungeonMaze(8, 8,
+            4, false, 20, 1,
+            0, 3, false);
+    int caves = 0;
+    int pits = 0;
+    int thieves = 0;
+    for (Location[] locations : maze.getMazeMap()) {
+      for (Location location : locations) {
+        if (location.getType() == LocationType.CAVE) {
+          caves++;
+        }
+        if (location.getPit() != null) {
+          Assert.assertEquals(LocationType.CAVE, location.getType());
+          pits++;
+        }
+        if (location.getThief() != null) {
+          thieves++;
+        }
+      }
+    }
+    Assert.assertEquals(Math.min(3, caves - 2), pits);
+    Assert.assertEquals(0, thieves);
+  }
+
   @Test
   public void testTreasurePercentage() {
     DungeonMaze dungeonMaze = new DungeonMaze(4, 6,
@@ -152,6 +190,112 @@ public class DungeonMazeTest {
     dungeonMaze.movePlayer(SOUTH);
   }
 
+  @Test
+  public void testVisitedLocationsSnapshot() {
+    int startRow = dungeonMaze.getStartRow();
+    int startColumn = dungeonMaze.getStartColumn();
+    Assert.assertTrue(dungeonMaze.isVisited(startRow, startColumn));
+    Assert.assertEquals(1, dungeonMaze.getVisitedLocations().size());
+    Assert.assertTrue(dungeonMaze.getVisitedLocations()
+            .contains(new LocationAddress(startRow, startColumn)));
+    Assert.assertFalse(dungeonMaze.getVisitedLocations()
+            .contains(new LocationAddress(startRow + 10, startColumn)));
+  }
+
+  @Test
+  public void testDistanceBetweenStartAndEnd() {
+    int distance = dungeonMaze.getDistance(dungeonMaze.getStartRow(),
+            dungeonMaze.getStartColumn(), dungeonMaze.getEndRow(), dungeonMaze.getEndColumn());
+    Assert.assertTrue(distance >= 5);
+    Assert.assertEquals(distance, dungeonMaze.getDistance(dungeonMaze.getEndRow(),
+            dungeonMaze.getEndColumn(), dungeonMaze.getStartRow(), dungeonMaze.getStartColumn()));
+    Assert.assertEquals(0, dungeonMaze.getDistance(1, 1, 1, 1));
+  }
+
+  @Test
+  public void testDistanceOnHighlyConnectedDungeon() {
+    DungeonMaze sparse = new DungeonMaze(10, 10, 4, false, 20, 1, 0, 0, false,
+            new RandomGenerator(9));
+    DungeonMaze dense = new DungeonMaze(10, 10, 60, false, 20, 1, 0, 0, false,
+            new RandomGenerator(9));
+    for (DungeonMaze model : List.of(sparse, dense)) {
+      for (int column = 0; column < 10; column++) {
+        int distance = model.getDistance(0, 0, 9, column);
+        Assert.assertEquals(distance, model.getDistance(9, column, 0, 0));
+        Assert.assertTrue(distance >= 9 + column);
+      }
+    }
+  }
+
+  @Test
+  public void testChangesSinceVersion() {
+    Assert.assertEquals(0, dungeonMaze.getVersion());
+    LocationAddress start = new LocationAddress(dungeonMaze.getStartRow(),
+            dungeonMaze.getStartColumn());
+    dungeonMaze.movePlayer(WEST);
+    long version = dungeonMaze.getVersion();
+    dungeonMaze.movePlayer(EAST);
+
+    List<MazeChange> changes = dungeonMaze.getChangesSince(0);
+    Assert.assertEquals(2, changes.size());
+    Assert.assertEquals(ChangeType.PLAYER_MOVED, changes.get(0).getChangeType());
+    Assert.assertEquals(new LocationAddress(start.getRowNumber(), start.getColumnNumber() - 1),
+            changes.get(0).getAddress());
+    Assert.assertEquals(new MazeChange(2, ChangeType.PLAYER_MOVED, start),
+            dungeonMaze.getChangesSince(version).get(0));
+    Assert.assertTrue(dungeonMaze.getChangesSince(dungeonMaze.getVersion()).isEmpty());
+
+    dungeonMaze.resetGame();
+    Assert.assertEquals(new MazeChange(3, ChangeType.GAME_RESET, start),
+            dungeonMaze.getChangesSince(2).get(0));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testChangesDroppedFromJournal() {
+    for (int i = 0; i < 600; i++) {
+      dungeonMaze.movePlayer(WEST);
+      dungeonMaze.movePlayer(EAST);
+    }
+    dungeonMaze.getChangesSince(0);
+  }
+
+  @Test
+  public void testPerLocationQueriesMatchLocations() {
+    DungeonMaze dungeonMaze = new DungeonMaze(6, 7, 4, true, 60, 4,
+            2, 2, false, new RandomGenerator());
+    Location[][] mazeMap = dungeonMaze.getMazeMap();
+    for (int row = 0; row < 6; row++) {
+      for (int column = 0; column < 7; column++) {
+        Location location = mazeMap[row][column];
+        int openings = 0;
+        for (MovementDirection direction : location.getOpenings()) {
+          openings |= direction.getMask();
+        }
+        int treasures = 0;
+        for (Collectible collectible : location.getTreasures()) {
+          treasures |= 1 << collectible.ordinal();
+        }
+        int obstacles = 0;
+        for (Obstacle obstacle : location.getAllObstacles()) {
+          obstacles |= 1 << obstacle.getObstacleType().ordinal();
+        }
+        Assert.assertEquals(openings, dungeonMaze.getOpeningsMask(row, column));
+        Assert.assertEquals(treasures, dungeonMaze.getTreasureMask(row, column));
+        Assert.assertEquals(obstacles, dungeonMaze.getObstacleMask(row, column));
+        Assert.assertEquals(location.isHasArrow(), dungeonMaze.hasArrow(row, column));
+        Assert.assertEquals(location.getOtyugh() == null ? -1 : location.getOtyugh().getHealth(),
+                dungeonMaze.getOtyughHealth(row, column));
+      }
+    }
+    Assert.assertEquals(dungeonMaze.getStartRow(), dungeonMaze.getPlayerRow());
+    Assert.assertEquals(dungeonMaze.getStartColumn(), dungeonMaze.getPlayerColumn());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testVisitedLocationsAreUnmodifiable() {
+    dungeonMaze.getVisitedLocations().add(new LocationAddress(0, 0));
+  }
+
   @Test
   public void testConnectedPathsForDegreeOfInterconnectivityZero() {
     RandomGenerator randomGenerator = new RandomGenerator();
@@ -767,6 +911,181 @@ public class DungeonMazeTest {
 
   }
 
+  @Test
+  public void testBerbalangHordeMovesDeterministically() {
+    DungeonMaze one = new DungeonMaze(20, 20, 30, false, 20, 1, 0, 0, 60,
+            new RandomGenerator(11), new KruskalMazeGenerator());
+    DungeonMaze two = new DungeonMaze(20, 20, 30, false, 20, 1, 0, 0, 60,
+            new RandomGenerator(11), new KruskalMazeGenerator());
+    Assert.assertEquals(60, one.getNumberOfBerbalangs());
+    long version = one.getVersion();
+
+    for (int turn = 0; turn < 5; turn++) {
+      Assert.assertEquals(60, countBerbalangs(one));
+      Assert.assertEquals(berbalangHealths(one), berbalangHealths(two));
+      if (one.getBerbalangHealth(one.getPlayerRow(), one.getPlayerColumn()) >= 0
+              || one.getState() != GameState.PLAYING) {
+        break;
+      }
+      MovementDirection direction = null;
+      for (MovementDirection candidate : MovementDirection.values()) {
+        if ((one.getOpeningsMask(one.getPlayerRow(), one.getPlayerColumn())
+                & candidate.getMask()) != 0) {
+          direction = candidate;
+          break;
+        }
+      }
+      one.movePlayer(direction);
+      two.movePlayer(direction);
+    }
+
+    boolean berbalangMoved = false;
+    for (MazeChange change : one.getChangesSince(version)) {
+      berbalangMoved |= change.getChangeType() == ChangeType.BERBALANG_MOVED;
+    }
+    Assert.assertTrue(berbalangMoved);
+  }
+
+  @Test
+  public void testFallenBerbalangDoesNotBlockTheHorde() {
+    DungeonMaze model = new DungeonMaze(1, 10, 0, false, 0, 1, 0, 0, 2,
+            new RandomGenerator(0), new KruskalMazeGenerator());
+    Assert.assertEquals(0, model.getPlayerColumn());
+    while (model.getBerbalangHealth(0, model.getPlayerColumn()) < 0) {
+      model.movePlayer(EAST);
+    }
+    while (model.getBerbalangHealth(0, model.getPlayerColumn()) > 0) {
+      model.hitBerbalang();
+    }
+    int fallen = model.getPlayerColumn();
+    Assert.assertEquals(0, model.getBerbalangHealth(0, fallen));
+
+    model.movePlayer(WEST);
+    model.movePlayer(WEST);
+    Assert.assertEquals(100, model.getBerbalangHealth(0, fallen));
+
+    Assert.assertEquals(ObstacleType.BERBALANG, model.movePlayer(EAST));
+    Assert.assertEquals(0, model.getBerbalangHealth(0, fallen));
+    Assert.assertEquals(100, model.getBerbalangHealth(0, model.getPlayerColumn()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNumberOfBerbalangs() {
+    new DungeonMaze(4, 4, 2, false, 20, 1, 0, 0, 17,
+            new RandomGenerator(), new KruskalMazeGenerator());
+  }
+
+  private static int countBerbalangs(DungeonMaze model) {
+    int count = 0;
+    for (int health : berbalangHealths(model)) {
+      if (health >= 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static List<Integer> berbalangHealths(DungeonMaze model) {
+    List<Integer> healths = new ArrayList<>();
+    for (int row = 0; row < model.getNumberOfRows(); row++) {
+      for (int column = 0; column < model.getNumberOfColumns(); column++) {
+        healths.add(model.getBerbalangHealth(row, column));
+      }
+    }
+    return healths;
+  }
+
+  @Test
+  public void testRouteHintReachesEndWithinBudget() {
+    DungeonMaze model = new DungeonMaze(8, 8, 12, false, 60, 3, 2, 2, false,
+            new RandomGenerator(14));
+    int shortestDistance = model.getDistance(model.getPlayerRow(), model.getPlayerColumn(),
+            model.getEndRow(), model.getEndColumn());
+
+    Assert.assertFalse(model.getRouteHint(shortestDistance - 1).isReachable());
+    RouteHint shortest = model.getRouteHint(shortestDistance);
+    RouteHint routeHint = model.getRouteHint(3 * shortestDistance);
+    Assert.assertTrue(routeHint.getNumberOfSteps() <= 3 * shortestDistance);
+    Assert.assertTrue(routeHint.getTreasure() >= shortest.getTreasure());
+
+    List<LocationAddress> route = routeHint.getRoute();
+    Assert.assertEquals(new LocationAddress(model.getPlayerRow(), model.getPlayerColumn()),
+            route.get(0));
+    LocationAddress end = new LocationAddress(model.getEndRow(), model.getEndColumn());
+    Assert.assertEquals(end, route.get(route.size() - 1));
+    Assert.assertEquals(route.size() - 1, route.indexOf(end));
+    for (int index = 1; index < route.size(); index++) {
+      LocationAddress from = route.get(index - 1);
+      LocationAddress to = route.get(index);
+      Assert.assertEquals(1, model.getDistance(from.getRowNumber(), from.getColumnNumber(),
+              to.getRowNumber(), to.getColumnNumber()));
+    }
+  }
+
+  @Test
+  public void testRouteHintOnlyAvoidsKnownPits() {
+    DungeonMaze model = new DungeonMaze(8, 8, 12, false, 60, 3, 2, 4, false,
+            new RandomGenerator(2));
+    int shortestDistance = model.getDistance(model.getPlayerRow(), model.getPlayerColumn(),
+            model.getEndRow(), model.getEndColumn());
+    int pitMask = 1 << ObstacleType.PIT.ordinal();
+    int pits = 0;
+    for (LocationAddress location : model.getRouteHint(shortestDistance).getRoute()) {
+      if ((model.getObstacleMask(location.getRowNumber(), location.getColumnNumber())
+              & pitMask) != 0) {
+        pits++;
+      }
+    }
+    Assert.assertEquals(1, pits);
+
+    DungeonMaze windy = new DungeonMaze(8, 8, 12, false, 60, 3, 2, 4, false,
+            new RandomGenerator(6));
+    Assert.assertEquals(1, windy.detectWindLevel());
+    Assert.assertFalse(windy.getRouteHint(64).isReachable());
+  }
+
+  @Test
+  public void testRouteHintWithinTwiceTheShortestRoute() {
+    DungeonMaze model = new DungeonMaze(8, 8, 12, false, 60, 3, 2, 2, false,
+            new RandomGenerator(14));
+    int shortestDistance = model.getDistance(model.getPlayerRow(), model.getPlayerColumn(),
+            model.getEndRow(), model.getEndColumn());
+    RouteHint routeHint = model.getRouteHint();
+    Assert.assertSame(model.getRouteHint(2 * shortestDistance), routeHint);
+    Assert.assertSame(routeHint, model.getRouteHint());
+
+    for (MovementDirection direction : MovementDirection.values()) {
+      if ((model.getOpeningsMask(model.getPlayerRow(), model.getPlayerColumn())
+              & direction.getMask()) != 0) {
+        model.movePlayer(direction);
+        break;
+      }
+    }
+    shortestDistance = model.getDistance(model.getPlayerRow(), model.getPlayerColumn(),
+            model.getEndRow(), model.getEndColumn());
+    Assert.assertSame(model.getRouteHint(2 * shortestDistance), model.getRouteHint());
+  }
+
+  @Test
+  public void testRouteHintCachedUntilTreasureTaken() {
+    DungeonMaze model = new DungeonMaze(8, 8, 12, false, 100, 1, 0, 0, false,
+            new RandomGenerator(5));
+    RouteHint routeHint = model.getRouteHint(40);
+    Assert.assertSame(routeHint, model.getRouteHint(40));
+
+    Collectible treasure = null;
+    int treasures = model.getTreasureMask(model.getPlayerRow(), model.getPlayerColumn());
+    for (Collectible collectible : Collectible.values()) {
+      if ((treasures & 1 << collectible.ordinal()) != 0) {
+        treasure = collectible;
+      }
+    }
+    model.pickup(treasure);
+    RouteHint updated = model.getRouteHint(40);
+    Assert.assertNotSame(routeHint, updated);
+    Assert.assertEquals(routeHint.getTreasure() - 1, updated.getTreasure());
+  }
+
   @Test
   public void testValidBerbalang() {
     Monster berbalang = new Berbalang(100, new RandomGenerator(),
@@ -0,0 +1,59 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import dungeon.maze.DungeonPool;
+import dungeon.maze.Maze;
+
+/**
+ * The Dungeon Pool Test class tests that the dungeons are taken from the pool and refilled for the
+ * recently used parameters, with the dungeons being built on the calling thread so that the
+ * contents of the pool are known after every call.
+ */
+public class DungeonPoolTest {
+
+  @Test
+  public void testTakeRefillsThePool() {
+    DungeonPool dungeonPool = new DungeonPool(2, 2, Runnable::run);
+    Assert.assertEquals(0, dungeonPool.size());
+
+    Maze dungeon = dungeonPool.take(6, 7, 2, true, 20, 3, 1, 1, false);
+    Assert.assertEquals(6, dungeon.getNumberOfRows());
+    Assert.assertEquals(7, dungeon.getNumberOfColumns());
+    Assert.assertEquals(2, dungeon.getDegreeOfInterconnectivity());
+    Assert.assertTrue(dungeon.isWrapping());
+    Assert.assertEquals(2, dungeonPool.size());
+
+    Assert.assertNotSame(dungeon, dungeonPool.take(6, 7, 2, true, 20, 3, 1, 1, false));
+    Assert.assertEquals(2, dungeonPool.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedParametersAreEvicted() {
+    int[] builds = new int[1];
+    DungeonPool dungeonPool = new DungeonPool(2, 2, runnable -> {
+      builds[0]++;
+      runnable.run();
+    });
+    dungeonPool.prepare(5, 5, 0, false, 20, 1, 0, 0, false);
+    dungeonPool.prepare(6, 6, 0, false, 20, 1, 0, 0, false);
+    dungeonPool.take(5, 5, 0, false, 20, 1, 0, 0, false);
+    dungeonPool.prepare(7, 7, 0, false, 20, 1, 0, 0, false);
+    Assert.assertEquals(4, dungeonPool.size());
+    Assert.assertEquals(7, builds[0]);
+
+    // The 5x5 dungeons were used after the 6x6 ones, so they are still in the pool and only the
+    // one that is taken is built again.
+    dungeonPool.take(5, 5, 0, false, 20, 1, 0, 0, false);
+    Assert.assertEquals(8, builds[0]);
+
+    // The 6x6 dungeons were dropped, so the pool is refilled with both of them.
+    dungeonPool.take(6, 6, 0, false, 20, 1, 0, 0, false);
+    Assert.assertEquals(10, builds[0]);
+    Assert.assertEquals(4, dungeonPool.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTakeWithInvalidParameters() {
+    new DungeonPool(1, 1, Runnable::run).take(0, 5, 0, false, 20, 1, 0, 0, false);
+  }
+}
@@ -5,8 +5,10 @@ import org.junit.Test;
 import java.util.Set;
 
 import dungeon.location.Collectible;
+import dungeon.location.DungeonGrid;
 import dungeon.location.Location;
 import dungeon.location.LocationType;
+import dungeon.location.MapSnapshot;
 import dungeon.location.MazeLocation;
 import dungeon.location.MovementDirection;
 import dungeon.location.paths.LocationAddress;
@@ -15,6 +17,8 @@ import dungeon.location.weapon.Arrow;
 import dungeon.location.weapon.CrookedArrow;
 import dungeon.obstacles.Monster;
 import dungeon.obstacles.Otyugh;
+import dungeon.obstacles.Pit;
+import dungeon.obstacles.Thief;
 
 import static org.junit.Assert.assertEquals;
 
@@ -132,6 +136,47 @@ public class LocationTests {
     Assert.assertEquals(otyugh, location.getOtyugh());
   }
 
+  @Test
+  public void testOpeningsAreSharedAndOrdered() {
+    location.addOpenings(MovementDirection.WEST);
+    location.addOpenings(MovementDirection.NORTH);
+    Assert.assertEquals(LocationType.TUNNEL, location.getType());
+    Assert.assertSame(location.getOpenings(), new MazeLocation(location).getOpenings());
+    Assert.assertEquals("[NORTH, WEST]", location.getOpenings().toString());
+    location.addOpenings(MovementDirection.EAST);
+    Assert.assertEquals(LocationType.CAVE, location.getType());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testOpeningsAreUnmodifiable() {
+    location.addOpenings(MovementDirection.NORTH);
+    location.getOpenings().add(MovementDirection.SOUTH);
+  }
+
+  @Test
+  public void testObstacleSlotsAreIndependent() {
+    location.addOpenings(MovementDirection.NORTH);
+    Otyugh otyugh = new Otyugh(100, new LocationAddress(0, 0));
+    Pit pit = new Pit(new LocationAddress(0, 0));
+    location.addPit(pit);
+    location.addMonster(otyugh);
+    location.addThief(new Thief(new LocationAddress(0, 0)));
+    Assert.assertSame(otyugh, location.getOtyugh());
+    Assert.assertSame(pit, location.getPit());
+    Assert.assertEquals(3, location.getAllObstacles().size());
+
+    location.makeThiefEscapeDungeon();
+    Assert.assertNull(location.getThief());
+    Assert.assertEquals(2, new MazeLocation(location).getAllObstacles().size());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testObstaclesAreUnmodifiable() {
+    location.addOpenings(MovementDirection.NORTH);
+    location.addMonster(new Otyugh(100, new LocationAddress(0, 0)));
+    location.getAllObstacles().clear();
+  }
+
   @Test(expected = IllegalStateException.class)
   public void addMonsterToTunnel() {
     location.addOpenings(MovementDirection.NORTH);
@@ -195,4 +240,72 @@ public class LocationTests {
     Assert.assertEquals(arrow, arrowTwo);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testGridLocationView() {
+    DungeonGrid grid = new DungeonGrid(3, 4);
+    Location cave = grid.getLocation(1, 2);
+    cave.addOpenings(MovementDirection.NORTH);
+    Assert.assertEquals(LocationType.CAVE, cave.getType());
+    cave.addTreasure(Set.of(Collectible.RUBIES, Collectible.DIAMONDS));
+    cave.addArrow();
+    cave.addMonster(new Otyugh(100, new LocationAddress(1, 2)));
+
+    Location view = grid.getLocation(1, 2);
+    Assert.assertEquals(cave, view);
+    Assert.assertEquals(new LocationAddress(1, 2), view.getAddress());
+    Assert.assertEquals(Set.of(Collectible.DIAMONDS, Collectible.RUBIES), view.getTreasures());
+    Assert.assertTrue(view.isHasArrow());
+    Assert.assertNotNull(view.getOtyugh());
+    Assert.assertNull(view.getPit());
+  }
+
+  @Test
+  public void testGridRestoresInitialState() {
+    DungeonGrid grid = new DungeonGrid(2, 5);
+    Location location = grid.getLocation(0, 3);
+    location.addOpenings(MovementDirection.EAST);
+    location.addTreasure(Set.of(Collectible.SAPPHIRES));
+    location.addThief(new Thief(new LocationAddress(0, 3)));
+    grid.saveInitialState();
+
+    location.markTreasureCollected(Collectible.SAPPHIRES);
+    location.makeThiefEscapeDungeon();
+    Assert.assertTrue(location.getTreasures().isEmpty());
+    Assert.assertNull(location.getThief());
+
+    grid.restoreInitialState();
+    Assert.assertEquals(Set.of(Collectible.SAPPHIRES), location.getTreasures());
+    Assert.assertNotNull(location.getThief());
+  }
+
+  @Test
+  public void testMapSnapshotSharesUnchangedRows() {
+    DungeonGrid grid = new DungeonGrid(3, 4);
+    for (int row = 0; row < 3; row++) {
+      for (int column = 0; column < 4; column++) {
+        grid.getLocation(row, column).addOpenings(MovementDirection.EAST);
+      }
+    }
+    MapSnapshot first = grid.getSnapshot();
+    Assert.assertSame(first, grid.getSnapshot());
+
+    grid.getLocation(1, 2).addArrow();
+    grid.getLocation(1, 2).addArrow();
+    MapSnapshot second = grid.getSnapshot();
+    Assert.assertTrue(second.getVersion() > first.getVersion());
+    Assert.assertFalse(first.getLocation(1, 2).isHasArrow());
+    Assert.assertTrue(second.getLocation(1, 2).isHasArrow());
+    Assert.assertSame(first.getLocation(1, 3), second.getLocation(1, 3));
+    Assert.assertSame(first.getLocation(0, 0), second.getLocation(0, 0));
+    Assert.assertSame(first.getLocation(2, 3), second.getLocation(2, 3));
+    Assert.assertEquals(MovementDirection.EAST.getMask(), second.getOpenings(6));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testMapSnapshotIsUnmodifiable() {
+    DungeonGrid grid = new DungeonGrid(2, 2);
+    grid.getLocation(0, 0).addOpenings(MovementDirection.SOUTH);
+    grid.getSnapshot().getLocation(0, 0).addArrow();
+  }
+
+}
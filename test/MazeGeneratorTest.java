@@ -0,0 +1,337 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import dungeon.RandomGenerator;
+import dungeon.location.Location;
+import dungeon.location.paths.LocationAddress;
+import dungeon.location.paths.Path;
+import dungeon.maze.AdjacencyGraph;
+import dungeon.maze.DistanceOracle;
+import dungeon.maze.DungeonMaze;
+import dungeon.maze.GraphSearch;
+import dungeon.maze.generator.DisjointSet;
+import dungeon.maze.generator.EdgeEnumerator;
+import dungeon.maze.generator.EdgeSet;
+import dungeon.maze.generator.EllerMazeGenerator;
+import dungeon.maze.generator.MazeLayout;
+import dungeon.maze.generator.SpanningTreeBuilder;
+import dungeon.maze.generator.TiledMazeGenerator;
+import dungeon.obstacles.ObstacleType;
+
+/**
+ * The Maze Generator Test class tests the building blocks used to lay out the paths of the dungeon,
+ * that is the disjoint set that tracks the connected locations, the enumeration of the potential
+ * paths for wrapping and non-wrapping grids and the spanning tree that is built over them.
+ */
+public class MazeGeneratorTest {
+
+  @Test
+  public void testDisjointSetUnion() {
+    DisjointSet disjointSet = new DisjointSet(5);
+    Assert.assertEquals(5, disjointSet.getNumberOfSets());
+    Assert.assertTrue(disjointSet.union(0, 1));
+    Assert.assertTrue(disjointSet.union(3, 4));
+    Assert.assertFalse(disjointSet.union(1, 0));
+    Assert.assertTrue(disjointSet.union(1, 4));
+    Assert.assertTrue(disjointSet.isConnected(0, 3));
+    Assert.assertFalse(disjointSet.isConnected(0, 2));
+    Assert.assertEquals(2, disjointSet.getNumberOfSets());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDisjointSetInvalidElement() {
+    new DisjointSet(3).find(3);
+  }
+
+  @Test
+  public void testEdgeCountMatchesEnumeration() {
+    for (int rows = 1; rows <= 6; rows++) {
+      for (int columns = 1; columns <= 6; columns++) {
+        for (boolean wrapping : new boolean[]{false, true}) {
+          EdgeEnumerator edgeEnumerator = new EdgeEnumerator(rows, columns, wrapping);
+          Assert.assertEquals(EdgeEnumerator.countPotentialPaths(rows, columns, wrapping),
+                  edgeEnumerator.enumerate().length);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEdgeCountForLargeGrids() {
+    Assert.assertEquals(38, EdgeEnumerator.countPotentialPaths(4, 6, false));
+    Assert.assertEquals(48, EdgeEnumerator.countPotentialPaths(4, 6, true));
+  }
+
+  @Test
+  public void testEachEdgeIsEnumeratedOnce() {
+    for (boolean wrapping : new boolean[]{false, true}) {
+      for (int rows = 1; rows <= 5; rows++) {
+        for (int columns = 1; columns <= 5; columns++) {
+          EdgeEnumerator edgeEnumerator = new EdgeEnumerator(rows, columns, wrapping);
+          Set<Path> paths = new HashSet<>();
+          Set<String> undirected = new HashSet<>();
+          for (int pathId : edgeEnumerator.enumerate()) {
+            int one = edgeEnumerator.getLocationOne(pathId);
+            int two = edgeEnumerator.getLocationTwo(pathId);
+            Assert.assertNotEquals(one, two);
+            Assert.assertTrue(undirected.add(Math.min(one, two) + "-" + Math.max(one, two)));
+            paths.add(edgeEnumerator.toPath(pathId));
+          }
+          Assert.assertEquals(undirected.size(), paths.size());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSpanningTreeConnectsAllLocations() {
+    EdgeEnumerator edgeEnumerator = new EdgeEnumerator(7, 9, true);
+    int[] connected = new SpanningTreeBuilder(new RandomGenerator()).build(edgeEnumerator, 4);
+    Assert.assertEquals(7 * 9 - 1 + 4, connected.length);
+
+    DisjointSet disjointSet = new DisjointSet(edgeEnumerator.getNumberOfCells());
+    for (int pathId : connected) {
+      disjointSet.union(edgeEnumerator.getLocationOne(pathId),
+              edgeEnumerator.getLocationTwo(pathId));
+    }
+    Assert.assertEquals(1, disjointSet.getNumberOfSets());
+  }
+
+  @Test
+  public void testEllerLayoutIsSpanningTreePlusDegree() {
+    for (boolean wrapping : new boolean[]{false, true}) {
+      EdgeEnumerator edgeEnumerator = new EdgeEnumerator(9, 7, wrapping);
+      MazeLayout mazeLayout = new EllerMazeGenerator().generate(9, 7, wrapping, 5,
+              new RandomGenerator());
+      Assert.assertEquals(9 * 7 - 1 + 5, mazeLayout.getNumberOfConnectedPaths());
+
+      DisjointSet disjointSet = new DisjointSet(edgeEnumerator.getNumberOfCells());
+      for (int pathId : mazeLayout.getConnectedPaths()) {
+        disjointSet.union(edgeEnumerator.getLocationOne(pathId),
+                edgeEnumerator.getLocationTwo(pathId));
+      }
+      Assert.assertEquals(1, disjointSet.getNumberOfSets());
+
+      for (int i = 0; i < 9; i++) {
+        for (int j = 0; j < 7; j++) {
+          Assert.assertNotEquals(0, mazeLayout.getOpenings(i, j));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEllerStreamsEveryRowOnce() {
+    int[] rowsSeen = new int[1];
+    int[] otyughs = new int[1];
+    new EllerMazeGenerator().generate(200, 50, true, 10, 20, 30, 5, 5,
+            new RandomGenerator(), row -> {
+              Assert.assertEquals(rowsSeen[0]++, row.getRowNumber());
+              for (int j = 0; j < row.getNumberOfColumns(); j++) {
+                Assert.assertNotEquals(0, row.getOpenings(j));
+                if ((row.getObstacles(j) & (1 << ObstacleType.OTYUGH.ordinal())) != 0) {
+                  Assert.assertTrue(row.isCave(j));
+                  otyughs[0]++;
+                }
+              }
+            });
+    Assert.assertEquals(200, rowsSeen[0]);
+    Assert.assertTrue(otyughs[0] > 0 && otyughs[0] <= 30);
+  }
+
+  @Test
+  public void testAdjacencyGraphMatchesOpenings() {
+    for (boolean wrapping : new boolean[]{false, true}) {
+      EdgeEnumerator edgeEnumerator = new EdgeEnumerator(6, 8, wrapping);
+      MazeLayout mazeLayout = new EllerMazeGenerator().generate(6, 8, wrapping, 7,
+              new RandomGenerator());
+      AdjacencyGraph graph = new AdjacencyGraph(edgeEnumerator, mazeLayout.getConnectedPaths());
+      Assert.assertEquals(6 * 8 - 1 + 7, graph.getNumberOfPaths());
+      for (int cellId = 0; cellId < graph.getNumberOfCells(); cellId++) {
+        Assert.assertEquals(Integer.bitCount(mazeLayout.getOpenings(cellId / 8, cellId % 8)),
+                graph.getDegree(cellId));
+        for (int edge = graph.getFirstEdge(cellId); edge < graph.getEndEdge(cellId); edge++) {
+          Assert.assertTrue(graph.isAdjacent(graph.getTarget(edge), cellId));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testGraphSearchMatchesTraversalOrder() {
+    EdgeEnumerator edgeEnumerator = new EdgeEnumerator(7, 6, true);
+    MazeLayout mazeLayout = new EllerMazeGenerator().generate(7, 6, true, 9,
+            new RandomGenerator());
+    AdjacencyGraph graph = new AdjacencyGraph(edgeEnumerator, mazeLayout.getConnectedPaths());
+    GraphSearch graphSearch = new GraphSearch(graph);
+    int[] field = new int[graph.getNumberOfCells()];
+    for (int start = 0; start < graph.getNumberOfCells(); start++) {
+      graphSearch.getDistanceField(start, field);
+      graphSearch.search(start);
+      for (int end = 0; end < graph.getNumberOfCells(); end++) {
+        Assert.assertEquals(tracedDistance(graph, start, end), graphSearch.getTracedDistance(end));
+        Assert.assertTrue(graphSearch.getTracedDistance(end) >= field[end]);
+        int parent = graphSearch.getParent(end);
+        if (end == start) {
+          Assert.assertEquals(-1, parent);
+        } else {
+          Assert.assertEquals(field[end] - 1, field[parent]);
+          Assert.assertTrue(graph.isAdjacent(parent, end));
+        }
+      }
+      Assert.assertEquals(field[0], graphSearch.getDistance(start, 0));
+      int[] targets = {(start + 5) % field.length, (start + 17) % field.length};
+      graphSearch.search(start, targets, targets.length);
+      for (int target : targets) {
+        Assert.assertEquals(field[target], graphSearch.getDistance(target));
+        Assert.assertEquals(tracedDistance(graph, start, target),
+                graphSearch.getTracedDistance(target));
+      }
+    }
+  }
+
+  @Test
+  public void testDistanceOracleMatchesSearch() {
+    for (int degree : new int[]{0, 1, 12}) {
+      for (boolean wrapping : new boolean[]{false, true}) {
+        EdgeEnumerator edgeEnumerator = new EdgeEnumerator(9, 7, wrapping);
+        MazeLayout mazeLayout = new EllerMazeGenerator().generate(9, 7, wrapping, degree,
+                new RandomGenerator());
+        AdjacencyGraph graph = new AdjacencyGraph(edgeEnumerator,
+                mazeLayout.getConnectedPaths());
+        DistanceOracle distanceOracle = new DistanceOracle(graph);
+        Assert.assertTrue(distanceOracle.getNumberOfHubs() <= 2 * degree);
+        GraphSearch graphSearch = new GraphSearch(graph);
+        for (int from = 0; from < graph.getNumberOfCells(); from++) {
+          graphSearch.search(from);
+          for (int to = 0; to < graph.getNumberOfCells(); to++) {
+            Assert.assertEquals(graphSearch.getDistance(to), distanceOracle.getDistance(from, to));
+          }
+        }
+      }
+    }
+  }
+
+  private static int tracedDistance(AdjacencyGraph graph, int start, int end) {
+    boolean[] visited = new boolean[graph.getNumberOfCells()];
+    int[] traversed = new int[visited.length];
+    int size = 0;
+    int endIndex = -1;
+    visited[start] = true;
+    traversed[size++] = start;
+    for (int index = 0; index < size; index++) {
+      int current = traversed[index];
+      if (current == end) {
+        endIndex = index;
+      }
+      for (int edge = graph.getFirstEdge(current); edge < graph.getEndEdge(current); edge++) {
+        if (!visited[graph.getTarget(edge)]) {
+          visited[graph.getTarget(edge)] = true;
+          traversed[size++] = graph.getTarget(edge);
+        }
+      }
+    }
+    int pathLength = 0;
+    int last = end;
+    for (int i = endIndex - 1; i >= 0; i--) {
+      if (graph.isAdjacent(last, traversed[i])) {
+        pathLength++;
+        last = traversed[i];
+      }
+    }
+    return pathLength;
+  }
+
+  @Test
+  public void testPathIdentityIsUndirected() {
+    EdgeEnumerator edgeEnumerator = new EdgeEnumerator(4, 5, true);
+    for (int pathId = 0; pathId < edgeEnumerator.getNumberOfCells() * 2; pathId++) {
+      Path path = edgeEnumerator.toPath(pathId);
+      Path reversed = new Path(path.getLocationTwo(), path.getLocationOne());
+      Assert.assertEquals(path, reversed);
+      Assert.assertEquals(path.hashCode(), reversed.hashCode());
+      Assert.assertEquals(pathId, path.getPathId());
+      Assert.assertEquals(pathId, edgeEnumerator.getPathId(reversed));
+      Assert.assertEquals(pathId, edgeEnumerator.getPathId(edgeEnumerator.getLocationTwo(pathId),
+              edgeEnumerator.getLocationOne(pathId)));
+    }
+    Assert.assertEquals(-1, edgeEnumerator.getPathId(0, 6));
+    Assert.assertEquals(-1, new Path(new LocationAddress(0, 0), new LocationAddress(1, 1))
+            .getPathId());
+  }
+
+  @Test
+  public void testConnectedPathsLookUpEitherOrder() {
+    DungeonMaze dungeonMaze = new DungeonMaze(6, 7, 3, true, 20, 3,
+            1, 1, false, new RandomGenerator());
+    EdgeEnumerator edgeEnumerator = new EdgeEnumerator(6, 7, true);
+    List<Path> connectedPaths = dungeonMaze.getConnectedPaths();
+    EdgeSet edgeSet = new EdgeSet(edgeEnumerator);
+    for (Path path : connectedPaths) {
+      Assert.assertTrue(edgeSet.add(edgeEnumerator.getPathId(path)));
+      Assert.assertTrue(connectedPaths.contains(
+              new Path(path.getLocationTwo(), path.getLocationOne())));
+    }
+    Assert.assertEquals(connectedPaths.size(), edgeSet.size());
+    for (int pathId = 0; pathId < edgeEnumerator.getNumberOfCells() * 2; pathId++) {
+      Path path = edgeEnumerator.toPath(pathId);
+      Assert.assertEquals(edgeSet.contains(pathId), connectedPaths.contains(path));
+      Assert.assertEquals(edgeSet.contains(pathId), edgeSet.contains(
+              edgeEnumerator.getLocationTwo(pathId), edgeEnumerator.getLocationOne(pathId)));
+    }
+    Assert.assertEquals(new HashSet<>(connectedPaths).size(), connectedPaths.size());
+    Assert.assertSame(connectedPaths.get(0).getLocationOne(),
+            connectedPaths.get(0).getLocationOne());
+  }
+
+  @Test
+  public void testDungeonWithEllerGenerator() {
+    DungeonMaze dungeonMaze = new DungeonMaze(8, 8, 2, false, 20, 3,
+            1, 1, false, new RandomGenerator(), new EllerMazeGenerator());
+    Assert.assertEquals(8 * 8 - 1 + 2, dungeonMaze.getConnectedPaths().size());
+    for (Location[] locations : dungeonMaze.getMazeMap()) {
+      for (Location location : locations) {
+        Assert.assertNotEquals(0, location.getOpenings().size());
+      }
+    }
+  }
+
+  @Test
+  public void testTiledLayoutIsSpanningTreePlusDegree() {
+    for (boolean wrapping : new boolean[]{false, true}) {
+      EdgeEnumerator edgeEnumerator = new EdgeEnumerator(45, 31, wrapping);
+      MazeLayout mazeLayout = new TiledMazeGenerator(8, ForkJoinPool.commonPool())
+              .generate(45, 31, wrapping, 12, new RandomGenerator());
+      Assert.assertEquals(45 * 31 - 1 + 12, mazeLayout.getNumberOfConnectedPaths());
+
+      DisjointSet disjointSet = new DisjointSet(edgeEnumerator.getNumberOfCells());
+      for (int pathId : mazeLayout.getConnectedPaths()) {
+        disjointSet.union(edgeEnumerator.getLocationOne(pathId),
+                edgeEnumerator.getLocationTwo(pathId));
+      }
+      Assert.assertEquals(1, disjointSet.getNumberOfSets());
+    }
+  }
+
+  @Test
+  public void testTiledLayoutIsIndependentOfThreads() {
+    ForkJoinPool singleThread = new ForkJoinPool(1);
+    ForkJoinPool manyThreads = new ForkJoinPool(4);
+    try {
+      int[] one = new TiledMazeGenerator(16, singleThread, 42L)
+              .generate(100, 90, true, 50, new RandomGenerator()).getConnectedPaths();
+      int[] two = new TiledMazeGenerator(16, manyThreads, 42L)
+              .generate(100, 90, true, 50, new RandomGenerator()).getConnectedPaths();
+      Assert.assertTrue(Arrays.equals(one, two));
+    } finally {
+      singleThread.shutdown();
+      manyThreads.shutdown();
+    }
+  }
+}
@@ -6,6 +6,7 @@ import dungeon.RandomGenerator;
 import dungeon.location.Collectible;
 import dungeon.location.MovementDirection;
 import dungeon.location.paths.LocationAddress;
+import dungeon.location.paths.GridTopology;
 import dungeon.location.weapon.PunchingGloves;
 import dungeon.player.MazePlayer;
 import dungeon.player.Player;
@@ -132,4 +133,17 @@ public class PlayerTest {
     Assert.assertEquals(4, player.getNumberOfArrowsAvailable());
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testPlayerSharesInternedAddresses() {
+    GridTopology topology = new GridTopology(4, 5, true);
+    Player player = new MazePlayer(new LocationAddress(3, 4), topology, 3,
+            new PunchingGloves(new RandomGenerator()));
+    player.move(MovementDirection.EAST);
+    player.move(MovementDirection.SOUTH);
+    Assert.assertEquals(0, player.getCurrentCellId());
+    Assert.assertSame(topology.getAddressTable().getAddress(0), player.getCurrentLocation());
+    Assert.assertEquals(15, topology.getNeighbour(0, MovementDirection.NORTH));
+    Assert.assertEquals(-1, new GridTopology(4, 5, false)
+            .getNeighbour(0, MovementDirection.NORTH));
+  }
+}
@@ -0,0 +1,106 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import dungeon.RandomGenerator;
+import dungeon.RandomStream;
+import dungeon.location.Location;
+import dungeon.maze.DungeonMaze;
+import dungeon.maze.generator.TiledMazeGenerator;
+
+/**
+ * The Random Generator Test class tests the sampling of distinct random items, both with truly
+ * random numbers and with a predefined sequence of random numbers, as well as the reproducibility
+ * of seeded generators and the dungeons built with them.
+ */
+public class RandomGeneratorTest {
+
+  @Test
+  public void testPickAllIndexes() {
+    int[] indexes = new RandomGenerator().pickNRandomIndexes(1000, 1000);
+    Set<Integer> distinct = new HashSet<>();
+    for (int index : indexes) {
+      Assert.assertTrue(index >= 0 && index < 1000);
+      distinct.add(index);
+    }
+    Assert.assertEquals(1000, distinct.size());
+  }
+
+  @Test
+  public void testPickFewIndexesFromManyItems() {
+    int[] indexes = new RandomGenerator().pickNRandomIndexes(Integer.MAX_VALUE, 5);
+    Set<Integer> distinct = new HashSet<>();
+    for (int index : indexes) {
+      Assert.assertTrue(index >= 0);
+      distinct.add(index);
+    }
+    Assert.assertEquals(5, distinct.size());
+  }
+
+  @Test
+  public void testPredefinedNumbersSkipRepeatedIndexes() {
+    RandomGenerator randomGenerator = new RandomGenerator();
+    randomGenerator.setRandomParameters(List.of(2, 2, 0, 2, 3, 1));
+    Assert.assertEquals(List.of("c", "a", "d"),
+            randomGenerator.pickNRandom(List.of("a", "b", "c", "d"), 3));
+    Assert.assertEquals(1, randomGenerator.getRandomNumberBetween(0, 3));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPickMoreThanAvailable() {
+    new RandomGenerator().pickNRandomIndexes(3, 4);
+  }
+
+  @Test
+  public void testStreamsDependOnlyOnSeed() {
+    RandomGenerator one = new RandomGenerator(7);
+    RandomGenerator two = new RandomGenerator(7);
+    two.getStream(RandomStream.LAYOUT).getRandomNumberBetween(0, 100);
+    two.getRandomNumberBetween(0, 100);
+    for (int i = 0; i < 20; i++) {
+      Assert.assertEquals(one.getStream(RandomStream.TREASURE).getRandomNumberBetween(0, 1000),
+              two.getStream(RandomStream.TREASURE).getRandomNumberBetween(0, 1000));
+    }
+  }
+
+  @Test
+  public void testUnseededGeneratorSharesPredefinedNumbers() {
+    RandomGenerator randomGenerator = new RandomGenerator();
+    randomGenerator.setRandomParameters(List.of(4, 9));
+    Assert.assertEquals(4, randomGenerator.getStream(RandomStream.MONSTERS)
+            .getRandomNumberBetween(0, 10));
+    Assert.assertEquals(9, randomGenerator.split().getRandomNumberBetween(0, 10));
+  }
+
+  @Test
+  public void testSeededDungeonIsReproducible() {
+    ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+    try {
+      Assert.assertEquals(describe(new DungeonMaze(30, 40, 20, true, 50, 10, 5, 5, true,
+                      new RandomGenerator(2024), new TiledMazeGenerator(8, forkJoinPool))),
+              describe(new DungeonMaze(30, 40, 20, true, 50, 10, 5, 5, true,
+                      new RandomGenerator(2024), new TiledMazeGenerator(8, forkJoinPool))));
+    } finally {
+      forkJoinPool.shutdown();
+    }
+  }
+
+  private String describe(DungeonMaze dungeonMaze) {
+    StringBuilder description = new StringBuilder();
+    description.append(dungeonMaze.getConnectedPaths()).append(dungeonMaze.getStartRow())
+            .append(dungeonMaze.getStartColumn()).append(dungeonMaze.getEndRow())
+            .append(dungeonMaze.getEndColumn()).append(dungeonMaze.getBerbalangLocation());
+    for (Location[] locations : dungeonMaze.getMazeMap()) {
+      for (Location location : locations) {
+        description.append(location.getOpenings()).append(location.getTreasures())
+                .append(location.isHasArrow()).append(location.getOtyugh() != null)
+                .append(location.getPit() != null).append(location.getThief() != null);
+      }
+    }
+    return description.toString();
+  }
+}